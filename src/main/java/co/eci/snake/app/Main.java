@@ -1,10 +1,22 @@
 package co.eci.snake.app;
 
+import co.eci.snake.concurrency.Tournament;
+import co.eci.snake.net.GameServer;
 import co.eci.snake.ui.legacy.SnakeApp;
+import co.eci.snake.ui.terminal.TerminalRenderer;
 
 public final class Main {
   private Main() {}
   public static void main(String[] args) {
-    SnakeApp.launch();
+    String mode = System.getProperty("mode");
+    if ("server".equals(mode)) {
+      GameServer.launch();
+    } else if ("terminal".equals(mode)) {
+      TerminalRenderer.launch();
+    } else if ("tournament".equals(mode)) {
+      Tournament.launch();
+    } else {
+      SnakeApp.launch();
+    }
   }
 }
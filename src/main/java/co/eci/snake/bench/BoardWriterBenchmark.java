@@ -0,0 +1,81 @@
+package co.eci.snake.bench;
+
+import co.eci.snake.concurrency.BoardWriter;
+import co.eci.snake.concurrency.Scenario;
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Snake;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Board steps per second with every snake contending for the board monitor, against the
+ * same snakes queueing their moves for one {@link BoardWriter}.
+ * <pre>
+ *   mvn -q compile exec:java -Dexec.mainClass=co.eci.snake.bench.BoardWriterBenchmark \
+ *       -Dlevels=100,1000,10000 -Dseconds=5
+ * </pre>
+ * Each snake gets a virtual thread that steps it back to back, with no pacing, so the
+ * board is the bottleneck. Boards are seeded classic scenarios ({@code -Dseed}, default
+ * 1) of about 40 cells per snake, with no mice or obstacles so no obstacle ever spawns
+ * and nobody dies mid-run. Each mode
+ * runs one second of warm-up before {@code -Dseconds} (default 5) of measurement. For the
+ * writer the mean batch size is reported too.
+ */
+public final class BoardWriterBenchmark {
+  private BoardWriterBenchmark() {}
+
+  public static void main(String[] args) throws InterruptedException {
+    int[] levels = Arrays.stream(System.getProperty("levels", "100,1000,10000").split(","))
+        .map(String::trim).mapToInt(Integer::parseInt).toArray();
+    int seconds = Integer.getInteger("seconds", 5);
+    long seed = Long.getLong("seed", 1);
+
+    System.out.printf(Locale.ROOT, "%8s %14s %14s %8s %10s%n", "snakes", "monitor st/s", "writer st/s", "speedup",
+        "batch");
+    for (int snakes : levels) {
+      double direct = run(snakes, seed, seconds, false)[0];
+      double[] writer = run(snakes, seed, seconds, true);
+      System.out.printf(Locale.ROOT, "%8d %14.0f %14.0f %8.2f %10.1f%n", snakes, direct, writer[0],
+          writer[0] / direct, writer[1]);
+    }
+  }
+
+  /** Steps per second and, for the writer, mean batch size. */
+  private static double[] run(int snakes, long seed, int seconds, boolean useWriter) throws InterruptedException {
+    int side = (int) Math.ceil(Math.sqrt(snakes * 40.0));
+    var scenario = new Scenario(seed, side, side, new Board.Items(0, 0, side / 4, 2), snakes, List.of());
+    try (var session = scenario.newSession(); var writer = new BoardWriter(session.board(), snakes)) {
+      Board board = session.board();
+      if (useWriter) writer.start();
+      var steps = new LongAdder();
+      var exec = Executors.newVirtualThreadPerTaskExecutor();
+      for (Snake s : session.snakes()) {
+        exec.submit(() -> {
+          while (!Thread.currentThread().isInterrupted()) {
+            if (useWriter) {
+              if (writer.step(s) == null) return;
+            } else {
+              board.step(s);
+            }
+            steps.increment();
+          }
+        });
+      }
+      Thread.sleep(1000);
+      steps.reset();
+      long moves0 = useWriter ? writer.moves() : 0, batches0 = useWriter ? writer.batches() : 0;
+      long start = System.nanoTime();
+      Thread.sleep(seconds * 1000L);
+      double elapsed = (System.nanoTime() - start) / 1e9;
+      double rate = steps.sum() / elapsed;
+      double batch = useWriter ? (double) (writer.moves() - moves0) / Math.max(1, writer.batches() - batches0) : 0;
+      exec.shutdownNow();
+      exec.close();
+      return new double[] {rate, batch};
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package co.eci.snake.bench;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.env.BatchedSnakeEnv;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Environment steps per second of {@link BatchedSnakeEnv} under random actions.
+ * <pre>
+ *   mvn -q compile exec:java -Dexec.mainClass=co.eci.snake.bench.EnvBenchmark \
+ *       -Denvs=4096 -Dsteps=2000 -Dside=20 -Dthreads=8
+ * </pre>
+ * Boards are {@code side x side} with the default items and episodes end after 500
+ * steps. Actions are drawn before timing; the same number of batches is run once as
+ * warm-up. {@code -Dthreads} (default one per core) sets the environment's parallelism.
+ */
+public final class EnvBenchmark {
+  private EnvBenchmark() {}
+
+  public static void main(String[] args) {
+    int envs = Integer.getInteger("envs", 4096);
+    int steps = Integer.getInteger("steps", 2000);
+    int side = Integer.getInteger("side", 20);
+    int threads = Integer.getInteger("threads", Runtime.getRuntime().availableProcessors());
+
+    var env = new BatchedSnakeEnv(envs, side, side, Board.Items.DEFAULT, 500, 1, threads);
+    float[] obs = new float[envs * BatchedSnakeEnv.OBS_SIZE];
+    float[] rewards = new float[envs];
+    boolean[] done = new boolean[envs];
+    int[][] actions = new int[64][envs];
+    var random = new SplittableRandom(1);
+    for (int[] batch : actions) {
+      for (int i = 0; i < envs; i++) batch[i] = random.nextInt(-1, 4);
+    }
+
+    env.reset(obs);
+    for (int s = 0; s < steps; s++) env.step(actions[s & 63], obs, rewards, done);
+
+    long episodes = 0;
+    long start = System.nanoTime();
+    for (int s = 0; s < steps; s++) {
+      env.step(actions[s & 63], obs, rewards, done);
+      for (boolean d : done) if (d) episodes++;
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    System.out.printf(Locale.ROOT, "%d envs x %d steps on %d threads: %.2f s, %.0f env steps/s, %d episodes ended%n",
+        envs, steps, threads, seconds, (double) envs * steps / seconds, episodes);
+  }
+}
@@ -0,0 +1,130 @@
+package co.eci.snake.bench;
+
+import co.eci.snake.concurrency.ExecutionModel;
+import co.eci.snake.concurrency.Scenario;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the same race under each execution model and compares them.
+ * <pre>
+ *   mvn -q compile exec:java -Dexec.mainClass=co.eci.snake.bench.ExecutionModelBenchmark \
+ *       -Dsnakes=2000 -Dseconds=10 -Dmodels=virtual,virtual:2,platform,wheel
+ * </pre>
+ * Every model runs in a fresh JVM so heap figures do not leak between runs and so
+ * {@code virtual:N} can set the carrier parallelism, which the JVM only reads at start-up.
+ * Every run lays out the same board and turns from {@code -Dseed} (default 1).
+ * Reported per model: steps per second, mean and max scheduling lag (how late runners
+ * wake up from their sleep), virtual-thread pinning events, heap per snake and peak
+ * live threads.
+ */
+public final class ExecutionModelBenchmark {
+  private static final String RESULT = "RESULT ";
+
+  private ExecutionModelBenchmark() {}
+
+  record Result(String model, int snakes, double stepsPerSec, double meanLagMs, double maxLagMs,
+                long pinned, long heapPerSnake, int peakThreads) {
+    String toLine() {
+      return String.format(Locale.ROOT, "%s %d %.1f %.3f %.3f %d %d %d",
+          model, snakes, stepsPerSec, meanLagMs, maxLagMs, pinned, heapPerSnake, peakThreads);
+    }
+
+    static Result parse(String line) {
+      String[] f = line.trim().split(" ");
+      return new Result(f[0], Integer.parseInt(f[1]), Double.parseDouble(f[2]), Double.parseDouble(f[3]),
+          Double.parseDouble(f[4]), Long.parseLong(f[5]), Long.parseLong(f[6]), Integer.parseInt(f[7]));
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    int snakes = Integer.getInteger("snakes", 1000);
+    int seconds = Integer.getInteger("seconds", 10);
+    if (args.length == 3 && args[0].equals("--child")) {
+      System.out.println(RESULT + run(args[1], Integer.parseInt(args[2]), seconds).toLine());
+      return;
+    }
+    String models = System.getProperty("models", "virtual,virtual:2,platform,wheel");
+    List<Result> results = new ArrayList<>();
+    for (String spec : models.split(",")) {
+      results.add(fork(spec.trim(), snakes, seconds));
+    }
+    System.out.printf(Locale.ROOT, "%-12s %8s %12s %10s %10s %8s %12s %8s%n",
+        "model", "snakes", "steps/s", "lag ms", "maxlag ms", "pinned", "heap/snake", "threads");
+    for (Result r : results) {
+      System.out.printf(Locale.ROOT, "%-12s %8d %12.1f %10.3f %10.3f %8d %12d %8d%n",
+          r.model(), r.snakes(), r.stepsPerSec(), r.meanLagMs(), r.maxLagMs(), r.pinned(), r.heapPerSnake(),
+          r.peakThreads());
+    }
+  }
+
+  private static Result fork(String spec, int snakes, int seconds) throws IOException, InterruptedException {
+    String java = ProcessHandle.current().info().command().orElse("java");
+    List<String> cmd = new ArrayList<>(List.of(java, "-cp", System.getProperty("java.class.path"),
+        "-Dseconds=" + seconds, "-Dseed=" + Long.getLong("seed", 1)));
+    int colon = spec.indexOf(':');
+    if (colon > 0) {
+      String parallelism = spec.substring(colon + 1);
+      cmd.add("-Djdk.virtualThreadScheduler.parallelism=" + parallelism);
+      cmd.add("-Djdk.virtualThreadScheduler.maxPoolSize=" + Math.max(256, Integer.parseInt(parallelism)));
+    }
+    cmd.addAll(List.of(ExecutionModelBenchmark.class.getName(), "--child", spec, String.valueOf(snakes)));
+    Process p = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+    Result result = null;
+    try (var in = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+      String line;
+      while ((line = in.readLine()) != null) {
+        if (line.startsWith(RESULT)) result = Result.parse(line.substring(RESULT.length()));
+        else System.err.println("[" + spec + "] " + line);
+      }
+    }
+    if (p.waitFor() != 0 || result == null) throw new IllegalStateException("Benchmark run failed for " + spec);
+    return result;
+  }
+
+  static Result run(String spec, int snakes, int seconds) throws InterruptedException {
+    int colon = spec.indexOf(':');
+    ExecutionModel model = ExecutionModel.parse(colon > 0 ? spec.substring(0, colon) : spec);
+    int side = (int) Math.ceil(Math.sqrt(snakes * 40.0));
+
+    AtomicLong pinned = new AtomicLong();
+    try (var jfr = new RecordingStream()) {
+      jfr.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+      jfr.onEvent("jdk.VirtualThreadPinned", e -> pinned.incrementAndGet());
+      jfr.startAsync();
+
+      long heapBefore = usedHeapAfterGc();
+      var threads = ManagementFactory.getThreadMXBean();
+      try (var session = Scenario.classic(side, side, snakes, Long.getLong("seed", 1)).newSession()) {
+        session.start(model);
+        Thread.sleep(1000);
+        long heapPerSnake = Math.max(0, usedHeapAfterGc() - heapBefore) / snakes;
+        threads.resetPeakThreadCount();
+        session.metrics().reset();
+        pinned.set(0);
+
+        long start = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        var m = session.metrics();
+        return new Result(spec, snakes, m.steps() / elapsed, m.meanLagMillis(), m.maxLagMillis(),
+            pinned.get(), heapPerSnake, threads.getPeakThreadCount());
+      }
+    }
+  }
+
+  private static long usedHeapAfterGc() {
+    var rt = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) System.gc();
+    return rt.totalMemory() - rt.freeMemory();
+  }
+}
@@ -0,0 +1,84 @@
+package co.eci.snake.bench;
+
+import co.eci.snake.concurrency.GameSession;
+import co.eci.snake.concurrency.Scenario;
+import co.eci.snake.ui.legacy.RasterRenderer;
+import co.eci.snake.ui.legacy.SnakeApp;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Compares the shape renderer of {@code GamePanel} with {@link RasterRenderer}, off screen.
+ * <pre>
+ *   mvn -q compile exec:java -Dexec.mainClass=co.eci.snake.bench.RenderBenchmark \
+ *       -Dsnakes=10000 -Dcell=4 -Dframes=200
+ * </pre>
+ * The board is a seeded classic scenario ({@code -Dseed}, default 1) of about 40 cells
+ * per snake, stepped {@code -Dsteps} times (default 50) so bodies have some length.
+ * Each renderer paints {@code -Dframes} frames into an image of the panel's size after
+ * a warm-up of the same length; the raster frame includes blitting its image. Reports
+ * mean, p99 and max milliseconds per frame against a 60 fps budget.
+ */
+public final class RenderBenchmark {
+  private static final double BUDGET_MS = 1000.0 / 60;
+
+  private RenderBenchmark() {}
+
+  public static void main(String[] args) {
+    System.setProperty("java.awt.headless", "true");
+    int snakes = Integer.getInteger("snakes", 10_000);
+    int cell = Integer.getInteger("cell", 4);
+    int frames = Integer.getInteger("frames", 200);
+    int steps = Integer.getInteger("steps", 50);
+    long seed = Long.getLong("seed", 1);
+    System.setProperty("cell", Integer.toString(cell));
+    System.clearProperty("render");
+
+    int side = (int) Math.ceil(Math.sqrt(snakes * 40.0));
+    try (GameSession session = Scenario.classic(side, side, snakes, seed).newSession()) {
+      for (int i = 0; i < steps; i++) session.stepAll();
+      var board = session.board();
+      var list = session.snakes();
+
+      var target = new BufferedImage(side * cell + 1, side * cell + 40, BufferedImage.TYPE_INT_RGB);
+      var panel = new SnakeApp.GamePanel(board, () -> list, () -> false, () -> null);
+      panel.setSize(target.getWidth(), target.getHeight());
+      var raster = new RasterRenderer(side, side, cell);
+
+      System.out.printf(Locale.ROOT, "%d snakes on %dx%d cells, %dx%d px, %d bands%n",
+          snakes, side, side, target.getWidth(), target.getHeight(), raster.bands());
+      report("shapes", measure(frames, target, g -> panel.paint(g)));
+      report("raster", measure(frames, target, g -> g.drawImage(raster.render(board, list), 0, 0, null)));
+    }
+  }
+
+  private interface Frame {
+    void paint(Graphics2D g);
+  }
+
+  private static double[] measure(int frames, BufferedImage target, Frame frame) {
+    double[] ms = new double[frames];
+    for (int round = 0; round < 2; round++) {
+      for (int i = 0; i < frames; i++) {
+        Graphics2D g = target.createGraphics();
+        long t0 = System.nanoTime();
+        frame.paint(g);
+        ms[i] = (System.nanoTime() - t0) / 1e6;
+        g.dispose();
+      }
+    }
+    return ms;
+  }
+
+  private static void report(String name, double[] ms) {
+    double[] sorted = ms.clone();
+    Arrays.sort(sorted);
+    double mean = Arrays.stream(ms).average().orElse(0);
+    double p99 = sorted[Math.max(0, (int) Math.ceil(sorted.length * 0.99) - 1)];
+    System.out.printf(Locale.ROOT, "%-7s mean %8.2f ms  p99 %8.2f ms  max %8.2f ms  %s%n",
+        name, mean, p99, sorted[sorted.length - 1], p99 <= BUDGET_MS ? "within frame budget" : "over frame budget");
+  }
+}
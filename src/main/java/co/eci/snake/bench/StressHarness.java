@@ -0,0 +1,257 @@
+package co.eci.snake.bench;
+
+import co.eci.snake.concurrency.ExecutionModel;
+import co.eci.snake.concurrency.GameSession;
+import co.eci.snake.concurrency.Scenario;
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Snake;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Soak and stress runs at growing snake counts.
+ * <pre>
+ *   mvn -q compile exec:java -Dexec.mainClass=co.eci.snake.bench.StressHarness \
+ *       -Dlevels=100,1000,10000,100000 -Dseconds=300 -Dwarmup=15 -Dexec=virtual -Dreport=stress.json
+ * </pre>
+ * Each level runs a seeded classic scenario ({@code -Dseed}, default 1) on a board of
+ * about 40 cells per snake, with mice, obstacles, turbo and teleports scaled from the
+ * default 35x28 board by area so snakes keep eating and dying at every level. It runs
+ * first for {@code warmup} seconds and then for {@code seconds} of measurement. Reported per level:
+ * <ul>
+ *   <li>throughput (steps per second) and living snakes at the end;</li>
+ *   <li>step latency percentiles (lock wait plus board step) and wake-up lag;</li>
+ *   <li>GC count and time spent collecting, and the allocation rate;</li>
+ *   <li>heap per snake after warm-up, and heap growth across the measured run;</li>
+ *   <li>peak live threads and virtual-thread carrier threads.</li>
+ * </ul>
+ * A sample every {@code -DsampleMs} (default 5000) of throughput, used heap and living
+ * snakes is kept per level, so a leak shows as heap that grows while the number of
+ * snakes does not. The report is JSON, written to {@code -Dreport} (default
+ * {@code stress-report.json}); a summary table goes to stdout.
+ * <p>
+ * Levels run one after the other in the same JVM with a full GC in between. Snakes
+ * that crash stay dead, so long runs also show how throughput follows the living count.
+ */
+public final class StressHarness {
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9, 100};
+
+  private StressHarness() {}
+
+  record Sample(double atSeconds, double stepsPerSec, long heapBytes, int alive) {}
+
+  record Level(int snakes, int boardSide, String model, double seconds, long steps, double stepsPerSec,
+               int aliveAtEnd, double[] stepLatencyUs, double meanLagMs, double maxLagMs,
+               long gcCount, double gcMillis, double allocMBPerSec, long heapPerSnake, long heapGrowthBytes,
+               int peakThreads, int carrierThreads, List<Sample> samples) {
+
+    Level withHeapGrowth(long bytes) {
+      return new Level(snakes, boardSide, model, seconds, steps, stepsPerSec, aliveAtEnd, stepLatencyUs, meanLagMs,
+          maxLagMs, gcCount, gcMillis, allocMBPerSec, heapPerSnake, bytes, peakThreads, carrierThreads, samples);
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    int[] levels = Arrays.stream(System.getProperty("levels", "100,1000,10000,100000").split(","))
+        .map(String::trim).mapToInt(Integer::parseInt).toArray();
+    int seconds = Integer.getInteger("seconds", 120);
+    int warmup = Integer.getInteger("warmup", 10);
+    int sampleMs = Integer.getInteger("sampleMs", 5000);
+    long seed = Long.getLong("seed", 1);
+    ExecutionModel model = ExecutionModel.fromSystemProperty();
+    Path report = Path.of(System.getProperty("report", "stress-report.json"));
+
+    List<Level> results = new ArrayList<>();
+    for (int snakes : levels) {
+      System.err.printf(Locale.ROOT, "level %d snakes: %ds warm-up, %ds measured%n", snakes, warmup, seconds);
+      results.add(runLevel(snakes, model, seed, warmup, seconds, sampleMs));
+      Files.writeString(report, toJson(results));
+    }
+
+    System.out.printf(Locale.ROOT, "%8s %10s %8s %9s %9s %9s %9s %8s %10s %10s %12s %8s %8s%n",
+        "snakes", "steps/s", "alive", "p50 us", "p99 us", "max us", "lag ms", "gc ms", "alloc MB/s",
+        "heap/snake", "heap growth", "threads", "carriers");
+    for (Level l : results) {
+      System.out.printf(Locale.ROOT, "%8d %10.1f %8d %9.1f %9.1f %9.1f %9.3f %8.0f %10.1f %10d %12d %8d %8d%n",
+          l.snakes(), l.stepsPerSec(), l.aliveAtEnd(), l.stepLatencyUs()[0], l.stepLatencyUs()[2],
+          l.stepLatencyUs()[4], l.meanLagMs(), l.gcMillis(), l.allocMBPerSec(), l.heapPerSnake(),
+          l.heapGrowthBytes(), l.peakThreads(), l.carrierThreads());
+    }
+    System.out.println("Report written to " + report.toAbsolutePath());
+  }
+
+  static Level runLevel(int snakes, ExecutionModel model, long seed, int warmupSeconds, int seconds, int sampleMs)
+      throws InterruptedException {
+    int side = (int) Math.ceil(Math.sqrt(snakes * 40.0));
+    var items = itemsFor(side);
+    System.err.printf(Locale.ROOT, "  %dx%d board: %d mice, %d obstacles, %d turbo, %d teleport pairs%n",
+        side, side, items.mice(), items.obstacles(), items.turbo(), items.teleportPairs());
+    var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    long heapBefore = usedHeapAfterGc();
+    long heapAfterWarmup;
+    Level level;
+    try (GameSession session = new Scenario(seed, side, side, items, snakes, List.of()).newSession()) {
+      session.start(model);
+      Thread.sleep(warmupSeconds * 1000L);
+
+      heapAfterWarmup = usedHeapAfterGc();
+      long heapPerSnake = Math.max(0, heapAfterWarmup - heapBefore) / snakes;
+      var metrics = session.metrics();
+      metrics.reset();
+      threads.resetPeakThreadCount();
+      long gcCount0 = gcCount();
+      long gcMillis0 = gcMillis();
+      long alloc0 = threads.getTotalThreadAllocatedBytes();
+      long start = System.nanoTime();
+
+      var samples = new ArrayList<Sample>();
+      long lastSteps = 0;
+      long lastAt = start;
+      long end = start + seconds * 1_000_000_000L;
+      for (long due = start; due < end; ) {
+        due = Math.min(end, due + sampleMs * 1_000_000L);
+        long wait = due - System.nanoTime();
+        if (wait > 0) Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+        long now = System.nanoTime();
+        long steps = metrics.steps();
+        samples.add(new Sample((now - start) / 1e9, (steps - lastSteps) / ((now - lastAt) / 1e9),
+            usedHeap(), alive(session)));
+        lastSteps = steps;
+        lastAt = now;
+      }
+
+      double elapsed = (System.nanoTime() - start) / 1e9;
+      long allocated = threads.getTotalThreadAllocatedBytes() - alloc0;
+      long gcCount = gcCount() - gcCount0;
+      double gcTime = gcMillis() - gcMillis0;
+      int carriers = carrierThreads();
+      int peakThreads = threads.getPeakThreadCount();
+      long steps = metrics.steps();
+      double[] latency = new double[PERCENTILES.length];
+      for (int i = 0; i < PERCENTILES.length; i++) {
+        latency[i] = metrics.stepLatency().percentile(PERCENTILES[i]) / 1000.0;
+      }
+      int aliveAtEnd = alive(session);
+      double meanLag = metrics.meanLagMillis();
+      double maxLag = metrics.maxLagMillis();
+      var overload = session.overload();
+      System.err.printf(Locale.ROOT, "  overload level %d: %d up, %d down, %d slowed steps, %d skipped decisions%n",
+          overload.level(), overload.escalations(), overload.recoveries(), overload.slowedSteps(),
+          overload.skippedDecisions());
+      level = new Level(snakes, side, model.name(), elapsed, steps, steps / elapsed, aliveAtEnd, latency,
+          meanLag, maxLag, gcCount, gcTime, allocated / elapsed / (1024.0 * 1024.0), heapPerSnake, 0,
+          peakThreads, carriers, samples);
+    }
+    // Checked once the runners have stopped, so it sees only what the game retains.
+    return level.withHeapGrowth(usedHeapAfterGc() - heapAfterWarmup);
+  }
+
+  private static int alive(GameSession session) {
+    int n = 0;
+    for (Snake s : session.snakes()) {
+      if (s.isAlive()) n++;
+    }
+    return n;
+  }
+
+  /** Platform threads that carry virtual threads (the default scheduler's workers). */
+  private static int carrierThreads() {
+    int n = 0;
+    for (ThreadInfo info : ManagementFactory.getThreadMXBean().dumpAllThreads(false, false)) {
+      String name = info.getThreadName();
+      if (name.startsWith("ForkJoinPool-") && name.contains("-worker-")) n++;
+    }
+    return n;
+  }
+
+  private static long gcCount() {
+    long n = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      n += Math.max(0, gc.getCollectionCount());
+    }
+    return n;
+  }
+
+  private static long gcMillis() {
+    long n = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      n += Math.max(0, gc.getCollectionTime());
+    }
+    return n;
+  }
+
+  private static long usedHeap() {
+    var rt = Runtime.getRuntime();
+    return rt.totalMemory() - rt.freeMemory();
+  }
+
+  /** {@link Board.Items#DEFAULT} scaled from the classic 35x28 board to a {@code side x side} one, never fewer. */
+  static Board.Items itemsFor(int side) {
+    double scale = Math.max(1, side * (double) side / (35 * 28));
+    var d = Board.Items.DEFAULT;
+    return new Board.Items((int) Math.round(d.mice() * scale), (int) Math.round(d.obstacles() * scale),
+        (int) Math.round(d.turbo() * scale), (int) Math.round(d.teleportPairs() * scale));
+  }
+
+  private static long usedHeapAfterGc() {
+    for (int i = 0; i < 3; i++) System.gc();
+    return usedHeap();
+  }
+
+  static String toJson(List<Level> levels) {
+    var sb = new StringBuilder("{\n  \"levels\": [");
+    for (int i = 0; i < levels.size(); i++) {
+      Level l = levels.get(i);
+      sb.append(i == 0 ? "\n" : ",\n").append("    {");
+      field(sb, "snakes", l.snakes()).append(", ");
+      field(sb, "boardSide", l.boardSide()).append(", ");
+      sb.append("\"model\": \"").append(l.model()).append("\", ");
+      field(sb, "seconds", l.seconds()).append(", ");
+      field(sb, "steps", l.steps()).append(", ");
+      field(sb, "stepsPerSec", l.stepsPerSec()).append(", ");
+      field(sb, "aliveAtEnd", l.aliveAtEnd()).append(",\n     \"stepLatencyUs\": {");
+      for (int p = 0; p < PERCENTILES.length; p++) {
+        if (p > 0) sb.append(", ");
+        String key = PERCENTILES[p] == 100 ? "max" : "p" + String.valueOf(PERCENTILES[p]).replace(".0", "");
+        field(sb, key, l.stepLatencyUs()[p]);
+      }
+      sb.append("},\n     ");
+      field(sb, "meanLagMs", l.meanLagMs()).append(", ");
+      field(sb, "maxLagMs", l.maxLagMs()).append(", ");
+      field(sb, "gcCount", l.gcCount()).append(", ");
+      field(sb, "gcMillis", l.gcMillis()).append(", ");
+      field(sb, "allocMBPerSec", l.allocMBPerSec()).append(",\n     ");
+      field(sb, "heapPerSnake", l.heapPerSnake()).append(", ");
+      field(sb, "heapGrowthBytes", l.heapGrowthBytes()).append(", ");
+      field(sb, "peakThreads", l.peakThreads()).append(", ");
+      field(sb, "carrierThreads", l.carrierThreads()).append(",\n     \"samples\": [");
+      for (int s = 0; s < l.samples().size(); s++) {
+        Sample smp = l.samples().get(s);
+        sb.append(s == 0 ? "" : ", ").append('{');
+        field(sb, "t", smp.atSeconds()).append(", ");
+        field(sb, "stepsPerSec", smp.stepsPerSec()).append(", ");
+        field(sb, "heap", smp.heapBytes()).append(", ");
+        field(sb, "alive", smp.alive()).append('}');
+      }
+      sb.append("]}");
+    }
+    return sb.append("\n  ]\n}\n").toString();
+  }
+
+  private static StringBuilder field(StringBuilder sb, String key, long value) {
+    return sb.append('"').append(key).append("\": ").append(value);
+  }
+
+  private static StringBuilder field(StringBuilder sb, String key, double value) {
+    return sb.append('"').append(key).append("\": ").append(String.format(Locale.ROOT, "%.3f", value));
+  }
+}
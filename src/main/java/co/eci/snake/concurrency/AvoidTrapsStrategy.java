@@ -0,0 +1,80 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Reachability;
+import co.eci.snake.core.Snake;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Bot that never steps into an obstacle when it has a choice and prefers the
+ * move that leaves the most free cells reachable within {@code lookahead} moves.
+ * Ties are broken by the random strategy so bots still wander.
+ * Keeps a {@link Reachability} per instance: use one instance per runner.
+ */
+public final class AvoidTrapsStrategy implements TurnStrategy {
+  // Moves to try, by current direction and then by preference: straight on, left first, right first.
+  private static final Direction[][][] CANDIDATES = new Direction[Direction.values().length][][];
+
+  static {
+    for (Direction current : Direction.values()) {
+      Direction left, right;
+      if (current == Direction.UP || current == Direction.DOWN) {
+        left = Direction.LEFT;
+        right = Direction.RIGHT;
+      } else {
+        left = Direction.UP;
+        right = Direction.DOWN;
+      }
+      CANDIDATES[current.ordinal()] = new Direction[][] {
+          { current, left, right },
+          { left, current, right },
+          { right, current, left },
+      };
+    }
+  }
+
+  private final int lookahead;
+  private Reachability reach;
+
+  public AvoidTrapsStrategy(int lookahead) {
+    if (lookahead <= 0) throw new IllegalArgumentException("lookahead must be > 0");
+    this.lookahead = lookahead;
+  }
+
+  @Override
+  public Direction decide(Snake snake, Board board, boolean turbo, RandomGenerator random) {
+    if (reach == null) reach = new Reachability(board);
+    Position head = snake.head();
+    Direction current = snake.direction();
+    Direction preferred = TurnStrategy.random().decide(snake, board, turbo, random);
+    if (preferred == null || isReverse(current, preferred)) preferred = current;
+
+    Direction best = null;
+    int bestScore = -1;
+    for (Direction d : candidates(current, preferred)) {
+      int nx = Math.floorMod(head.x() + d.dx, board.width());
+      int ny = Math.floorMod(head.y() + d.dy, board.height());
+      if (board.isObstacle(nx, ny)) continue;
+      int score = reach.reachableCount(nx, ny, lookahead);
+      if (score > bestScore) {
+        bestScore = score;
+        best = d;
+      }
+    }
+    return (best == null || best == current) ? null : best;
+  }
+
+  private static Direction[] candidates(Direction current, Direction preferred) {
+    Direction[][] byPreference = CANDIDATES[current.ordinal()];
+    if (preferred == byPreference[1][0]) return byPreference[1];
+    if (preferred == byPreference[2][0]) return byPreference[2];
+    return byPreference[0];
+  }
+
+  private static boolean isReverse(Direction a, Direction b) {
+    return a.dx == -b.dx && a.dy == -b.dy;
+  }
+}
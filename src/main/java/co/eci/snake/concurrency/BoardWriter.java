@@ -0,0 +1,184 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Snake;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The only thread that moves snakes on a {@link Board}. Runners call {@link #step},
+ * which puts the move on a bounded ring and parks until the writer has applied it;
+ * the writer drains whatever is waiting in one batch, applies the whole batch inside a
+ * single hold of the board monitor and then wakes each runner with its result.
+ * <p>
+ * The ring is a multi-producer, single-consumer array queue: producers claim a
+ * position with a CAS on the tail and publish by bumping the slot's sequence number,
+ * and the writer frees a slot by advancing its sequence one lap. A full ring makes
+ * producers yield until the writer catches up. The writer parks when the ring is empty
+ * and the producer that finds it parked wakes it.
+ * <p>
+ * Readers of the board (renderers, bots looking ahead) still take the board monitor,
+ * so it stays held across a batch; what goes away is runners competing for it.
+ */
+public final class BoardWriter implements AutoCloseable {
+  private static final int DEFAULT_CAPACITY = 1024;
+
+  /**
+   * A move waiting for the writer. Each runner thread reuses one, since {@link #step}
+   * does not return while the writer may still touch it.
+   */
+  private static final class Request {
+    final Thread waiter;
+    Snake snake;
+    Board.MoveResult result;
+    volatile boolean done;
+
+    Request(Thread waiter) {
+      this.waiter = waiter;
+    }
+  }
+
+  private final Board board;
+  private final Request[] slots;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private final Request[] batch;
+  private final ThreadLocal<Request> requests = ThreadLocal.withInitial(() -> new Request(Thread.currentThread()));
+  private long head;
+  private volatile Thread thread;
+  private volatile boolean parked;
+  private volatile boolean stopped;
+  private long batches;
+  private long moves;
+
+  public BoardWriter(Board board) {
+    this(board, DEFAULT_CAPACITY);
+  }
+
+  /** @param capacity how many moves can wait at once; rounded up to a power of two */
+  public BoardWriter(Board board, int capacity) {
+    if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+    this.board = Objects.requireNonNull(board, "board");
+    int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+    this.slots = new Request[size];
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) sequences.set(i, i);
+    this.mask = size - 1;
+    this.batch = new Request[size];
+  }
+
+  public synchronized void start() {
+    if (thread == null) thread = Thread.ofPlatform().name("board-writer").daemon().start(this::run);
+  }
+
+  /**
+   * Moves {@code snake} one cell and returns what happened, as {@link Board#step} does.
+   * Returns {@code null} if the writer was closed before it got to this move.
+   */
+  public Board.MoveResult step(Snake snake) {
+    Thread writer = thread;
+    if (writer == null) throw new IllegalStateException("BoardWriter not started");
+    if (stopped) return null;
+    var request = requests.get();
+    request.snake = snake;
+    request.result = null;
+    request.done = false;
+    if (!offer(request, writer)) return null;
+    if (parked) LockSupport.unpark(writer);
+    // The move is already queued, so an interrupt is only passed on once it has been applied.
+    boolean interrupted = false;
+    while (!request.done) {
+      if (stopped) {
+        // A move queued after the writer's last drain is never applied; poll until it has exited.
+        if (!writer.isAlive()) break;
+        LockSupport.parkNanos(this, 1_000_000);
+      } else {
+        LockSupport.park(this);
+      }
+      if (Thread.interrupted()) interrupted = true;
+    }
+    if (interrupted) Thread.currentThread().interrupt();
+    return request.done ? request.result : null;
+  }
+
+  /** Batches applied so far; {@link #moves()} divided by this is the mean batch size. */
+  public synchronized long batches() { return batches; }
+
+  public synchronized long moves() { return moves; }
+
+  /** Queues {@code request}, or returns {@code false} if the ring stays full because the writer has exited. */
+  private boolean offer(Request request, Thread writer) {
+    while (true) {
+      long pos = tail.get();
+      int index = (int) (pos & mask);
+      long diff = sequences.get(index) - pos;
+      if (diff == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          slots[index] = request;
+          sequences.set(index, pos + 1);
+          return true;
+        }
+      } else if (diff < 0) {
+        // Full: the writer has not freed this slot from the previous lap yet, and never will once it has exited.
+        if (stopped && !writer.isAlive()) return false;
+        if (parked) LockSupport.unpark(writer);
+        Thread.yield();
+      }
+    }
+  }
+
+  private int drain() {
+    int n = 0;
+    while (n < batch.length) {
+      int index = (int) (head & mask);
+      if (sequences.get(index) != head + 1) break;
+      batch[n++] = slots[index];
+      slots[index] = null;
+      sequences.set(index, head + slots.length);
+      head++;
+    }
+    return n;
+  }
+
+  private void run() {
+    while (!stopped) {
+      int n = drain();
+      if (n == 0) {
+        parked = true;
+        if ((n = drain()) == 0 && !stopped) LockSupport.park(this);
+        parked = false;
+        if (n == 0) continue;
+      }
+      apply(n);
+    }
+    int n;
+    while ((n = drain()) > 0) apply(n);
+  }
+
+  private void apply(int n) {
+    synchronized (board) {
+      for (int i = 0; i < n; i++) batch[i].result = board.step(batch[i].snake);
+    }
+    for (int i = 0; i < n; i++) {
+      Request r = batch[i];
+      batch[i] = null;
+      r.done = true;
+      LockSupport.unpark(r.waiter);
+    }
+    synchronized (this) {
+      batches++;
+      moves += n;
+    }
+  }
+
+  /** Stops the writer after the moves already queued; later calls to {@link #step} return {@code null}. */
+  @Override
+  public synchronized void close() {
+    stopped = true;
+    if (thread != null) LockSupport.unpark(thread);
+  }
+}
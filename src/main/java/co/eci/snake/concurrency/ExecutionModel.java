@@ -0,0 +1,48 @@
+package co.eci.snake.concurrency;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * How {@link SnakeRunner}s are given threads. Chosen with {@code -Dexec=virtual|platform|wheel|tiles}.
+ * <p>
+ * The number of carrier threads behind {@link #VIRTUAL} is fixed by the JVM at start-up
+ * through {@code -Djdk.virtualThreadScheduler.parallelism=N}; the benchmark harness
+ * forks one JVM per setting to compare them.
+ */
+public enum ExecutionModel {
+  /** One virtual thread per snake (the original behaviour). */
+  VIRTUAL,
+  /** One platform thread per snake, from a fixed pool sized to the number of snakes. */
+  PLATFORM,
+  /**
+   * No thread per snake: a shared {@link TimingWheel} schedules every step at its exact
+   * deadline and runs due steps in batches on one platform worker per core.
+   */
+  WHEEL,
+  /**
+   * The board is split into one tile per core and each tile's worker steps the snakes
+   * whose heads are on it, handing a snake to the next worker when it leaves the tile.
+   */
+  TILES;
+
+  /** The executor runners are submitted to; for {@link #WHEEL} and {@link #TILES}, one worker per core. */
+  public ExecutorService newExecutor(int runners) {
+    return switch (this) {
+      case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+      case PLATFORM -> Executors.newFixedThreadPool(Math.max(1, runners));
+      case WHEEL, TILES -> Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    };
+  }
+
+  public static ExecutionModel parse(String name) {
+    return valueOf(name.trim().toUpperCase(Locale.ROOT));
+  }
+
+  /** The model named by {@code -Dexec}, or {@link #VIRTUAL} if unset. */
+  public static ExecutionModel fromSystemProperty() {
+    String name = System.getProperty("exec");
+    return name == null || name.isBlank() ? VIRTUAL : parse(name);
+  }
+}
@@ -0,0 +1,193 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.LockProfiler;
+import co.eci.snake.core.Snake;
+import co.eci.snake.core.engine.GameStats;
+import co.eci.snake.core.engine.Leaderboard;
+import co.eci.snake.core.engine.LiveSnapshot;
+import co.eci.snake.core.engine.TimeSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+
+/**
+ * One running race: the board, its snakes and one {@link SnakeRunner} per snake.
+ * Front-ends (the Swing window, the network server) drive it through this class
+ * instead of wiring runners themselves.
+ */
+public final class GameSession implements AutoCloseable {
+  private final Board board;
+  private final List<Snake> snakes;
+  private final GameStats stats = new GameStats();
+  private final ReadWriteLock gameLock = LockProfiler.ENABLED
+      ? new InstrumentedReadWriteLock("gameLock")
+      : new ReentrantReadWriteLock();
+  private final RunnerMetrics metrics = new RunnerMetrics();
+  private final List<SnakeRunner> runners;
+  private Leaderboard leaderboard;
+  private final OverloadController overload;
+  private final TimeSource time;
+  private volatile boolean paused = false;
+  private ExecutorService exec;
+  private TimingWheel wheel;
+  private BoardWriter writer;
+
+  public GameSession(Board board, List<Snake> snakes) {
+    this(board, snakes, new SplittableRandom());
+  }
+
+  /** Each snake's runner gets its own stream split from {@code random}, in snake order. */
+  public GameSession(Board board, List<Snake> snakes, SplittableRandom random) {
+    this(board, snakes, random, TimeSource.system());
+  }
+
+  /** As above, with runners (and the timing wheel, if used) paced by {@code time}. */
+  public GameSession(Board board, List<Snake> snakes, SplittableRandom random, TimeSource time) {
+    this(board, snakes, random, time, i -> TurnStrategy.random());
+  }
+
+  /** As above, with snake {@code i} steered by {@code strategies.apply(i)}. */
+  public GameSession(Board board, List<Snake> snakes, SplittableRandom random, TimeSource time,
+                     IntFunction<TurnStrategy> strategies) {
+    this.board = Objects.requireNonNull(board, "board");
+    this.time = Objects.requireNonNull(time, "time");
+    this.snakes = List.copyOf(snakes);
+    var list = new ArrayList<SnakeRunner>(this.snakes.size());
+    for (int i = 0; i < this.snakes.size(); i++) {
+      list.add(new SnakeRunner(this.snakes.get(i), board, stats, gameLock, () -> paused, strategies.apply(i), metrics,
+          random.split(), time));
+    }
+    this.runners = List.copyOf(list);
+    this.overload = OverloadController.fromSystemProperty(time);
+    metrics.reportTo(overload);
+    runners.forEach(r -> r.governedBy(overload));
+  }
+
+  /** A session with {@code n} snakes spread over the board the way the classic UI places them. */
+  public static GameSession withSnakes(Board board, int n) {
+    return new GameSession(board, classicSnakes(board.width(), board.height(), n));
+  }
+
+  /**
+   * The game every front-end starts: the scenario file named by {@code -Dscenario}, or a
+   * classic 35x28 board with {@code -Dsnakes} snakes (default 40).
+   */
+  public static GameSession fromSystemProperties() {
+    var scenario = Scenario.fromSystemProperty();
+    return scenario != null
+        ? scenario.newSession()
+        : withSnakes(new Board(35, 28), Integer.getInteger("snakes", 40));
+  }
+
+  static List<Snake> classicSnakes(int width, int height, int n) {
+    var snakes = new ArrayList<Snake>(n);
+    for (int i = 0; i < n; i++) {
+      // The original layout, 2 + (i * 3) % width; the two columns (and rows) past the edge it
+      // can reach are wrapped back onto the board, where the first move would take them anyway.
+      int x = Math.floorMod(2 + (i * 3) % width, width);
+      int y = Math.floorMod(2 + (i * 2) % height, height);
+      var dir = Direction.values()[i % Direction.values().length];
+      snakes.add(Snake.of(x, y, dir));
+    }
+    return snakes;
+  }
+
+  public void start() {
+    start(ExecutionModel.VIRTUAL);
+  }
+
+  /** Starts the runners under {@code model}, through a {@link BoardWriter} if {@code -DsingleWriter=true}. */
+  public synchronized void start(ExecutionModel model) {
+    start(model, Boolean.getBoolean("singleWriter"));
+  }
+
+  /** @param singleWriter whether runners queue their moves for one {@link BoardWriter} instead of stepping the board */
+  public synchronized void start(ExecutionModel model, boolean singleWriter) {
+    if (exec != null) return;
+    if (singleWriter) {
+      writer = new BoardWriter(board);
+      writer.start();
+      runners.forEach(r -> r.moveThrough(writer));
+    }
+    exec = model.newExecutor(snakes.size());
+    if (model == ExecutionModel.WHEEL) {
+      wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 512, exec, 64, time);
+      wheel.start();
+      long now = time.nanoTime();
+      runners.forEach(r -> new WheelPacedRunner(r, wheel).start(now));
+    } else if (model == ExecutionModel.TILES) {
+      var tiles = new TileWorkers(board.width(), board.height(), Runtime.getRuntime().availableProcessors(), time);
+      long now = time.nanoTime();
+      runners.forEach(r -> tiles.add(r, now));
+      tiles.start(exec);
+    } else {
+      runners.forEach(r -> exec.submit(time.participant(r)));
+    }
+  }
+
+  /**
+   * Moves every living snake once, in snake order, on the calling thread, and returns
+   * how many are still alive. With a seeded board and session this replays the same
+   * game tick for tick; it ignores pacing and pause and must not be mixed with
+   * {@link #start}.
+   */
+  public synchronized int stepAll() {
+    if (exec != null) throw new IllegalStateException("Session already started with runners");
+    int alive = 0;
+    for (SnakeRunner r : runners) {
+      if (r.isAlive() && r.stepOnce()) {
+        r.nextDelayMillis();
+        alive++;
+      }
+    }
+    return alive;
+  }
+
+  public Board board() { return board; }
+  public List<Snake> snakes() { return snakes; }
+  public GameStats stats() { return stats; }
+  public ReadWriteLock gameLock() { return gameLock; }
+  public RunnerMetrics metrics() { return metrics; }
+
+  /**
+   * Living snakes ranked by length, kept current as they grow and die. Built on first
+   * use, so a session nobody ranks does not update it on every length change.
+   */
+  public synchronized Leaderboard leaderboard() {
+    if (leaderboard == null) leaderboard = new Leaderboard(snakes);
+    return leaderboard;
+  }
+
+  /** Whether the runners keep up with their tick budget, and what is given up when not; see {@code -Doverload}. */
+  public OverloadController overload() { return overload; }
+
+  /** Heads, lengths and alive flags of all snakes, read without stopping the runners. */
+  public LiveSnapshot snapshot() {
+    return LiveSnapshot.capture(snakes, stats);
+  }
+
+  public boolean isPaused() { return paused; }
+  public void setPaused(boolean paused) { this.paused = paused; }
+
+  /** Turns snake {@code index}; ignored if the index does not name a snake. */
+  public void turn(int index, Direction dir) {
+    if (index < 0 || index >= snakes.size()) return;
+    snakes.get(index).turn(dir);
+  }
+
+  @Override
+  public synchronized void close() {
+    if (wheel != null) wheel.close();
+    if (exec != null) exec.shutdownNow();
+    if (writer != null) writer.close();
+  }
+}
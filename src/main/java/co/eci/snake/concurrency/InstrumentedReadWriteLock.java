@@ -0,0 +1,167 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.LockProfiler;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link ReentrantReadWriteLock} that reports to {@link LockProfiler}. Every
+ * acquisition is attributed to the method and line that took the lock, e.g.
+ * {@code gameLock.read @ SnakeRunner.stepOnce:78}, so the report shows who waits on
+ * whom. Finding the caller walks the stack, which is fine for a profiling run but is
+ * why {@link GameSession} only uses this class when profiling is switched on.
+ * <p>
+ * Locks must be released in the reverse order they were taken on each thread, as with
+ * try/finally.
+ */
+public final class InstrumentedReadWriteLock implements ReadWriteLock {
+  private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+  private final String name;
+  private final InstrumentedLock readLock;
+  private final InstrumentedLock writeLock;
+  private final ConcurrentMap<String, LockProfiler.Site> sites = new ConcurrentHashMap<>();
+  private final ThreadLocal<Holds> holds = ThreadLocal.withInitial(Holds::new);
+
+  public InstrumentedReadWriteLock(String name) {
+    this(name, new ReentrantReadWriteLock());
+  }
+
+  public InstrumentedReadWriteLock(String name, ReentrantReadWriteLock delegate) {
+    this.name = Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(delegate, "delegate");
+    this.readLock = new InstrumentedLock(".read @ ", delegate.readLock());
+    this.writeLock = new InstrumentedLock(".write @ ", delegate.writeLock());
+  }
+
+  @Override public Lock readLock() { return readLock; }
+  @Override public Lock writeLock() { return writeLock; }
+
+  public String name() { return name; }
+
+  private LockProfiler.Site callerSite(String mode) {
+    String caller = WALKER.walk(frames -> frames
+        .filter(f -> f.getDeclaringClass().getNestHost() != InstrumentedReadWriteLock.class)
+        .findFirst()
+        .map(f -> simpleName(f.getClassName()) + "." + f.getMethodName() + ":" + f.getLineNumber())
+        .orElse("?"));
+    String key = mode + caller;
+    return sites.computeIfAbsent(key, k -> LockProfiler.site(name + k));
+  }
+
+  private static String simpleName(String className) {
+    return className.substring(className.lastIndexOf('.') + 1);
+  }
+
+  /** Acquisition times of the locks this thread holds, innermost last. */
+  private static final class Holds {
+    long[] startNanos = new long[4];
+    LockProfiler.Site[] sites = new LockProfiler.Site[4];
+    int depth;
+
+    void push(LockProfiler.Site site, long start) {
+      if (depth == sites.length) {
+        startNanos = Arrays.copyOf(startNanos, depth * 2);
+        sites = Arrays.copyOf(sites, depth * 2);
+      }
+      startNanos[depth] = start;
+      sites[depth++] = site;
+    }
+
+    void pop(long now) {
+      if (depth == 0) return;
+      depth--;
+      sites[depth].recordHold(now - startNanos[depth]);
+      sites[depth] = null;
+    }
+  }
+
+  private final class InstrumentedLock implements Lock {
+    private final String mode;
+    private final Lock lock;
+    // Threads queued for this mode only, so readers and writers get their own queue lengths.
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    InstrumentedLock(String mode, Lock lock) {
+      this.mode = mode;
+      this.lock = lock;
+    }
+
+    private void acquired(LockProfiler.Site site, long start, int queued) {
+      long now = System.nanoTime();
+      site.recordAcquire(now - start, queued);
+      holds.get().push(site, now);
+    }
+
+    @Override
+    public void lock() {
+      var site = callerSite(mode);
+      int queued = waiting.incrementAndGet();
+      long start = System.nanoTime();
+      try {
+        lock.lock();
+      } finally {
+        waiting.decrementAndGet();
+      }
+      acquired(site, start, queued);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+      var site = callerSite(mode);
+      int queued = waiting.incrementAndGet();
+      long start = System.nanoTime();
+      try {
+        lock.lockInterruptibly();
+      } finally {
+        waiting.decrementAndGet();
+      }
+      acquired(site, start, queued);
+    }
+
+    @Override
+    public boolean tryLock() {
+      var site = callerSite(mode);
+      long start = System.nanoTime();
+      if (!lock.tryLock()) return false;
+      acquired(site, start, 1);
+      return true;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+      var site = callerSite(mode);
+      int queued = waiting.incrementAndGet();
+      long start = System.nanoTime();
+      boolean ok;
+      try {
+        ok = lock.tryLock(time, unit);
+      } finally {
+        waiting.decrementAndGet();
+      }
+      if (ok) acquired(site, start, queued);
+      return ok;
+    }
+
+    @Override
+    public void unlock() {
+      long now = System.nanoTime();
+      lock.unlock();
+      holds.get().pop(now);
+    }
+
+    @Override
+    public Condition newCondition() {
+      return lock.newCondition();
+    }
+  }
+}
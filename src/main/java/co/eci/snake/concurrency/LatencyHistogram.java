@@ -0,0 +1,68 @@
+package co.eci.snake.concurrency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations in nanoseconds for percentile reporting.
+ * <p>
+ * Buckets are log-linear: each power of two is split into eight, so a reported
+ * percentile is the upper bound of its bucket and at most 12.5% above the true value.
+ * Recording is one array increment; the whole histogram is 512 counters.
+ */
+public final class LatencyHistogram {
+  private static final int SUB_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+
+  public void record(long nanos) {
+    counts.incrementAndGet(index(Math.max(0, nanos)));
+  }
+
+  static int index(long v) {
+    if (v < SUB_BUCKETS) return (int) v;
+    int exp = 63 - Long.numberOfLeadingZeros(v);
+    int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+    return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+  }
+
+  /** Largest value that falls into bucket {@code index}. */
+  static long upperBound(int index) {
+    if (index < SUB_BUCKETS) return index;
+    int exp = index / SUB_BUCKETS + SUB_BITS - 1;
+    long sub = index % SUB_BUCKETS;
+    long width = 1L << (exp - SUB_BITS);
+    return (1L << exp) + (sub + 1) * width - 1;
+  }
+
+  public long count() {
+    long n = 0;
+    for (int i = 0; i < counts.length(); i++) n += counts.get(i);
+    return n;
+  }
+
+  /** The {@code p}-th percentile ({@code 0 < p <= 100}) in nanoseconds, or 0 if empty. */
+  public long percentile(double p) {
+    if (p <= 0 || p > 100) throw new IllegalArgumentException("p must be in (0, 100]");
+    long[] snapshot = new long[counts.length()];
+    long total = 0;
+    for (int i = 0; i < snapshot.length; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) return 0;
+    long rank = (long) Math.ceil(total * p / 100.0);
+    long seen = 0;
+    for (int i = 0; i < snapshot.length; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) return upperBound(i);
+    }
+    return upperBound(snapshot.length - 1);
+  }
+
+  public double percentileMillis(double p) { return percentile(p) / 1_000_000.0; }
+
+  public void reset() {
+    for (int i = 0; i < counts.length(); i++) counts.set(i, 0);
+  }
+}
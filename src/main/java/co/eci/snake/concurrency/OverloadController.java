@@ -0,0 +1,165 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.engine.TimeSource;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Notices when the runners cannot keep up with their tick budget and degrades the game
+ * in a controlled way instead of letting every snake fall further behind.
+ * <p>
+ * Each step reports what it cost through {@link RunnerMetrics}: how long the step took,
+ * lock wait included, plus how late the runner woke up for it. Every {@code window} the
+ * mean cost per step is compared with the budget: above half of it the overload level
+ * goes up by one, below an eighth it comes down by one, up to {@link #MAX_LEVEL}. At
+ * level {@code L} the enabled {@link Policy policies} apply with a factor of
+ * {@code 2^L}: ticks last that many times longer, bots decide on one step in that many,
+ * and one frame in that many is drawn.
+ * <p>
+ * The level is tracked even with no policy enabled, so saturation is visible either
+ * way; every change of level and every step, decision or frame given up is counted.
+ */
+public final class OverloadController {
+  public static final int MAX_LEVEL = 3;
+  public static final long DEFAULT_BUDGET_MS = 40;
+  public static final long DEFAULT_WINDOW_MS = 500;
+
+  /** What to give up while overloaded. Chosen with {@code -Doverload=slow,bots,frames}. */
+  public enum Policy {
+    /** Lengthen every runner's pause between steps, slowing the whole game. */
+    SLOW_TICKS,
+    /** Let bots keep their direction on most steps instead of asking their strategy. */
+    THIN_BOTS,
+    /** Draw only some of the frames the clock asks for. */
+    SHED_FRAMES;
+
+    public static Policy parse(String name) {
+      return switch (name.strip().toLowerCase(Locale.ROOT)) {
+        case "slow", "slow_ticks" -> SLOW_TICKS;
+        case "bots", "thin_bots" -> THIN_BOTS;
+        case "frames", "render", "shed_frames" -> SHED_FRAMES;
+        default -> throw new IllegalArgumentException("Unknown overload policy '" + name + "'");
+      };
+    }
+  }
+
+  private final EnumSet<Policy> policies;
+  private final long budgetNanos;
+  private final long windowNanos;
+  private final TimeSource time;
+
+  private final LongAdder windowSteps = new LongAdder();
+  private final LongAdder windowCost = new LongAdder();
+  private final AtomicLong windowStart;
+  private final AtomicLong frames = new AtomicLong();
+  private volatile int level;
+  private volatile double lastMeanCostNanos;
+
+  private final LongAdder escalations = new LongAdder();
+  private final LongAdder recoveries = new LongAdder();
+  private final LongAdder slowedSteps = new LongAdder();
+  private final LongAdder skippedDecisions = new LongAdder();
+  private final LongAdder shedFrames = new LongAdder();
+
+  public OverloadController(Set<Policy> policies, long budgetMillis, long windowMillis, TimeSource time) {
+    if (budgetMillis <= 0) throw new IllegalArgumentException("budgetMillis must be > 0");
+    if (windowMillis <= 0) throw new IllegalArgumentException("windowMillis must be > 0");
+    this.policies = policies.isEmpty() ? EnumSet.noneOf(Policy.class) : EnumSet.copyOf(policies);
+    this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    this.time = time;
+    this.windowStart = new AtomicLong(time.nanoTime());
+  }
+
+  /**
+   * Policies from {@code -Doverload} (comma-separated, none by default), budget from
+   * {@code -DoverloadBudgetMs} (default {@value #DEFAULT_BUDGET_MS}, the turbo tick) and
+   * window from {@code -DoverloadWindowMs} (default {@value #DEFAULT_WINDOW_MS}).
+   */
+  public static OverloadController fromSystemProperty(TimeSource time) {
+    var policies = EnumSet.noneOf(Policy.class);
+    for (String name : System.getProperty("overload", "").split(",")) {
+      if (!name.isBlank()) policies.add(Policy.parse(name));
+    }
+    return new OverloadController(policies,
+        Long.getLong("overloadBudgetMs", DEFAULT_BUDGET_MS),
+        Long.getLong("overloadWindowMs", DEFAULT_WINDOW_MS),
+        time);
+  }
+
+  void recordStep(long nanos) {
+    windowSteps.increment();
+    windowCost.add(nanos);
+    maybeEvaluate();
+  }
+
+  void recordLag(long nanos) {
+    windowCost.add(nanos);
+    maybeEvaluate();
+  }
+
+  private void maybeEvaluate() {
+    long start = windowStart.get();
+    long now = time.nanoTime();
+    if (now - start < windowNanos || !windowStart.compareAndSet(start, now)) return;
+    long steps = windowSteps.sumThenReset();
+    long cost = windowCost.sumThenReset();
+    // A window without steps (paused, or everyone dead) says nothing about load.
+    if (steps == 0) return;
+    double mean = (double) cost / steps;
+    lastMeanCostNanos = mean;
+    if (mean > budgetNanos / 2.0 && level < MAX_LEVEL) {
+      level++;
+      escalations.increment();
+    } else if (mean < budgetNanos / 8.0 && level > 0) {
+      level--;
+      recoveries.increment();
+    }
+  }
+
+  /** Pause before a step, stretched while {@link Policy#SLOW_TICKS} is in effect. */
+  int scaleDelay(int millis) {
+    int l = level;
+    if (l == 0 || !policies.contains(Policy.SLOW_TICKS)) return millis;
+    slowedSteps.increment();
+    return millis << l;
+  }
+
+  /** Whether a bot should ask its strategy on its {@code step}-th step. */
+  boolean admitDecision(long step) {
+    int l = level;
+    if (l == 0 || !policies.contains(Policy.THIN_BOTS) || (step & ((1L << l) - 1)) == 0) return true;
+    skippedDecisions.increment();
+    return false;
+  }
+
+  /** Whether a front-end should draw the frame its clock just asked for. */
+  public boolean admitFrame() {
+    long frame = frames.getAndIncrement();
+    int l = level;
+    if (l == 0 || !policies.contains(Policy.SHED_FRAMES) || (frame & ((1L << l) - 1)) == 0) return true;
+    shedFrames.increment();
+    return false;
+  }
+
+  public Set<Policy> policies() { return EnumSet.copyOf(policies); }
+
+  /** 0 while the runners keep up; up to {@link #MAX_LEVEL} as they fall behind. */
+  public int level() { return level; }
+
+  public boolean isSaturated() { return level > 0; }
+
+  /** Mean step cost plus wake-up lag in the last window that had steps. */
+  public double lastMeanCostMillis() { return lastMeanCostNanos / 1_000_000.0; }
+
+  public long escalations() { return escalations.sum(); }
+  public long recoveries() { return recoveries.sum(); }
+  public long slowedSteps() { return slowedSteps.sum(); }
+  public long skippedDecisions() { return skippedDecisions.sum(); }
+  public long shedFrames() { return shedFrames.sum(); }
+}
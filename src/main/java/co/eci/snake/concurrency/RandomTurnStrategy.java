@@ -0,0 +1,22 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Snake;
+
+import java.util.random.RandomGenerator;
+
+final class RandomTurnStrategy implements TurnStrategy {
+  static final RandomTurnStrategy INSTANCE = new RandomTurnStrategy();
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private RandomTurnStrategy() {}
+
+  @Override
+  public Direction decide(Snake snake, Board board, boolean turbo, RandomGenerator random) {
+    double p = turbo ? 0.05 : 0.10;
+    if (random.nextDouble() >= p) return null;
+    return DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+  }
+}
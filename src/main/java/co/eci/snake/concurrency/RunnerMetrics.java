@@ -0,0 +1,57 @@
+package co.eci.snake.concurrency;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters shared by a group of {@link SnakeRunner}s: steps taken, how long each step
+ * took including the wait for the game lock, and how late each runner woke up compared
+ * with the pause it asked for (scheduling lag). Both are also passed on to the
+ * {@link OverloadController} set with {@link #reportTo}, if any.
+ */
+public final class RunnerMetrics {
+  private final LongAdder steps = new LongAdder();
+  private final LongAdder wakeups = new LongAdder();
+  private final LongAdder lagNanos = new LongAdder();
+  private final LongAccumulator maxLagNanos = new LongAccumulator(Math::max, 0);
+  private final LatencyHistogram stepLatency = new LatencyHistogram();
+  private volatile OverloadController overload;
+
+  void recordStep(long nanos) {
+    steps.increment();
+    stepLatency.record(nanos);
+    OverloadController o = overload;
+    if (o != null) o.recordStep(nanos);
+  }
+
+  void recordWakeup(long lateByNanos) {
+    long lag = Math.max(0, lateByNanos);
+    wakeups.increment();
+    lagNanos.add(lag);
+    maxLagNanos.accumulate(lag);
+    OverloadController o = overload;
+    if (o != null) o.recordLag(lag);
+  }
+
+  void reportTo(OverloadController overload) { this.overload = overload; }
+
+  public long steps() { return steps.sum(); }
+  public long wakeups() { return wakeups.sum(); }
+
+  public double meanLagMillis() {
+    long n = wakeups.sum();
+    return n == 0 ? 0 : lagNanos.sum() / (n * 1_000_000.0);
+  }
+
+  public double maxLagMillis() { return maxLagNanos.get() / 1_000_000.0; }
+
+  public LatencyHistogram stepLatency() { return stepLatency; }
+
+  public void reset() {
+    steps.reset();
+    wakeups.reset();
+    lagNanos.reset();
+    maxLagNanos.reset();
+    stepLatency.reset();
+  }
+}
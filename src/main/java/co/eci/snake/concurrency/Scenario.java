@@ -0,0 +1,189 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Snake;
+import co.eci.snake.core.engine.TimeSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+/**
+ * A reproducible game: board size, item counts, snake starts and the seed every random
+ * choice is drawn from. Two sessions built from the same scenario lay out the same
+ * board and make the same turns; driven with {@link GameSession#stepAll()} they play
+ * the same game tick for tick.
+ * <p>
+ * Scenario files hold one {@code key=value} per line; blank lines and text after
+ * {@code #} are ignored:
+ * <pre>
+ *   seed=42
+ *   width=35
+ *   height=28
+ *   mice=6
+ *   obstacles=4
+ *   turbo=3
+ *   teleports=2      # pairs
+ *   snakes=40        # placed like the classic UI, or list them:
+ *   snake=2,2,UP
+ *   snake=5,4,RIGHT
+ * </pre>
+ * Every key is optional; missing ones take the defaults above (seed 0, two snakes).
+ * Explicit {@code snake} lines take precedence over {@code snakes}.
+ */
+public record Scenario(long seed, int width, int height, Board.Items items, int snakeCount, List<Start> starts) {
+
+  public record Start(int x, int y, Direction direction) {
+    boolean fits(int width, int height) {
+      return x >= 0 && y >= 0 && x < width && y < height;
+    }
+  }
+
+  public Scenario {
+    if (width <= 0 || height <= 0) throw new IllegalArgumentException("Board dimensions must be positive");
+    if (snakeCount < 0) throw new IllegalArgumentException("snakes must not be negative");
+    starts = List.copyOf(starts);
+    for (Start s : starts) {
+      if (!s.fits(width, height)) throw new IllegalArgumentException(offBoard(s, width, height));
+    }
+  }
+
+  /** The same scenario with another seed. */
+  public Scenario withSeed(long seed) {
+    return new Scenario(seed, width, height, items, snakeCount, starts);
+  }
+
+  /** Default items and {@code snakes} classic starts on a {@code width x height} board. */
+  public static Scenario classic(int width, int height, int snakes, long seed) {
+    return new Scenario(seed, width, height, Board.Items.DEFAULT, snakes, List.of());
+  }
+
+  public static Scenario load(Path file) throws IOException {
+    try (Reader in = Files.newBufferedReader(file)) {
+      return parse(in);
+    }
+  }
+
+  /** The scenario file named by {@code -Dscenario}, or {@code null} if unset. */
+  public static Scenario fromSystemProperty() {
+    String file = System.getProperty("scenario");
+    if (file == null || file.isBlank()) return null;
+    try {
+      return load(Path.of(file));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public static Scenario parse(String text) {
+    try {
+      return parse(new StringReader(text));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public static Scenario parse(Reader reader) throws IOException {
+    long seed = 0;
+    int width = 35, height = 28, snakes = 2;
+    int mice = Board.Items.DEFAULT.mice(), obstacles = Board.Items.DEFAULT.obstacles();
+    int turbo = Board.Items.DEFAULT.turbo(), teleports = Board.Items.DEFAULT.teleportPairs();
+    var starts = new ArrayList<Start>();
+    var startLines = new ArrayList<Integer>();
+
+    var in = new BufferedReader(reader);
+    String line;
+    int lineNo = 0;
+    while ((line = in.readLine()) != null) {
+      lineNo++;
+      int hash = line.indexOf('#');
+      if (hash >= 0) line = line.substring(0, hash);
+      line = line.strip();
+      if (line.isEmpty()) continue;
+      int eq = line.indexOf('=');
+      if (eq <= 0) throw error(lineNo, "expected key=value");
+      String key = line.substring(0, eq).strip().toLowerCase(Locale.ROOT);
+      String value = line.substring(eq + 1).strip();
+      boolean known = true;
+      try {
+        switch (key) {
+          case "seed" -> seed = Long.parseLong(value);
+          case "width" -> width = Integer.parseInt(value);
+          case "height" -> height = Integer.parseInt(value);
+          case "mice" -> mice = Integer.parseInt(value);
+          case "obstacles" -> obstacles = Integer.parseInt(value);
+          case "turbo" -> turbo = Integer.parseInt(value);
+          case "teleports" -> teleports = Integer.parseInt(value);
+          case "snakes" -> snakes = Integer.parseInt(value);
+          case "snake" -> {
+            starts.add(parseStart(value));
+            startLines.add(lineNo);
+          }
+          default -> known = false;
+        }
+      } catch (IllegalArgumentException e) {
+        throw error(lineNo, "bad value '" + value + "' for " + key);
+      }
+      if (!known) throw error(lineNo, "unknown key '" + key + "'");
+    }
+    // Checked once the board size is known, since width and height may come after the starts.
+    for (int i = 0; i < starts.size(); i++) {
+      if (width > 0 && height > 0 && !starts.get(i).fits(width, height)) {
+        throw error(startLines.get(i), offBoard(starts.get(i), width, height));
+      }
+    }
+    return new Scenario(seed, width, height, new Board.Items(mice, obstacles, turbo, teleports), snakes, starts);
+  }
+
+  private static Start parseStart(String value) {
+    String[] parts = value.split(",");
+    if (parts.length != 3) throw new IllegalArgumentException("expected x,y,DIRECTION");
+    return new Start(Integer.parseInt(parts[0].strip()), Integer.parseInt(parts[1].strip()),
+        Direction.valueOf(parts[2].strip().toUpperCase(Locale.ROOT)));
+  }
+
+  private static String offBoard(Start s, int width, int height) {
+    return "snake start " + s.x() + "," + s.y() + " is outside the " + width + "x" + height + " board";
+  }
+
+  private static IllegalArgumentException error(int line, String message) {
+    return new IllegalArgumentException("Scenario line " + line + ": " + message);
+  }
+
+  /**
+   * A fresh session for this scenario. The board gets the first stream split from the
+   * seed and each snake's runner the next ones, in order.
+   */
+  public GameSession newSession() {
+    return newSession(TimeSource.system());
+  }
+
+  /** As {@link #newSession()}, with the runners paced by {@code time}. */
+  public GameSession newSession(TimeSource time) {
+    return newSession(time, i -> TurnStrategy.random());
+  }
+
+  /** As {@link #newSession(TimeSource)}, with snake {@code i} steered by {@code strategies.apply(i)}. */
+  public GameSession newSession(TimeSource time, IntFunction<TurnStrategy> strategies) {
+    var root = new SplittableRandom(seed);
+    var board = new Board(width, height, items, root.split());
+    List<Snake> snakes;
+    if (starts.isEmpty()) {
+      snakes = GameSession.classicSnakes(width, height, snakeCount);
+    } else {
+      snakes = new ArrayList<>(starts.size());
+      for (Start s : starts) snakes.add(Snake.of(s.x(), s.y(), s.direction()));
+    }
+    return new GameSession(board, snakes, root, time, strategies);
+  }
+}
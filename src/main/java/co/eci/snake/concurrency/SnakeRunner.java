@@ -1,13 +1,15 @@
 package co.eci.snake.concurrency;
 
 import co.eci.snake.core.Board;
-import co.eci.snake.core.Direction;
 import co.eci.snake.core.Snake;
 import co.eci.snake.core.engine.GameStats;
+import co.eci.snake.core.engine.TimeSource;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Objects;
+import java.util.SplittableRandom;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.BooleanSupplier;
+import java.util.random.RandomGenerator;
 
 public final class SnakeRunner implements Runnable {
   private final Snake snake;
@@ -15,17 +17,41 @@ public final class SnakeRunner implements Runnable {
   private final GameStats stats;
   private final ReadWriteLock lock;
 
+  static final int PAUSE_POLL_MS = 10;
+
   private final int baseSleepMs = 80;
   private final int turboSleepMs = 40;
   private int turboTicks = 0;
   private final BooleanSupplier pausedSupplier;
+  private final TurnStrategy strategy;
+  private final RunnerMetrics metrics;
+  private final RandomGenerator random;
+  private final TimeSource time;
+  private BoardWriter writer;
+  private OverloadController overload;
+  private long decisions;
 
   public SnakeRunner(Snake snake, Board board, GameStats stats, ReadWriteLock lock, BooleanSupplier pausedSupplier) {
+    this(snake, board, stats, lock, pausedSupplier, TurnStrategy.random(), null, new SplittableRandom(),
+        TimeSource.system());
+  }
+
+  /**
+   * @param metrics where to record steps and wake-up lag, or {@code null} to skip measuring
+   * @param random this snake's own stream of turn decisions; only used by the runner
+   * @param time what the runner sleeps on between steps and while paused
+   */
+  public SnakeRunner(Snake snake, Board board, GameStats stats, ReadWriteLock lock, BooleanSupplier pausedSupplier,
+                     TurnStrategy strategy, RunnerMetrics metrics, RandomGenerator random, TimeSource time) {
     this.snake = snake;
     this.board = board;
     this.stats = stats;
     this.lock = lock;
     this.pausedSupplier = pausedSupplier;
+    this.strategy = Objects.requireNonNull(strategy, "strategy");
+    this.metrics = metrics;
+    this.random = Objects.requireNonNull(random, "random");
+    this.time = Objects.requireNonNull(time, "time");
   }
 
   @Override
@@ -34,42 +60,82 @@ public final class SnakeRunner implements Runnable {
       while (!Thread.currentThread().isInterrupted() && snake.isAlive()) {
 
         while (pausedSupplier.getAsBoolean()) {
-          Thread.sleep(10);
+          time.sleep(PAUSE_POLL_MS);
         }
 
-        lock.readLock().lock();
-        try {
-          maybeTurn();
-          var res = board.step(snake);
-
-          if (res == Board.MoveResult.HIT_OBSTACLE) {
-            long order = stats.registerDeath(snake);
-            snake.markDead(order);
-            break;
-          } else if (res == Board.MoveResult.ATE_TURBO) {
-            turboTicks = 100;
-          }
-        } finally {
-          lock.readLock().unlock();
-        }
+        if (!stepOnce()) break;
 
-        int sleep = (turboTicks > 0) ? turboSleepMs : baseSleepMs;
-        if (turboTicks > 0) turboTicks--;
-        Thread.sleep(sleep);
+        int sleep = nextDelayMillis();
+        if (metrics == null) {
+          time.sleep(sleep);
+        } else {
+          long start = time.nanoTime();
+          time.sleep(sleep);
+          metrics.recordWakeup(time.nanoTime() - start - sleep * 1_000_000L);
+        }
       }
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
     }
   }
 
+  /**
+   * Turns (maybe) and moves the snake once under the game read lock.
+   * Returns {@code false} once the snake is dead, or if its board writer has closed.
+   */
+  boolean stepOnce() {
+    long start = metrics != null ? time.nanoTime() : 0;
+    lock.readLock().lock();
+    try {
+      maybeTurn();
+      var res = writer == null ? board.step(snake) : writer.step(snake);
+      if (res == null) return false;
+      if (metrics != null) metrics.recordStep(time.nanoTime() - start);
 
-  private void maybeTurn() {
-    double p = (turboTicks > 0) ? 0.05 : 0.10;
-    if (ThreadLocalRandom.current().nextDouble() < p) randomTurn();
+      if (res == Board.MoveResult.HIT_OBSTACLE) {
+        long order = stats.registerDeath(snake);
+        snake.markDead(order);
+        return false;
+      } else if (res == Board.MoveResult.ATE_TURBO) {
+        turboTicks = 100;
+      } else if (res == Board.MoveResult.ATE_MOUSE) {
+        stats.registerMouse(snake);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return true;
   }
 
-  private void randomTurn() {
-    var dirs = Direction.values();
-    snake.turn(dirs[ThreadLocalRandom.current().nextInt(dirs.length)]);
+  /**
+   * Pause before the next step: shorter while turbo lasts, longer while the overload
+   * controller slows the game. Counts one turbo tick down.
+   */
+  int nextDelayMillis() {
+    int sleep = (turboTicks > 0) ? turboSleepMs : baseSleepMs;
+    if (turboTicks > 0) turboTicks--;
+    return overload == null ? sleep : overload.scaleDelay(sleep);
+  }
+
+  /** Sends this runner's moves through {@code writer} instead of calling the board; set before it runs. */
+  void moveThrough(BoardWriter writer) { this.writer = writer; }
+
+  /** Lets {@code overload} stretch this runner's pauses and thin out its decisions; set before it runs. */
+  void governedBy(OverloadController overload) { this.overload = overload; }
+
+  boolean isPaused() { return pausedSupplier.getAsBoolean(); }
+
+  boolean isAlive() { return snake.isAlive(); }
+
+  Snake snake() { return snake; }
+
+  RunnerMetrics metrics() { return metrics; }
+
+  TimeSource time() { return time; }
+
+  private void maybeTurn() {
+    if (overload != null && !overload.admitDecision(decisions++)) return;
+    var dir = strategy.decide(snake, board, turboTicks > 0, random);
+    if (dir != null) snake.turn(dir);
   }
 }
@@ -0,0 +1,141 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.Position;
+import co.eci.snake.core.engine.TimeSource;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Splits the board into a grid of tiles, each owned by one worker loop. A snake is
+ * stepped only by the worker that owns the tile under its head; when a step leaves the
+ * tile (across a border, around the wrap or through a teleport) the snake is handed to
+ * the new owner through that worker's inbox. Each worker keeps its snakes in a local
+ * deadline queue that no other thread touches, so a snake's runner is only ever used by
+ * one thread at a time and snakes in the same tile never race each other.
+ * <p>
+ * Steps are paced like {@link WheelPacedRunner}: each one is due a fixed interval after
+ * the previous deadline. Workers poll their inbox at least every {@link #POLL_NANOS}, so
+ * a handed-off snake is picked up at most that late.
+ */
+final class TileWorkers {
+  static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long PAUSE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(SnakeRunner.PAUSE_POLL_MS);
+
+  /** A snake travelling between tiles with its next deadline; reused across handoffs. */
+  private static final class Mover {
+    final SnakeRunner runner;
+    long deadline;
+
+    Mover(SnakeRunner runner, long deadline) {
+      this.runner = runner;
+      this.deadline = deadline;
+    }
+  }
+
+  private final int columns;
+  private final int tileWidth;
+  private final int tileHeight;
+  private final Tile[] tiles;
+  private final TimeSource time;
+  private final LongAdder handoffs = new LongAdder();
+
+  /**
+   * A grid of at most {@code count} tiles over a {@code width x height} board, as close
+   * to square as {@code count}'s factors allow; smaller boards get fewer tiles.
+   */
+  TileWorkers(int width, int height, int count, TimeSource time) {
+    if (count <= 0) throw new IllegalArgumentException("count must be > 0");
+    int factor = 1;
+    for (int f = 1; f * f <= count; f++) {
+      if (count % f == 0) factor = f;
+    }
+    int cols = Math.min(width, count / factor);
+    int rows = Math.min(height, factor);
+    this.tileWidth = (width + cols - 1) / cols;
+    this.tileHeight = (height + rows - 1) / rows;
+    this.columns = (width + tileWidth - 1) / tileWidth;
+    int rowCount = (height + tileHeight - 1) / tileHeight;
+    this.time = time;
+    this.tiles = new Tile[columns * rowCount];
+    for (int i = 0; i < tiles.length; i++) tiles[i] = new Tile(i);
+  }
+
+  int tileCount() { return tiles.length; }
+
+  int tileOf(int x, int y) { return (y / tileHeight) * columns + x / tileWidth; }
+
+  /** Snakes moved from one tile's worker to another's so far. */
+  long handoffs() { return handoffs.sum(); }
+
+  /** Queues {@code runner}'s first step at {@code firstDeadline} on the tile under its head. */
+  void add(SnakeRunner runner, long firstDeadline) {
+    Position head = runner.snake().head();
+    tiles[tileOf(head.x(), head.y())].inbox.add(new Mover(runner, firstDeadline));
+  }
+
+  /** Starts one worker loop per tile on {@code executor}, which must have a thread for each. */
+  void start(Executor executor) {
+    for (Tile tile : tiles) executor.execute(time.participant(tile));
+  }
+
+  private final class Tile implements Runnable {
+    final int index;
+    final ConcurrentLinkedQueue<Mover> inbox = new ConcurrentLinkedQueue<>();
+    final PriorityQueue<Mover> due = new PriorityQueue<>(Comparator.comparingLong((Mover m) -> m.deadline));
+
+    Tile(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (!Thread.currentThread().isInterrupted()) {
+          Mover m;
+          while ((m = inbox.poll()) != null) due.add(m);
+          long now = time.nanoTime();
+          while ((m = due.peek()) != null && m.deadline <= now) {
+            due.poll();
+            step(m, now);
+          }
+          time.sleepNanos(m == null ? POLL_NANOS : Math.min(POLL_NANOS, m.deadline - now));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void step(Mover m, long now) {
+      SnakeRunner runner = m.runner;
+      RunnerMetrics metrics = runner.metrics();
+      if (metrics != null) metrics.recordWakeup(now - m.deadline);
+
+      if (!runner.isAlive()) return;
+      if (runner.isPaused()) {
+        m.deadline = now + PAUSE_POLL_NANOS;
+        due.add(m);
+        return;
+      }
+      if (!runner.stepOnce()) return;
+
+      long interval = TimeUnit.MILLISECONDS.toNanos(runner.nextDelayMillis());
+      long next = m.deadline + interval;
+      if (next < now - interval) next = now;
+      m.deadline = next;
+
+      Position head = runner.snake().head();
+      int owner = tileOf(head.x(), head.y());
+      if (owner == index) {
+        due.add(m);
+      } else {
+        handoffs.increment();
+        tiles[owner].inbox.add(m);
+      }
+    }
+  }
+}
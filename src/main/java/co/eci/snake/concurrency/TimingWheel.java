@@ -0,0 +1,180 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.engine.TimeSource;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hashed timing wheel shared by many periodic tasks.
+ * <p>
+ * One ticker thread advances a ring of {@code wheelSize} buckets, one bucket per
+ * {@code tick}. A task due {@code d} ticks from now goes into bucket
+ * {@code (now + d) mod wheelSize} with {@code d / wheelSize} remaining rounds, so
+ * scheduling and expiring are O(1) whatever the number of tasks. New deadlines are
+ * pushed onto a lock-free stack that the ticker drains each tick; tasks are reused
+ * nodes, so rescheduling allocates nothing.
+ * <p>
+ * Tasks that expire in the same tick are handed to the worker executor in batches of
+ * up to {@code batchSize}, one executor submission per batch.
+ */
+public final class TimingWheel implements AutoCloseable {
+
+  /** A reusable timer entry. Schedule it again from {@link #expire} to make it periodic. */
+  public abstract static class Task {
+    private long deadline;
+    private long rounds;
+    private Task next;
+    private Task nextPending;
+
+    /** The deadline this task was last scheduled for, in {@link TimingWheel#nanoTime()} units. */
+    public final long deadline() { return deadline; }
+
+    /** Runs on a worker thread once the deadline has passed. */
+    protected abstract void expire();
+  }
+
+  private final long tickNanos;
+  private final Task[] buckets;
+  private final int mask;
+  private final Executor workers;
+  private final int batchSize;
+  private final AtomicReference<Task> pending = new AtomicReference<>();
+
+  private final TimeSource time;
+  private final long startNanos;
+  private long currentTick;
+  private Thread ticker;
+  private volatile boolean running;
+
+  public TimingWheel(long tick, TimeUnit unit, int wheelSize, Executor workers, int batchSize) {
+    this(tick, unit, wheelSize, workers, batchSize, TimeSource.system());
+  }
+
+  /** A wheel whose ticks and deadlines follow {@code time}. */
+  public TimingWheel(long tick, TimeUnit unit, int wheelSize, Executor workers, int batchSize, TimeSource time) {
+    if (tick <= 0) throw new IllegalArgumentException("tick must be > 0");
+    if (wheelSize <= 0) throw new IllegalArgumentException("wheelSize must be > 0");
+    if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be > 0");
+    this.tickNanos = unit.toNanos(tick);
+    int size = Integer.highestOneBit(Math.max(2, wheelSize) - 1) << 1;
+    this.buckets = new Task[size];
+    this.mask = size - 1;
+    this.workers = Objects.requireNonNull(workers, "workers");
+    this.batchSize = batchSize;
+    this.time = Objects.requireNonNull(time, "time");
+    this.startNanos = time.nanoTime();
+  }
+
+  public synchronized void start() {
+    if (ticker != null) return;
+    running = true;
+    ticker = Thread.ofPlatform().name("timing-wheel").daemon().start(time.participant(this::tickLoop));
+  }
+
+  /**
+   * Schedules {@code task} to expire at {@code deadlineNanos} ({@link #nanoTime()}
+   * units). Safe from any thread. A task must not be scheduled again before it expires.
+   */
+  public void schedule(Task task, long deadlineNanos) {
+    task.deadline = deadlineNanos;
+    Task head;
+    do {
+      head = pending.get();
+      task.nextPending = head;
+    } while (!pending.compareAndSet(head, task));
+  }
+
+  public long nanoTime() { return time.nanoTime(); }
+
+  private void tickLoop() {
+    try {
+      while (running) {
+        long tickDeadline = startNanos + (currentTick + 1) * tickNanos;
+        long wait;
+        while (running && (wait = tickDeadline - time.nanoTime()) > 0) {
+          time.sleepNanos(wait);
+        }
+        if (!running) return;
+        transferPending();
+        expireBucket();
+        currentTick++;
+      }
+    } catch (InterruptedException e) {
+      // closed
+    }
+  }
+
+  private void transferPending() {
+    Task t = pending.getAndSet(null);
+    while (t != null) {
+      Task following = t.nextPending;
+      t.nextPending = null;
+      long due = Math.max(currentTick, (t.deadline - startNanos + tickNanos - 1) / tickNanos);
+      long ticks = due - currentTick;
+      t.rounds = ticks / buckets.length;
+      int idx = (int) (due & mask);
+      t.next = buckets[idx];
+      buckets[idx] = t;
+      t = following;
+    }
+  }
+
+  private void expireBucket() {
+    int idx = (int) (currentTick & mask);
+    Task t = buckets[idx];
+    Task kept = null;
+    Task batch = null;
+    int batchCount = 0;
+    while (t != null) {
+      Task following = t.next;
+      if (t.rounds > 0) {
+        t.rounds--;
+        t.next = kept;
+        kept = t;
+      } else {
+        t.next = batch;
+        batch = t;
+        if (++batchCount == batchSize) {
+          dispatch(batch);
+          batch = null;
+          batchCount = 0;
+        }
+      }
+      t = following;
+    }
+    buckets[idx] = kept;
+    if (batch != null) dispatch(batch);
+  }
+
+  private void dispatch(Task first) {
+    workers.execute(time.participant(() -> {
+      Task t = first;
+      while (t != null) {
+        Task following = t.next;
+        t.next = null;
+        t.expire();
+        t = following;
+      }
+    }));
+  }
+
+  @Override
+  public void close() {
+    Thread t;
+    synchronized (this) {
+      running = false;
+      t = ticker;
+    }
+    if (t != null) {
+      t.interrupt();
+      try {
+        t.join(1000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.Snake;
+import co.eci.snake.core.engine.TimeSource;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Plays many headless games and tallies them per strategy and configuration.
+ * <p>
+ * Every game is a {@link Scenario} driven with {@link GameSession#stepAll()}, so it runs
+ * as fast as the board can step and never sleeps. Game {@code g} of a configuration uses
+ * the scenario's seed plus {@code g}, and seat {@code i} is steered by entrant
+ * {@code (g + i) % entrants}, so every entrant plays every start equally often. A game
+ * ends when at most one snake is alive (none, for a one-snake scenario) or after
+ * {@code maxTicks} steps. The last snake alive wins; if several are still alive at the
+ * tick limit, the unique longest one wins, otherwise the game is a draw.
+ * <p>
+ * Games are split over a {@link ForkJoinPool}: each task plays its share into its own
+ * counters and they are added up as the tasks join, so games share nothing while they
+ * run. Since each game only depends on its seed, the results do not depend on the pool.
+ */
+public final class Tournament {
+  private static final int SEATS = 0, WINS = 1, SURVIVAL = 2, MICE = 3, FIELDS = 4;
+
+  /** A strategy under test. {@code strategy} is called once per seat, so stateful bots are not shared. */
+  public record Entrant(String name, Supplier<TurnStrategy> strategy) {
+    public Entrant {
+      Objects.requireNonNull(name, "name");
+      Objects.requireNonNull(strategy, "strategy");
+    }
+
+    /** {@code random}, or {@code avoid} / {@code avoid:N} for {@link AvoidTrapsStrategy} looking {@code N} moves ahead. */
+    public static Entrant parse(String spec) {
+      String s = spec.strip().toLowerCase(Locale.ROOT);
+      if (s.equals("random")) return new Entrant(s, TurnStrategy::random);
+      if (s.equals("avoid") || s.startsWith("avoid:")) {
+        int lookahead = s.equals("avoid") ? 8 : Integer.parseInt(s.substring("avoid:".length()));
+        if (lookahead <= 0) throw new IllegalArgumentException("lookahead must be > 0");
+        return new Entrant(s, () -> new AvoidTrapsStrategy(lookahead));
+      }
+      throw new IllegalArgumentException("Unknown strategy '" + spec + "'");
+    }
+  }
+
+  /** Board size, items and starts to play on; the scenario's seed is the seed of game 0. */
+  public record Config(String name, Scenario scenario) {
+    public Config {
+      Objects.requireNonNull(name, "name");
+      Objects.requireNonNull(scenario, "scenario");
+    }
+  }
+
+  /** One entrant's totals on one configuration. A seat is one snake in one game. */
+  public record Standing(String config, String entrant, long seats, long wins, long survivalTicks, long miceEaten) {
+    public double winRate() { return seats == 0 ? 0 : (double) wins / seats; }
+    public double meanSurvivalTicks() { return seats == 0 ? 0 : (double) survivalTicks / seats; }
+    public double meanMiceEaten() { return seats == 0 ? 0 : (double) miceEaten / seats; }
+  }
+
+  public record Result(List<Standing> standings, long games, long ticks, long elapsedNanos) {
+    public Result {
+      standings = List.copyOf(standings);
+    }
+
+    public double gamesPerSecond() { return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos; }
+
+    public Standing standing(String config, String entrant) {
+      for (Standing s : standings) {
+        if (s.config().equals(config) && s.entrant().equals(entrant)) return s;
+      }
+      throw new IllegalArgumentException("No standing for " + entrant + " on " + config);
+    }
+  }
+
+  private final List<Config> configs;
+  private final List<Entrant> entrants;
+  private final int gamesPerConfig;
+  private final int maxTicks;
+
+  public Tournament(List<Config> configs, List<Entrant> entrants, int gamesPerConfig, int maxTicks) {
+    if (configs.isEmpty()) throw new IllegalArgumentException("At least one configuration is needed");
+    if (entrants.isEmpty()) throw new IllegalArgumentException("At least one entrant is needed");
+    if (gamesPerConfig <= 0) throw new IllegalArgumentException("gamesPerConfig must be > 0");
+    if (maxTicks <= 0) throw new IllegalArgumentException("maxTicks must be > 0");
+    this.configs = List.copyOf(configs);
+    this.entrants = List.copyOf(entrants);
+    this.gamesPerConfig = gamesPerConfig;
+    this.maxTicks = maxTicks;
+  }
+
+  /** Plays every game on the common pool. */
+  public Result run() {
+    return run(ForkJoinPool.commonPool());
+  }
+
+  public Result run(ForkJoinPool pool) {
+    long start = System.nanoTime();
+    long[] totals = pool.invoke(new Games(0, configs.size() * gamesPerConfig));
+    long elapsed = System.nanoTime() - start;
+
+    var standings = new ArrayList<Standing>(configs.size() * entrants.size());
+    for (int c = 0; c < configs.size(); c++) {
+      for (int e = 0; e < entrants.size(); e++) {
+        int at = slot(c, e);
+        standings.add(new Standing(configs.get(c).name(), entrants.get(e).name(),
+            totals[at + SEATS], totals[at + WINS], totals[at + SURVIVAL], totals[at + MICE]));
+      }
+    }
+    return new Result(standings, (long) configs.size() * gamesPerConfig, totals[totals.length - 1], elapsed);
+  }
+
+  /** Plays games {@code [lo, hi)}, numbered config-major, splitting until one game is left. */
+  private final class Games extends RecursiveTask<long[]> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final int lo, hi;
+
+    Games(int lo, int hi) {
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected long[] compute() {
+      if (hi - lo == 1) {
+        long[] totals = new long[configs.size() * entrants.size() * FIELDS + 1];
+        play(lo / gamesPerConfig, lo % gamesPerConfig, totals);
+        return totals;
+      }
+      int mid = (lo + hi) >>> 1;
+      var left = new Games(lo, mid);
+      left.fork();
+      long[] totals = new Games(mid, hi).compute();
+      long[] other = left.join();
+      for (int i = 0; i < totals.length; i++) totals[i] += other[i];
+      return totals;
+    }
+  }
+
+  private void play(int config, int game, long[] totals) {
+    var base = configs.get(config).scenario();
+    int n = entrants.size();
+    try (var session = base.withSeed(base.seed() + game)
+        .newSession(TimeSource.system(), i -> entrants.get((game + i) % n).strategy().get())) {
+      List<Snake> snakes = session.snakes();
+      int seats = snakes.size();
+      int[] diedAt = new int[seats];
+      int endWhenAlive = seats > 1 ? 1 : 0;
+      int alive = seats;
+      int tick = 0;
+      while (alive > endWhenAlive && tick < maxTicks) {
+        alive = session.stepAll();
+        tick++;
+        for (int i = 0; i < seats; i++) {
+          if (diedAt[i] == 0 && !snakes.get(i).isAlive()) diedAt[i] = tick;
+        }
+      }
+
+      int winner = -1;
+      int longest = -1;
+      for (int i = 0; i < seats; i++) {
+        if (diedAt[i] != 0) continue;
+        int length = snakes.get(i).length();
+        if (length > longest) {
+          longest = length;
+          winner = i;
+        } else if (length == longest) {
+          winner = -1;
+        }
+      }
+
+      for (int i = 0; i < seats; i++) {
+        int at = slot(config, (game + i) % n);
+        totals[at + SEATS]++;
+        if (i == winner) totals[at + WINS]++;
+        totals[at + SURVIVAL] += diedAt[i] == 0 ? tick : diedAt[i];
+        totals[at + MICE] += session.stats().miceEaten(snakes.get(i));
+      }
+      totals[totals.length - 1] += tick;
+    }
+  }
+
+  private int slot(int config, int entrant) {
+    return (config * entrants.size() + entrant) * FIELDS;
+  }
+
+  /**
+   * Runs a tournament from system properties and prints the standings:
+   * {@code -Dstrategies} (default {@code random,avoid:8}), {@code -Dscenario} as a
+   * comma-separated list of scenario files (default a classic 35x28 board with four
+   * snakes), {@code -Dgames} per configuration (default 500), {@code -DmaxTicks}
+   * (default 3000) and {@code -Dthreads} (default one per core).
+   */
+  public static void launch() {
+    var entrants = new ArrayList<Entrant>();
+    for (String spec : System.getProperty("strategies", "random,avoid:8").split(",")) {
+      entrants.add(Entrant.parse(spec));
+    }
+    var configs = new ArrayList<Config>();
+    String files = System.getProperty("scenario", "");
+    for (String file : files.split(",")) {
+      if (file.isBlank()) continue;
+      try {
+        Path path = Path.of(file.strip());
+        configs.add(new Config(path.getFileName().toString(), Scenario.load(path)));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    if (configs.isEmpty()) configs.add(new Config("classic", Scenario.classic(35, 28, 4, 1)));
+    int games = Integer.getInteger("games", 500);
+    int maxTicks = Integer.getInteger("maxTicks", 3000);
+    int threads = Integer.getInteger("threads", Runtime.getRuntime().availableProcessors());
+
+    Result result;
+    try (var pool = new ForkJoinPool(threads)) {
+      result = new Tournament(configs, entrants, games, maxTicks).run(pool);
+    }
+
+    System.out.printf(Locale.ROOT, "%-16s %-12s %8s %8s %12s %10s%n",
+        "config", "strategy", "seats", "win %", "mean ticks", "mean mice");
+    result.standings().stream()
+        .sorted(Comparator.comparing(Standing::config).thenComparing(Comparator.comparingDouble(Standing::winRate).reversed()))
+        .forEach(s -> System.out.printf(Locale.ROOT, "%-16s %-12s %8d %8.1f %12.1f %10.2f%n",
+            s.config(), s.entrant(), s.seats(), 100 * s.winRate(), s.meanSurvivalTicks(), s.meanMiceEaten()));
+    System.out.printf(Locale.ROOT, "%d games, %d ticks in %.2f s on %d threads (%.1f games/s)%n",
+        result.games(), result.ticks(), result.elapsedNanos() / 1e9, threads, result.gamesPerSecond());
+  }
+}
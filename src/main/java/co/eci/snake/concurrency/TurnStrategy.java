@@ -0,0 +1,20 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Snake;
+
+import java.util.random.RandomGenerator;
+
+/** Decides, once per step, whether a bot-controlled snake changes direction. */
+@FunctionalInterface
+public interface TurnStrategy {
+
+  /** Returns the direction to turn to, or {@code null} to keep the current one. */
+  Direction decide(Snake snake, Board board, boolean turbo, RandomGenerator random);
+
+  /** The original behaviour: turn at random with a small probability (lower while in turbo). */
+  static TurnStrategy random() {
+    return RandomTurnStrategy.INSTANCE;
+  }
+}
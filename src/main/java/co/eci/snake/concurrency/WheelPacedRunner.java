@@ -0,0 +1,45 @@
+package co.eci.snake.concurrency;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a {@link SnakeRunner} from a {@link TimingWheel} instead of its own sleep.
+ * Each next step is due a fixed interval after the previous <em>deadline</em>, not
+ * after the step finished, so step and lock time do not accumulate as drift. A
+ * runner that falls more than one interval behind skips ahead instead of bursting.
+ */
+final class WheelPacedRunner extends TimingWheel.Task {
+  private static final long PAUSE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(SnakeRunner.PAUSE_POLL_MS);
+
+  private final SnakeRunner runner;
+  private final TimingWheel wheel;
+
+  WheelPacedRunner(SnakeRunner runner, TimingWheel wheel) {
+    this.runner = runner;
+    this.wheel = wheel;
+  }
+
+  void start(long firstDeadline) {
+    wheel.schedule(this, firstDeadline);
+  }
+
+  @Override
+  protected void expire() {
+    long now = wheel.nanoTime();
+    long deadline = deadline();
+    RunnerMetrics metrics = runner.metrics();
+    if (metrics != null) metrics.recordWakeup(now - deadline);
+
+    if (!runner.isAlive()) return;
+    if (runner.isPaused()) {
+      wheel.schedule(this, now + PAUSE_POLL_NANOS);
+      return;
+    }
+    if (!runner.stepOnce()) return;
+
+    long interval = TimeUnit.MILLISECONDS.toNanos(runner.nextDelayMillis());
+    long next = deadline + interval;
+    if (next < now - interval) next = now;
+    wheel.schedule(this, next);
+  }
+}
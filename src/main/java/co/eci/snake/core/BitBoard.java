@@ -0,0 +1,139 @@
+package co.eci.snake.core;
+
+import java.util.Arrays;
+
+/**
+ * Grid of bits with each row packed into {@code long} words. Moves between
+ * neighbouring cells are expressed as whole-row shifts, so a flood fill over
+ * the board costs O(height * width / 64) per step instead of one visit per cell.
+ * Shifts wrap around the edges the same way {@link Position#wrap} does.
+ */
+public final class BitBoard {
+  private final int width;
+  private final int height;
+  private final int wordsPerRow;
+  private final long lastWordMask;
+  private final long[] words;
+  private final long[] scratch;
+
+  public BitBoard(int width, int height) {
+    if (width <= 0 || height <= 0) throw new IllegalArgumentException("Board dimensions must be positive");
+    this.width = width;
+    this.height = height;
+    this.wordsPerRow = (width + 63) >>> 6;
+    int tail = width & 63;
+    this.lastWordMask = tail == 0 ? -1L : (1L << tail) - 1;
+    this.words = new long[wordsPerRow * height];
+    this.scratch = new long[words.length];
+  }
+
+  public int width() { return width; }
+  public int height() { return height; }
+
+  public boolean get(int x, int y) {
+    return (words[index(x, y)] & bit(x)) != 0;
+  }
+
+  public boolean get(Position p) { return get(p.x(), p.y()); }
+
+  public void set(int x, int y) { words[index(x, y)] |= bit(x); }
+
+  public void set(Position p) { set(p.x(), p.y()); }
+
+  public void clear(int x, int y) { words[index(x, y)] &= ~bit(x); }
+
+  public void clear(Position p) { clear(p.x(), p.y()); }
+
+  public void clearAll() { Arrays.fill(words, 0L); }
+
+  public boolean isEmpty() {
+    for (long w : words) if (w != 0) return false;
+    return true;
+  }
+
+  public int cardinality() {
+    int n = 0;
+    for (long w : words) n += Long.bitCount(w);
+    return n;
+  }
+
+  public BitBoard copy() {
+    var c = new BitBoard(width, height);
+    c.copyFrom(this);
+    return c;
+  }
+
+  public void copyFrom(BitBoard other) {
+    checkSameShape(other);
+    System.arraycopy(other.words, 0, words, 0, words.length);
+  }
+
+  public void or(BitBoard other) {
+    checkSameShape(other);
+    for (int i = 0; i < words.length; i++) words[i] |= other.words[i];
+  }
+
+  public void and(BitBoard other) {
+    checkSameShape(other);
+    for (int i = 0; i < words.length; i++) words[i] &= other.words[i];
+  }
+
+  public void andNot(BitBoard other) {
+    checkSameShape(other);
+    for (int i = 0; i < words.length; i++) words[i] &= ~other.words[i];
+  }
+
+  public boolean intersects(BitBoard other) {
+    checkSameShape(other);
+    for (int i = 0; i < words.length; i++) if ((words[i] & other.words[i]) != 0) return true;
+    return false;
+  }
+
+  /**
+   * Grows the set by one move in every direction (with wrap-around) and then
+   * removes the cells in {@code blocked}. Returns {@code true} if any cell was added.
+   */
+  public boolean dilate(BitBoard blocked) {
+    if (blocked != null) checkSameShape(blocked);
+    boolean changed = false;
+    for (int y = 0; y < height; y++) {
+      int row = y * wordsPerRow;
+      int up = ((y + height - 1) % height) * wordsPerRow;
+      int down = ((y + 1) % height) * wordsPerRow;
+      long carryEast = words[row + wordsPerRow - 1] >>> ((width - 1) & 63) & 1L;
+      for (int w = 0; w < wordsPerRow; w++) {
+        long cur = words[row + w];
+        long east = cur << 1;
+        east |= (w == 0) ? carryEast : words[row + w - 1] >>> 63;
+        long west = cur >>> 1;
+        if (w + 1 < wordsPerRow) {
+          west |= words[row + w + 1] << 63;
+        } else {
+          west |= (words[row] & 1L) << ((width - 1) & 63);
+        }
+        long next = cur | east | west | words[up + w] | words[down + w];
+        if (w == wordsPerRow - 1) next &= lastWordMask;
+        if (blocked != null) next &= ~blocked.words[row + w];
+        scratch[row + w] = next;
+        changed |= next != cur;
+      }
+    }
+    System.arraycopy(scratch, 0, words, 0, words.length);
+    return changed;
+  }
+
+  private int index(int x, int y) {
+    if (x < 0 || x >= width || y < 0 || y >= height) {
+      throw new IndexOutOfBoundsException("(" + x + "," + y + ") outside " + width + "x" + height);
+    }
+    return y * wordsPerRow + (x >>> 6);
+  }
+
+  private static long bit(int x) { return 1L << (x & 63); }
+
+  private void checkSameShape(BitBoard other) {
+    if (other.width != width || other.height != height) {
+      throw new IllegalArgumentException("BitBoard shapes differ");
+    }
+  }
+}
@@ -5,7 +5,8 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public final class Board {
   private final int width;
@@ -15,26 +16,131 @@ public final class Board {
   private final Set<Position> obstacles = new HashSet<>();
   private final Set<Position> turbo = new HashSet<>();
   private final Map<Position, Position> teleports = new HashMap<>();
+  private final BitBoard obstacleBits;
+  private int[] teleportCells = new int[0];
+  private final RandomGenerator random;
+
+  private static final int JOURNAL_SIZE = 1024;
+  private final int[] journal = new int[JOURNAL_SIZE];
+  private long journalEnd;
 
   public enum MoveResult { MOVED, ATE_MOUSE, HIT_OBSTACLE, ATE_TURBO, TELEPORTED }
 
+  /** Items that can appear or disappear while the game runs. Teleports are fixed. */
+  public enum Item { MOUSE, OBSTACLE, TURBO }
+
+  @FunctionalInterface
+  public interface ItemListener {
+    void changed(Item item, int x, int y, boolean added);
+  }
+
+  /** How many of each item a new board starts with. */
+  public record Items(int mice, int obstacles, int turbo, int teleportPairs) {
+    public static final Items DEFAULT = new Items(6, 4, 3, 2);
+
+    public Items {
+      if (mice < 0 || obstacles < 0 || turbo < 0 || teleportPairs < 0) {
+        throw new IllegalArgumentException("Item counts must not be negative");
+      }
+    }
+  }
+
+  private static final Item[] ITEMS = Item.values();
+
+  // Board monitor call sites; no-ops unless -Dsnake.profileLocks is set.
+  private static final LockProfiler.Site STEP_SITE = LockProfiler.site("Board.step");
+  private static final LockProfiler.Site COPY_SITE = LockProfiler.site("Board.itemCopies");
+
   public Board(int width, int height) {
+    this(width, height, Items.DEFAULT, new SplittableRandom());
+  }
+
+  /**
+   * A board whose layout and later item spawns all come from {@code random}, so the
+   * same seed gives the same game. The generator is only used under the board lock.
+   */
+  public Board(int width, int height, Items items, RandomGenerator random) {
     if (width <= 0 || height <= 0) throw new IllegalArgumentException("Board dimensions must be positive");
     this.width = width;
     this.height = height;
-    for (int i=0;i<6;i++) mice.add(randomEmpty());
-    for (int i=0;i<4;i++) obstacles.add(randomEmpty());
-    for (int i=0;i<3;i++) turbo.add(randomEmpty());
-    createTeleportPairs(2);
+    this.random = Objects.requireNonNull(random, "random");
+    this.obstacleBits = new BitBoard(width, height);
+    for (int i=0;i<items.mice();i++) mice.add(randomEmpty());
+    for (int i=0;i<items.obstacles();i++) addObstacle(randomEmpty());
+    for (int i=0;i<items.turbo();i++) turbo.add(randomEmpty());
+    createTeleportPairs(items.teleportPairs());
   }
 
   public int width() { return width; }
   public int height() { return height; }
 
-  public synchronized Set<Position> mice() { return new HashSet<>(mice); }
-  public synchronized Set<Position> obstacles() { return new HashSet<>(obstacles); }
-  public synchronized Set<Position> turbo() { return new HashSet<>(turbo); }
-  public synchronized Map<Position, Position> teleports() { return new HashMap<>(teleports); }
+  public Set<Position> mice() { return copyItems(mice); }
+  public Set<Position> obstacles() { return copyItems(obstacles); }
+  public Set<Position> turbo() { return copyItems(turbo); }
+
+  public Map<Position, Position> teleports() {
+    long t = COPY_SITE.enter();
+    synchronized (this) {
+      long held = COPY_SITE.entered(t);
+      try {
+        return new HashMap<>(teleports);
+      } finally {
+        COPY_SITE.exit(held);
+      }
+    }
+  }
+
+  private Set<Position> copyItems(Set<Position> items) {
+    long t = COPY_SITE.enter();
+    synchronized (this) {
+      long held = COPY_SITE.entered(t);
+      try {
+        return new HashSet<>(items);
+      } finally {
+        COPY_SITE.exit(held);
+      }
+    }
+  }
+
+  public synchronized boolean isObstacle(int x, int y) { return obstacleBits.get(x, y); }
+
+  /** Copies the obstacle cells into {@code out}, which must have this board's dimensions. */
+  public synchronized void copyObstaclesInto(BitBoard out) { out.copyFrom(obstacleBits); }
+
+  /**
+   * Marks the exit of every teleport whose entry is set in {@code cells}.
+   * Returns {@code true} if any cell was added.
+   */
+  boolean applyTeleports(BitBoard cells) {
+    var tp = teleportCells;
+    boolean changed = false;
+    for (int i = 0; i < tp.length; i += 4) {
+      if (cells.get(tp[i], tp[i + 1]) && !cells.get(tp[i + 2], tp[i + 3])) {
+        cells.set(tp[i + 2], tp[i + 3]);
+        changed = true;
+      }
+    }
+    return changed;
+  }
+
+  /** Position in the item journal; pass it to {@link #changesSince} to read later changes. */
+  public synchronized long journalPosition() { return journalEnd; }
+
+  /**
+   * Replays to {@code listener} every item added or removed since {@code cursor},
+   * oldest first, and returns the cursor to use next time. Returns {@code -1} if
+   * the journal no longer holds all those changes; the caller must then re-read
+   * the full item sets. The listener runs under the board lock and must be quick.
+   */
+  public synchronized long changesSince(long cursor, ItemListener listener) {
+    if (cursor > journalEnd || journalEnd - cursor > JOURNAL_SIZE) return -1;
+    for (long i = cursor; i < journalEnd; i++) {
+      int e = journal[(int) (i % JOURNAL_SIZE)];
+      int cell = e >>> 3;
+      listener.changed(ITEMS[(e >>> 1) & 3], cell % width, cell / width, (e & 1) != 0);
+    }
+    return journalEnd;
+  }
 
   public MoveResult step(Snake snake) {
     Objects.requireNonNull(snake, "snake");
@@ -50,25 +156,36 @@ public final class Board {
     boolean ateTurbo;
     boolean teleported = false;
 
+    long t = STEP_SITE.enter();
     synchronized (this) {
-      if (obstacles.contains(next)) {
-        return MoveResult.HIT_OBSTACLE;
-      }
-
-      if (teleports.containsKey(next)) {
-        next = teleports.get(next);
-        teleported = true;
-      }
+      long held = STEP_SITE.entered(t);
+      try {
+        if (obstacles.contains(next)) {
+          return MoveResult.HIT_OBSTACLE;
+        }
 
-      ateMouse = mice.remove(next);
-      ateTurbo = turbo.remove(next);
+        if (teleports.containsKey(next)) {
+          next = teleports.get(next);
+          teleported = true;
+        }
 
-      if (ateMouse) {
-        mice.add(randomEmpty());
-        obstacles.add(randomEmpty());
-        if (ThreadLocalRandom.current().nextDouble() < 0.2) {
-          turbo.add(randomEmpty());
+        ateMouse = mice.remove(next);
+        ateTurbo = turbo.remove(next);
+        if (ateMouse) record(Item.MOUSE, next, false);
+        if (ateTurbo) record(Item.TURBO, next, false);
+
+        if (ateMouse) {
+          Position mouse = randomEmpty();
+          if (mice.add(mouse)) record(Item.MOUSE, mouse, true);
+          Position obstacle = randomEmpty();
+          if (addObstacle(obstacle)) record(Item.OBSTACLE, obstacle, true);
+          if (random.nextDouble() < 0.2) {
+            Position bolt = randomEmpty();
+            if (turbo.add(bolt)) record(Item.TURBO, bolt, true);
+          }
         }
+      } finally {
+        STEP_SITE.exit(held);
       }
     }
 
@@ -88,10 +205,29 @@ public final class Board {
       teleports.put(a, b);
       teleports.put(b, a);
     }
+    int[] cells = new int[teleports.size() * 4];
+    int i = 0;
+    for (var e : teleports.entrySet()) {
+      cells[i++] = e.getKey().x();
+      cells[i++] = e.getKey().y();
+      cells[i++] = e.getValue().x();
+      cells[i++] = e.getValue().y();
+    }
+    teleportCells = cells;
+  }
+
+  private boolean addObstacle(Position p) {
+    obstacleBits.set(p);
+    return obstacles.add(p);
+  }
+
+  private void record(Item item, Position p, boolean added) {
+    journal[(int) (journalEnd % JOURNAL_SIZE)] = ((p.y() * width + p.x()) << 3) | (item.ordinal() << 1) | (added ? 1 : 0);
+    journalEnd++;
   }
 
   private Position randomEmpty() {
-    var rnd = ThreadLocalRandom.current();
+    var rnd = random;
     Position p;
     int guard = 0;
     do {
@@ -0,0 +1,143 @@
+package co.eci.snake.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention figures per lock call site: acquisitions, time spent waiting for the lock,
+ * time it was held, and the longest queue of waiters seen.
+ * <p>
+ * Switched on at start-up with {@code -Dsnake.profileLocks=true}. {@link #ENABLED} is a
+ * constant, so when it is off the monitor probes below compile down to nothing and the
+ * game uses plain locks. When on, a report is printed to stderr at exit.
+ * <p>
+ * Intrinsic monitors are probed by hand around the {@code synchronized} block:
+ * <pre>
+ *   long t = SITE.enter();
+ *   synchronized (this) {
+ *     long held = SITE.entered(t);
+ *     try { ... } finally { SITE.exit(held); }
+ *   }
+ * </pre>
+ */
+public final class LockProfiler {
+  public static final boolean ENABLED = Boolean.getBoolean("snake.profileLocks");
+
+  private static final ConcurrentMap<String, Site> SITES = new ConcurrentHashMap<>();
+
+  static {
+    if (ENABLED) {
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(report()), "lock-profiler"));
+    }
+  }
+
+  private LockProfiler() {}
+
+  /** The site called {@code name}, created on first use. */
+  public static Site site(String name) {
+    Objects.requireNonNull(name, "name");
+    return SITES.computeIfAbsent(name, Site::new);
+  }
+
+  /** All sites seen so far, most waited-on first. */
+  public static List<Site> sites() {
+    var list = new ArrayList<>(SITES.values());
+    list.sort(Comparator.comparingLong(Site::totalWaitNanos).reversed());
+    return list;
+  }
+
+  public static void reset() {
+    SITES.values().forEach(Site::reset);
+  }
+
+  public static String report() {
+    var sb = new StringBuilder();
+    sb.append(String.format(Locale.ROOT, "%-56s %10s %12s %10s %12s %10s %6s%n",
+        "site", "acquired", "wait ms", "maxwait", "held ms", "maxheld", "queue"));
+    for (Site s : sites()) {
+      sb.append(String.format(Locale.ROOT, "%-56s %10d %12.3f %10.3f %12.3f %10.3f %6d%n",
+          s.name(), s.acquisitions(), s.totalWaitNanos() / 1e6, s.maxWaitNanos() / 1e6,
+          s.totalHoldNanos() / 1e6, s.maxHoldNanos() / 1e6, s.maxQueueLength()));
+    }
+    return sb.toString();
+  }
+
+  public static final class Site {
+    private final String name;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAccumulator maxWait = new LongAccumulator(Math::max, 0);
+    private final LongAdder holdNanos = new LongAdder();
+    private final LongAccumulator maxHold = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxQueue = new LongAccumulator(Math::max, 0);
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private Site(String name) {
+      this.name = name;
+    }
+
+    public String name() { return name; }
+
+    /** Records one acquisition that waited {@code nanos} with {@code queued} threads waiting, itself included. */
+    public void recordAcquire(long nanos, int queued) {
+      acquisitions.increment();
+      waitNanos.add(nanos);
+      maxWait.accumulate(nanos);
+      maxQueue.accumulate(queued);
+    }
+
+    public void recordHold(long nanos) {
+      holdNanos.add(nanos);
+      maxHold.accumulate(nanos);
+    }
+
+    /** Call just before entering the monitor; returns the token for {@link #entered}. */
+    public long enter() {
+      if (!ENABLED) return 0;
+      maxQueue.accumulate(waiting.incrementAndGet());
+      return System.nanoTime();
+    }
+
+    /** Call first thing inside the monitor; returns the token for {@link #exit}. */
+    public long entered(long enterToken) {
+      if (!ENABLED) return 0;
+      long now = System.nanoTime();
+      waiting.decrementAndGet();
+      acquisitions.increment();
+      long waited = now - enterToken;
+      waitNanos.add(waited);
+      maxWait.accumulate(waited);
+      return now;
+    }
+
+    /** Call last thing inside the monitor, from a {@code finally}. */
+    public void exit(long enteredToken) {
+      if (!ENABLED) return;
+      recordHold(System.nanoTime() - enteredToken);
+    }
+
+    public long acquisitions() { return acquisitions.sum(); }
+    public long totalWaitNanos() { return waitNanos.sum(); }
+    public long maxWaitNanos() { return maxWait.get(); }
+    public long totalHoldNanos() { return holdNanos.sum(); }
+    public long maxHoldNanos() { return maxHold.get(); }
+    public long maxQueueLength() { return maxQueue.get(); }
+
+    void reset() {
+      acquisitions.reset();
+      waitNanos.reset();
+      maxWait.reset();
+      holdNanos.reset();
+      maxHold.reset();
+      maxQueue.reset();
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package co.eci.snake.core;
+
+/**
+ * Reusable lookahead queries over a {@link Board}: which cells a head can reach
+ * within k moves, and which cells any of a set of heads can reach (the danger map).
+ * Instances keep their own scratch bitboards, so a bot can call them every tick
+ * without allocating. An instance is not thread-safe; keep one per runner.
+ */
+public final class Reachability {
+  private final Board board;
+  private final BitBoard blocked;
+  private final BitBoard reach;
+  private final BitBoard danger;
+
+  public Reachability(Board board) {
+    this.board = board;
+    this.blocked = new BitBoard(board.width(), board.height());
+    this.reach = new BitBoard(board.width(), board.height());
+    this.danger = new BitBoard(board.width(), board.height());
+  }
+
+  /** Cells reachable from {@code from} in at most {@code moves} moves. The result is reused by the next call. */
+  public BitBoard reachable(Position from, int moves) {
+    return reachable(from.x(), from.y(), moves);
+  }
+
+  /** As {@link #reachable(Position, int)}, from cell {@code (x, y)}. */
+  public BitBoard reachable(int x, int y, int moves) {
+    board.copyObstaclesInto(blocked);
+    flood(reach, x, y, moves);
+    return reach;
+  }
+
+  /** Number of free cells reachable from {@code from} in at most {@code moves} moves. */
+  public int reachableCount(Position from, int moves) {
+    return reachable(from.x(), from.y(), moves).cardinality();
+  }
+
+  public int reachableCount(int x, int y, int moves) {
+    return reachable(x, y, moves).cardinality();
+  }
+
+  /** Union of the cells reachable by any of {@code heads} in at most {@code moves} moves. */
+  public BitBoard danger(Iterable<Position> heads, int moves) {
+    board.copyObstaclesInto(blocked);
+    danger.clearAll();
+    for (Position h : heads) {
+      if (h == null) continue;
+      flood(reach, h.x(), h.y(), moves);
+      danger.or(reach);
+    }
+    return danger;
+  }
+
+  private void flood(BitBoard out, int x, int y, int moves) {
+    out.clearAll();
+    out.set(x, y);
+    for (int i = 0; i < moves; i++) {
+      boolean grew = out.dilate(blocked);
+      grew |= board.applyTeleports(out);
+      if (!grew) break;
+    }
+  }
+}
@@ -2,17 +2,54 @@ package co.eci.snake.core;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
 
 public final class Snake {
-  private final Deque<Position> body = new ArrayDeque<>();
+  /** Receives body cells from {@link #forEachSegment}, head first ({@code index} 0). */
+  @FunctionalInterface
+  public interface SegmentVisitor {
+    void visit(int index, int x, int y);
+  }
+
+  /** Told when the snake's length changes or it dies; called with the snake's monitor held. */
+  @FunctionalInterface
+  public interface LengthListener {
+    void lengthChanged(int length, boolean alive);
+  }
+
   private volatile Direction direction;
   private int maxLength = 5;
 
   private volatile boolean alive = true;
   private long deathOrder = -1;
+  private long moves = 0;
+
+  // The body as a ring of cells, head at ring[first]; written under seq so readers can
+  // walk it optimistically. A grown ring replaces the array and leaves the old one intact.
+  private final StampedLock seq = new StampedLock();
+  private Position[] ring = new Position[8];
+  private int first;
+  private Position headCell;
+  private int size;
+
+  // Immutable copy of the body handed out by body() until the snake moves again.
+  private volatile List<Position> view;
+
+  private LengthListener listener;
+
+  // Per-thread buffer that forEachSegment copies the body into before validating. It is
+  // taken out while a visit runs, so a visit nested in a visitor gets a buffer of its own.
+  private static final class Scratch {
+    int[] xy = new int[64];
+  }
+
+  private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
 
   private Snake(Position start, Direction dir) {
-    body.addFirst(start);
+    ring[0] = start;
+    this.headCell = start;
+    this.size = 1;
     this.direction = dir;
   }
 
@@ -20,6 +57,20 @@ public final class Snake {
     return new Snake(new Position(x, y), dir);
   }
 
+  /**
+   * A living snake with {@code body} (head first, not empty) that keeps growing until it
+   * is {@code maxLength} long, as saved from {@link #body()} and {@link #maxLength()}.
+   */
+  public static Snake restore(List<Position> body, Direction dir, int maxLength) {
+    if (body.isEmpty()) throw new IllegalArgumentException("body must not be empty");
+    var snake = new Snake(body.get(0), dir);
+    int capacity = Integer.highestOneBit(Math.max(8, body.size()) * 2 - 1);
+    snake.ring = body.toArray(new Position[capacity]);
+    snake.size = body.size();
+    snake.maxLength = Math.max(maxLength, body.size());
+    return snake;
+  }
+
   public Direction direction() { return direction; }
 
   public void turn(Direction dir) {
@@ -33,16 +84,149 @@ public final class Snake {
     this.direction = dir;
   }
 
-  public synchronized Position head() { return body.peekFirst(); }
+  public synchronized Position head() { return headCell; }
 
-  public synchronized Deque<Position> snapshot() { return new ArrayDeque<>(body); }
+  /** A fresh, mutable copy of the body, head first. Prefer {@link #body()} or {@link #forEachSegment}. */
+  public synchronized Deque<Position> snapshot() {
+    var copy = new ArrayDeque<Position>(size);
+    int mask = ring.length - 1;
+    for (int i = 0; i < size; i++) copy.addLast(ring[(first + i) & mask]);
+    return copy;
+  }
+
+  /**
+   * The body, head first, as an immutable list. The same list is returned until the
+   * snake moves again, so reading an idle or dead snake costs nothing.
+   */
+  public List<Position> body() {
+    List<Position> cached = view;
+    if (cached != null) return cached;
+    synchronized (this) {
+      if (view == null) {
+        var cells = new Position[size];
+        int mask = ring.length - 1;
+        for (int i = 0; i < size; i++) cells[i] = ring[(first + i) & mask];
+        view = List.of(cells);
+      }
+      return view;
+    }
+  }
+
+  /**
+   * Passes every body cell, head first, to {@code visitor} and returns how many were
+   * visited. The body is read optimistically into a per-thread buffer and only visited
+   * once the read is known to be consistent; if the snake moved meanwhile, it is visited
+   * under a read lock instead. Either way the visitor sees one whole body, once.
+   * <p>
+   * The visitor may itself visit other snakes; such nested visits allocate their own
+   * buffer instead of reusing the thread's.
+   */
+  public int forEachSegment(SegmentVisitor visitor) {
+    long stamp = seq.tryOptimisticRead();
+    if (stamp != 0) {
+      Position[] cells = ring;
+      int start = first, n = size, mask = cells.length - 1;
+      if (n <= cells.length) {
+        Scratch scratch = SCRATCH.get();
+        int[] xy = scratch.xy;
+        scratch.xy = null;
+        if (xy == null) xy = new int[Math.max(2 * n, 64)];
+        else if (xy.length < 2 * n) xy = new int[Math.max(2 * n, xy.length * 2)];
+        try {
+          int i = 0;
+          for (; i < n; i++) {
+            Position p = cells[(start + i) & mask];
+            if (p == null) break;
+            xy[2 * i] = p.x();
+            xy[2 * i + 1] = p.y();
+          }
+          if (i == n && seq.validate(stamp)) {
+            for (i = 0; i < n; i++) visitor.visit(i, xy[2 * i], xy[2 * i + 1]);
+            return n;
+          }
+        } finally {
+          scratch.xy = xy;
+        }
+      }
+    }
+    stamp = seq.readLock();
+    try {
+      int mask = ring.length - 1;
+      for (int i = 0; i < size; i++) {
+        Position p = ring[(first + i) & mask];
+        visitor.visit(i, p.x(), p.y());
+      }
+      return size;
+    } finally {
+      seq.unlockRead(stamp);
+    }
+  }
 
   public synchronized void advance(Position newHead, boolean grow) {
     if (!alive) return;
 
-    body.addFirst(newHead);
-    if (grow) maxLength++;
-    while (body.size() > maxLength) body.removeLast();
+    int before = size;
+    long stamp = seq.writeLock();
+    try {
+      if (size == ring.length) {
+        var bigger = new Position[ring.length * 2];
+        for (int i = 0; i < size; i++) bigger[i] = ring[(first + i) & (ring.length - 1)];
+        ring = bigger;
+        first = 0;
+      }
+      int mask = ring.length - 1;
+      first = (first - 1) & mask;
+      ring[first] = newHead;
+      size++;
+      moves++;
+      if (grow) maxLength++;
+      while (size > maxLength) ring[(first + --size) & mask] = null;
+      headCell = newHead;
+      view = null;
+    } finally {
+      seq.unlockWrite(stamp);
+    }
+    if (size != before && listener != null) listener.lengthChanged(size, true);
+  }
+
+  /**
+   * Reads head x, head y, length and alive (1 or 0) into {@code out[offset..offset+3]}
+   * without blocking, and returns the stamp to check with {@link #validate}. The values
+   * are only meaningful if that check passes; a zero stamp means the snake was being
+   * moved and nothing was read.
+   */
+  public long readOptimistic(int[] out, int offset) {
+    long stamp = seq.tryOptimisticRead();
+    if (stamp == 0) return 0;
+    Position h = headCell;
+    out[offset] = h.x();
+    out[offset + 1] = h.y();
+    out[offset + 2] = size;
+    out[offset + 3] = alive ? 1 : 0;
+    return stamp;
+  }
+
+  /** Whether the snake has not moved or died since {@code stamp} was taken. */
+  public boolean validate(long stamp) {
+    return stamp != 0 && seq.validate(stamp);
+  }
+
+  /** Number of times the snake has advanced since it was created. */
+  public synchronized long moves() { return moves; }
+
+  /**
+   * Copies up to {@code max} cells, head first, into {@code xy} as consecutive
+   * x, y pairs and returns how many cells were copied.
+   */
+  public synchronized int newestCells(int max, int[] xy) {
+    int n = Math.min(max, size);
+    int mask = ring.length - 1;
+    for (int i = 0; i < n; i++) {
+      Position p = ring[(first + i) & mask];
+      xy[2 * i] = p.x();
+      xy[2 * i + 1] = p.y();
+    }
+    return n;
   }
 
   public boolean isAlive() {
@@ -50,8 +234,29 @@ public final class Snake {
   }
 
   public synchronized void markDead(long order) {
-    this.alive = false;
-    this.deathOrder = order;
+    boolean wasAlive = alive;
+    long stamp = seq.writeLock();
+    try {
+      this.alive = false;
+      this.deathOrder = order;
+    } finally {
+      seq.unlockWrite(stamp);
+    }
+    if (wasAlive && listener != null) listener.lengthChanged(size, false);
+  }
+
+  /**
+   * Sets the listener told about length changes and death, and tells it the current
+   * length and state before any later change. {@code null} removes the listener.
+   *
+   * @throws IllegalStateException if another listener is already set
+   */
+  public synchronized void setLengthListener(LengthListener listener) {
+    if (listener != null && this.listener != null) {
+      throw new IllegalStateException("Snake already has a length listener");
+    }
+    this.listener = listener;
+    if (listener != null) listener.lengthChanged(size, alive);
   }
 
   public long deathOrder() {
@@ -59,6 +264,11 @@ public final class Snake {
   }
 
   public synchronized int length() {
-    return body.size();
+    return size;
+  }
+
+  /** The length the body grows to; above {@link #length()} while a mouse is being digested. */
+  public synchronized int maxLength() {
+    return maxLength;
   }
 }
@@ -0,0 +1,92 @@
+package co.eci.snake.core.engine;
+
+import co.eci.snake.core.Board;
+
+import java.util.Arrays;
+
+/**
+ * Immutable picture of the game at one tick, built by {@link SnapshotRecorder}.
+ * <p>
+ * Bodies are not copied per snapshot. Each snake's cells live in an append-only log
+ * of fixed-size chunks owned by the recorder; a snapshot only keeps references to the
+ * chunks its bodies span plus where the body starts and ends. Chunk cells are never
+ * rewritten, so consecutive snapshots share them, and taking a snapshot costs the new
+ * head cells plus a small descriptor per snake that moved. Item sets are shared the
+ * same way while the board's items do not change.
+ * <p>
+ * Unlike {@link GameSnapshot} nothing here refers to live {@code Snake}s, so the values
+ * never change after capture.
+ */
+public final class CompactSnapshot {
+  static final int CHUNK_BITS = 5;
+  static final int CHUNK = 1 << CHUNK_BITS;
+
+  /** One snake's body: {@code length} cells starting {@code offset} cells into {@code chunks[0]}, tail first. */
+  record Body(int[][] chunks, int offset, int length, boolean alive) {}
+
+  private final long tick;
+  private final int width;
+  private final int height;
+  private final Body[] bodies;
+  private final int[][] items;
+  private final int worst;
+  private final long addedBytes;
+
+  CompactSnapshot(long tick, int width, int height, Body[] bodies, int[][] items, int worst, long addedBytes) {
+    this.tick = tick;
+    this.width = width;
+    this.height = height;
+    this.bodies = bodies;
+    this.items = items;
+    this.worst = worst;
+    this.addedBytes = addedBytes;
+  }
+
+  public long tick() { return tick; }
+  public int width() { return width; }
+  public int height() { return height; }
+  public int snakeCount() { return bodies.length; }
+  public boolean isAlive(int snake) { return bodies[snake].alive(); }
+  public int length(int snake) { return bodies[snake].length(); }
+
+  /** X of the {@code k}-th body cell of {@code snake}, counting from the head. */
+  public int cellX(int snake, int k) { return cell(snake, k) % width; }
+
+  public int cellY(int snake, int k) { return cell(snake, k) / width; }
+
+  private int cell(int snake, int k) {
+    Body b = bodies[snake];
+    if (k < 0 || k >= b.length()) throw new IndexOutOfBoundsException(k);
+    int i = b.offset() + b.length() - 1 - k;
+    return b.chunks()[i >>> CHUNK_BITS][i & (CHUNK - 1)];
+  }
+
+  /** Index of the longest living snake, or -1 if none is alive. Ties go to the lowest index. */
+  public int longestAlive() {
+    int best = -1;
+    for (int i = 0; i < bodies.length; i++) {
+      if (bodies[i].alive() && (best < 0 || bodies[i].length() > bodies[best].length())) best = i;
+    }
+    return best;
+  }
+
+  /** Index of the first snake to die, or -1 if none had died at this tick. */
+  public int worst() { return worst; }
+
+  public boolean hasItem(Board.Item item, int x, int y) {
+    return Arrays.binarySearch(items[item.ordinal()], y * width + x) >= 0;
+  }
+
+  public int itemCount(Board.Item item) { return items[item.ordinal()].length; }
+
+  /**
+   * Estimated bytes this snapshot added on top of the one before it: new chunks, body
+   * descriptors and any item sets that changed. Shared data is counted once, by the
+   * snapshot that created it.
+   */
+  public long addedBytes() { return addedBytes; }
+
+  Body body(int snake) { return bodies[snake]; }
+
+  int[][] items() { return items; }
+}
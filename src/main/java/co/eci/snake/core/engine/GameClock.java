@@ -3,33 +3,54 @@ package co.eci.snake.core.engine;
 import co.eci.snake.core.GameState;
 
 import java.util.Objects;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 public final class GameClock implements AutoCloseable {
-  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  private final TimeSource time;
   private final long periodMillis;
   private final Runnable tick;
-  private final java.util.concurrent.atomic.AtomicReference<GameState> state = new AtomicReference<>(GameState.STOPPED);
+  private final AtomicReference<GameState> state = new AtomicReference<>(GameState.STOPPED);
+  private Thread thread;
 
   public GameClock(long periodMillis, Runnable tick) {
+    this(periodMillis, tick, TimeSource.system());
+  }
+
+  /** Ticks at a fixed rate measured on {@code time}: a late tick is followed by the ones it delayed. */
+  public GameClock(long periodMillis, Runnable tick, TimeSource time) {
     if (periodMillis <= 0) throw new IllegalArgumentException("periodMillis must be > 0");
     this.periodMillis = periodMillis;
-    this.tick = java.util.Objects.requireNonNull(tick, "tick");
+    this.tick = Objects.requireNonNull(tick, "tick");
+    this.time = Objects.requireNonNull(time, "time");
   }
 
-  public void start() {
-    if (state.compareAndSet(GameState.STOPPED, GameState.RUNNING)) {
-      scheduler.scheduleAtFixedRate(() -> {
+  public synchronized void start() {
+    if (state.compareAndSet(GameState.STOPPED, GameState.RUNNING) && thread == null) {
+      thread = Thread.ofPlatform().name("game-clock").start(time.participant(this::run));
+    }
+  }
+
+  private void run() {
+    long period = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+    long next = time.nanoTime();
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
         if (state.get() == GameState.RUNNING) tick.run();
-      }, 0, periodMillis, TimeUnit.MILLISECONDS);
+        next += period;
+        long wait = next - time.nanoTime();
+        if (wait > 0) time.sleepNanos(wait);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
     }
   }
 
   public void pause()  { state.set(GameState.PAUSED); }
   public void resume() { state.set(GameState.RUNNING); }
   public void stop()   { state.set(GameState.STOPPED); }
-  @Override public void close() { scheduler.shutdownNow(); }
+
+  @Override public synchronized void close() {
+    if (thread != null) thread.interrupt();
+  }
 }
@@ -4,11 +4,13 @@ import co.eci.snake.core.Snake;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public final class GameStats {
 
     private final AtomicLong deathCounter = new AtomicLong(0);
     private final ConcurrentHashMap<Snake, Long> deaths = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Snake, LongAdder> mice = new ConcurrentHashMap<>();
 
     public long registerDeath(Snake snake) {
         Long existingOrder = deaths.get(snake);
@@ -28,4 +30,13 @@ public final class GameStats {
                 .map(e -> e.getKey())
                 .orElse(null);
     }
+
+    public void registerMouse(Snake snake) {
+        mice.computeIfAbsent(snake, s -> new LongAdder()).increment();
+    }
+
+    public long miceEaten(Snake snake) {
+        LongAdder eaten = mice.get(snake);
+        return eaten == null ? 0 : eaten.sum();
+    }
 }
@@ -0,0 +1,205 @@
+package co.eci.snake.core.engine;
+
+import co.eci.snake.core.Snake;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Living snakes ranked by length, kept up to date as they grow and die instead of being
+ * sorted on demand. Snakes are referred to by their index in the list given to the
+ * constructor; longer snakes rank first and equal lengths go to the lowest index, as in
+ * {@link LiveSnapshot#longestAlive()}.
+ * <p>
+ * The ranking is a treap with one node per snake, stored in parallel arrays and keyed by
+ * (length, index), with subtree sizes for order statistics. A length change removes the
+ * node and inserts it again; {@link #rank}, {@link #snakeAt} and {@link #longestAlive}
+ * take O(log n) and {@link #top} O(k + log n), with nothing allocated along the way.
+ * <p>
+ * Updates come from {@link Snake.LengthListener}, so a snake only costs anything when
+ * its length changes: while it grows and when it dies. Each snake has one listener, so
+ * a snake can be ranked by one leaderboard at a time; building a second one over the
+ * same snakes throws {@link IllegalStateException}.
+ */
+public final class Leaderboard {
+  private static final int NONE = -1;
+
+  private final int[] left;
+  private final int[] right;
+  private final int[] subtree;
+  private final int[] priority;
+  private final int[] lengths;
+  private final boolean[] ranked;
+  private int root = NONE;
+  private int splitLeft, splitRight;
+
+  public Leaderboard(List<Snake> snakes) {
+    int n = snakes.size();
+    left = new int[n];
+    right = new int[n];
+    subtree = new int[n];
+    priority = new int[n];
+    lengths = new int[n];
+    ranked = new boolean[n];
+    Arrays.fill(left, NONE);
+    Arrays.fill(right, NONE);
+    for (int i = 0; i < n; i++) priority[i] = mix(i);
+    int i = 0;
+    try {
+      for (; i < n; i++) {
+        int index = i;
+        snakes.get(i).setLengthListener((length, alive) -> update(index, length, alive));
+      }
+    } catch (IllegalStateException e) {
+      while (--i >= 0) snakes.get(i).setLengthListener(null);
+      throw e;
+    }
+  }
+
+  /** Living snakes on the board. */
+  public synchronized int aliveCount() { return size(root); }
+
+  /** The length last reported for snake {@code index}. */
+  public synchronized int length(int index) { return lengths[index]; }
+
+  /** Index of the longest living snake, or -1 if none is alive. */
+  public synchronized int longestAlive() {
+    int t = root;
+    if (t == NONE) return NONE;
+    while (left[t] != NONE) t = left[t];
+    return t;
+  }
+
+  /** Position of snake {@code index}, 1 for the longest, or 0 if it is dead. */
+  public synchronized int rank(int index) {
+    if (!ranked[index]) return 0;
+    int before = 0;
+    int t = root;
+    while (t != index) {
+      if (precedes(index, t)) {
+        t = left[t];
+      } else {
+        before += size(left[t]) + 1;
+        t = right[t];
+      }
+    }
+    return before + size(left[index]) + 1;
+  }
+
+  /** Index of the snake at {@code rank} (1-based), or -1 if fewer snakes are alive. */
+  public synchronized int snakeAt(int rank) {
+    if (rank < 1 || rank > size(root)) return NONE;
+    int t = root;
+    while (true) {
+      int l = size(left[t]);
+      if (rank == l + 1) return t;
+      if (rank <= l) {
+        t = left[t];
+      } else {
+        rank -= l + 1;
+        t = right[t];
+      }
+    }
+  }
+
+  /**
+   * Writes the indices of the {@code out.length} longest living snakes into {@code out},
+   * longest first, and returns how many were written.
+   */
+  public synchronized int top(int[] out) {
+    return collect(root, out, 0);
+  }
+
+  private int collect(int t, int[] out, int n) {
+    if (t == NONE || n == out.length) return n;
+    n = collect(left[t], out, n);
+    if (n == out.length) return n;
+    out[n++] = t;
+    return collect(right[t], out, n);
+  }
+
+  private synchronized void update(int index, int length, boolean alive) {
+    if (ranked[index]) root = remove(root, index);
+    lengths[index] = length;
+    ranked[index] = alive;
+    if (alive) {
+      left[index] = right[index] = NONE;
+      subtree[index] = 1;
+      root = insert(root, index);
+    }
+  }
+
+  /** Whether snake {@code a} ranks ahead of snake {@code b}. */
+  private boolean precedes(int a, int b) {
+    return lengths[a] > lengths[b] || (lengths[a] == lengths[b] && a < b);
+  }
+
+  private int insert(int t, int x) {
+    if (t == NONE) return x;
+    if (priority[x] > priority[t]) {
+      split(t, x);
+      left[x] = splitLeft;
+      right[x] = splitRight;
+      pull(x);
+      return x;
+    }
+    if (precedes(x, t)) left[t] = insert(left[t], x);
+    else right[t] = insert(right[t], x);
+    pull(t);
+    return t;
+  }
+
+  /** Splits {@code t} into the nodes ranked ahead of {@code x} and the rest. */
+  private void split(int t, int x) {
+    if (t == NONE) {
+      splitLeft = splitRight = NONE;
+    } else if (precedes(t, x)) {
+      split(right[t], x);
+      right[t] = splitLeft;
+      pull(t);
+      splitLeft = t;
+    } else {
+      split(left[t], x);
+      left[t] = splitRight;
+      pull(t);
+      splitRight = t;
+    }
+  }
+
+  private int remove(int t, int x) {
+    if (t == x) return merge(left[t], right[t]);
+    if (precedes(x, t)) left[t] = remove(left[t], x);
+    else right[t] = remove(right[t], x);
+    pull(t);
+    return t;
+  }
+
+  private int merge(int a, int b) {
+    if (a == NONE) return b;
+    if (b == NONE) return a;
+    if (priority[a] > priority[b]) {
+      right[a] = merge(right[a], b);
+      pull(a);
+      return a;
+    }
+    left[b] = merge(a, left[b]);
+    pull(b);
+    return b;
+  }
+
+  private void pull(int t) {
+    subtree[t] = size(left[t]) + size(right[t]) + 1;
+  }
+
+  private int size(int t) {
+    return t == NONE ? 0 : subtree[t];
+  }
+
+  /** Heap priority for node {@code i}; a fixed hash, so the tree shape does not depend on timing. */
+  private static int mix(int i) {
+    long z = i * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return (int) (z ^ (z >>> 31));
+  }
+}
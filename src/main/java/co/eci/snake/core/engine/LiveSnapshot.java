@@ -0,0 +1,115 @@
+package co.eci.snake.core.engine;
+
+import co.eci.snake.core.Snake;
+
+import java.util.List;
+
+/**
+ * Heads, lengths and alive flags of every snake as of one instant, taken without
+ * stopping the runners.
+ * <p>
+ * Each snake is read optimistically (see {@link Snake#readOptimistic}); once all are
+ * read, every stamp is checked again. If none changed, no snake moved between its read
+ * and the check, so the values are those of all snakes at the moment the check began.
+ * If any changed, the whole read is retried. Readers never block writers; with very
+ * many snakes moving at once the retries can keep failing, so after
+ * {@code maxAttempts} the snapshot settles for values that are each consistent per
+ * snake and reports {@link #isAtomic()} {@code false}.
+ * <p>
+ * Unlike {@link GameSnapshot} the values are copied, so they do not change afterwards.
+ */
+public final class LiveSnapshot {
+  public static final int DEFAULT_MAX_ATTEMPTS = 16;
+
+  private static final int FIELDS = 4;
+
+  private final int[] values;
+  private final int count;
+  private final int worstIndex;
+  private boolean atomic;
+  private int attempts;
+
+  private LiveSnapshot(int count, int worstIndex) {
+    this.values = new int[count * FIELDS];
+    this.count = count;
+    this.worstIndex = worstIndex;
+  }
+
+  public static LiveSnapshot capture(List<Snake> snakes, GameStats stats) {
+    return capture(snakes, stats, DEFAULT_MAX_ATTEMPTS);
+  }
+
+  public static LiveSnapshot capture(List<Snake> snakes, GameStats stats, int maxAttempts) {
+    if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be >= 1");
+    Snake worst = stats == null ? null : stats.worstSnake();
+    var snap = new LiveSnapshot(snakes.size(), worst == null ? -1 : snakes.indexOf(worst));
+    long[] stamps = new long[snap.count];
+
+    while (snap.attempts < maxAttempts) {
+      snap.attempts++;
+      for (int i = 0; i < snap.count; i++) {
+        stamps[i] = readOne(snakes.get(i), snap.values, i * FIELDS);
+      }
+      if (allValid(snakes, stamps)) {
+        snap.atomic = true;
+        return snap;
+      }
+      Thread.onSpinWait();
+    }
+    // Too much movement for an atomic cut: keep each snake's own read consistent.
+    for (int i = 0; i < snap.count; i++) {
+      Snake s = snakes.get(i);
+      while (!s.validate(stamps[i])) {
+        stamps[i] = readOne(s, snap.values, i * FIELDS);
+      }
+    }
+    return snap;
+  }
+
+  private static long readOne(Snake s, int[] out, int offset) {
+    long stamp;
+    while ((stamp = s.readOptimistic(out, offset)) == 0) {
+      Thread.onSpinWait();
+    }
+    return stamp;
+  }
+
+  private static boolean allValid(List<Snake> snakes, long[] stamps) {
+    for (int i = 0; i < stamps.length; i++) {
+      if (!snakes.get(i).validate(stamps[i])) return false;
+    }
+    return true;
+  }
+
+  public int size() { return count; }
+  public int headX(int i) { return values[i * FIELDS]; }
+  public int headY(int i) { return values[i * FIELDS + 1]; }
+  public int length(int i) { return values[i * FIELDS + 2]; }
+  public boolean isAlive(int i) { return values[i * FIELDS + 3] != 0; }
+
+  /** Whether all snakes were read as of the same instant. */
+  public boolean isAtomic() { return atomic; }
+
+  /** Read passes it took; 1 means no snake moved while it was being read. */
+  public int attempts() { return attempts; }
+
+  /** Index of the longest living snake, or -1 if none is alive. Ties go to the lowest index. */
+  public int longestAlive() {
+    int best = -1;
+    for (int i = 0; i < count; i++) {
+      if (isAlive(i) && (best < 0 || length(i) > length(best))) best = i;
+    }
+    return best;
+  }
+
+  /** Index of the first snake to die, or -1 if none has died. */
+  public int worst() { return worstIndex; }
+
+  public int aliveCount() {
+    int n = 0;
+    for (int i = 0; i < count; i++) {
+      if (isAlive(i)) n++;
+    }
+    return n;
+  }
+}
@@ -0,0 +1,70 @@
+package co.eci.snake.core.engine;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * The most recent {@link CompactSnapshot}s of a game, bounded both by count and by an
+ * estimated memory budget, for rewinding and inspecting past ticks.
+ * <p>
+ * Retained bytes are the sum of each kept snapshot's {@link CompactSnapshot#addedBytes()};
+ * since later snapshots share chunks with earlier ones, this is an estimate of what the
+ * history keeps alive rather than an exact measure. When either bound is exceeded the
+ * oldest snapshots are dropped, but the latest one is always kept.
+ */
+public final class SnapshotHistory {
+  private final int maxSnapshots;
+  private final long maxBytes;
+  private final ArrayDeque<CompactSnapshot> snapshots = new ArrayDeque<>();
+  private long retainedBytes;
+
+  public SnapshotHistory(int maxSnapshots, long maxBytes) {
+    if (maxSnapshots <= 0) throw new IllegalArgumentException("maxSnapshots must be positive");
+    if (maxBytes <= 0) throw new IllegalArgumentException("maxBytes must be positive");
+    this.maxSnapshots = maxSnapshots;
+    this.maxBytes = maxBytes;
+  }
+
+  public synchronized void add(CompactSnapshot snapshot) {
+    CompactSnapshot last = snapshots.peekLast();
+    if (last != null && snapshot.tick() <= last.tick()) {
+      throw new IllegalArgumentException("Snapshot tick " + snapshot.tick() + " is not after " + last.tick());
+    }
+    snapshots.addLast(snapshot);
+    retainedBytes += snapshot.addedBytes();
+    while (snapshots.size() > 1 && (snapshots.size() > maxSnapshots || retainedBytes > maxBytes)) {
+      retainedBytes -= snapshots.removeFirst().addedBytes();
+    }
+  }
+
+  public synchronized int size() { return snapshots.size(); }
+
+  public synchronized long retainedBytes() { return retainedBytes; }
+
+  public synchronized CompactSnapshot latest() { return snapshots.peekLast(); }
+
+  public synchronized CompactSnapshot oldest() { return snapshots.peekFirst(); }
+
+  /** The snapshot {@code back} entries before the latest, or {@code null} if not kept. */
+  public synchronized CompactSnapshot rewind(int back) {
+    if (back < 0) throw new IllegalArgumentException("back must not be negative");
+    if (back >= snapshots.size()) return null;
+    Iterator<CompactSnapshot> it = snapshots.descendingIterator();
+    for (int i = 0; i < back; i++) it.next();
+    return it.next();
+  }
+
+  /** The latest snapshot taken at or before {@code tick}, or {@code null} if none is kept. */
+  public synchronized CompactSnapshot at(long tick) {
+    for (Iterator<CompactSnapshot> it = snapshots.descendingIterator(); it.hasNext(); ) {
+      CompactSnapshot s = it.next();
+      if (s.tick() <= tick) return s;
+    }
+    return null;
+  }
+
+  public synchronized void clear() {
+    snapshots.clear();
+    retainedBytes = 0;
+  }
+}
@@ -0,0 +1,154 @@
+package co.eci.snake.core.engine;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Takes successive {@link CompactSnapshot}s of one game, sharing everything that did
+ * not change since the previous capture.
+ * <p>
+ * For each snake the recorder appends new head cells to a log split into chunks of
+ * {@value CompactSnapshot#CHUNK_BITS}-bit size; a chunk is never written again below
+ * the log's end, so snapshots can keep referring to it. Chunks that fall entirely
+ * behind a snake's tail are dropped from the log and freed once no snapshot in use
+ * refers to them. Snakes that neither moved nor died reuse their previous body
+ * descriptor, and item sets are only re-read when the board's item journal moved.
+ * <p>
+ * Each snake is read under its own monitor, so every body is consistent; a capture
+ * taken while runners are moving is not one instant across snakes. Capturing between
+ * {@code GameSession.stepAll()} calls, or while paused, gives an exact tick. Not
+ * thread-safe: use one thread per recorder.
+ */
+public final class SnapshotRecorder {
+  private static final int MASK = CompactSnapshot.CHUNK - 1;
+  private static final int CHUNK_BYTES = 16 + 4 * CompactSnapshot.CHUNK;
+
+  private final Board board;
+  private final List<Snake> snakes;
+  private final GameStats stats;
+  private final BodyLog[] logs;
+
+  private CompactSnapshot.Body[] lastBodies;
+  private int[][] lastItems;
+  private long itemsJournal = -1;
+  private int[] cells = new int[64];
+
+  public SnapshotRecorder(Board board, List<Snake> snakes, GameStats stats) {
+    this.board = Objects.requireNonNull(board, "board");
+    this.snakes = List.copyOf(snakes);
+    this.stats = stats;
+    this.logs = new BodyLog[this.snakes.size()];
+    for (int i = 0; i < logs.length; i++) logs[i] = new BodyLog();
+  }
+
+  public CompactSnapshot capture(long tick) {
+    long added = 48;
+    var bodies = new CompactSnapshot.Body[snakes.size()];
+    for (int i = 0; i < bodies.length; i++) {
+      Snake s = snakes.get(i);
+      BodyLog log = logs[i];
+      synchronized (s) {
+        long moves = s.moves();
+        boolean alive = s.isAlive();
+        int length = s.length();
+        CompactSnapshot.Body prev = lastBodies == null ? null : lastBodies[i];
+        if (prev != null && moves == log.moves && alive == prev.alive() && length == prev.length()) {
+          bodies[i] = prev;
+          continue;
+        }
+        long moved = moves - log.moves;
+        int fresh = prev == null || moved > length ? length : (int) moved;
+        if (cells.length < 2 * fresh) cells = new int[Math.max(2 * fresh, cells.length * 2)];
+        s.newestCells(fresh, cells);
+        for (int k = fresh - 1; k >= 0; k--) {
+          added += log.append(cells[2 * k + 1] * board.width() + cells[2 * k]);
+        }
+        log.moves = moves;
+        log.trim(length);
+        bodies[i] = log.body(length, alive);
+        added += 32 + 8L * bodies[i].chunks().length;
+      }
+    }
+
+    long journal = board.journalPosition();
+    if (journal != itemsJournal || lastItems == null) {
+      synchronized (board) {
+        itemsJournal = board.journalPosition();
+        lastItems = new int[][] {cellsOf(board.mice()), cellsOf(board.obstacles()), cellsOf(board.turbo())};
+      }
+      for (int[] a : lastItems) added += 16 + 4L * a.length;
+    }
+
+    Snake worstSnake = stats == null ? null : stats.worstSnake();
+    int worst = worstSnake == null ? -1 : snakes.indexOf(worstSnake);
+    lastBodies = bodies;
+    return new CompactSnapshot(tick, board.width(), board.height(), bodies, lastItems, worst,
+        added + 16 + 4L * bodies.length);
+  }
+
+  private int[] cellsOf(Set<Position> items) {
+    int[] out = new int[items.size()];
+    int n = 0;
+    for (Position p : items) out[n++] = p.y() * board.width() + p.x();
+    Arrays.sort(out);
+    return out;
+  }
+
+  /** Append-only cell log of one snake, oldest first. */
+  private static final class BodyLog {
+    int[][] chunks = new int[4][];
+    int firstChunk;
+    int chunkCount;
+    long start;
+    long end;
+    long moves;
+
+    /** Appends a cell; returns the bytes allocated for it. */
+    long append(int cell) {
+      int idx = (int) (end - start);
+      int c = idx >>> CompactSnapshot.CHUNK_BITS;
+      long allocated = 0;
+      if (c == chunkCount) {
+        if (firstChunk + chunkCount == chunks.length) {
+          if (firstChunk > 0) {
+            System.arraycopy(chunks, firstChunk, chunks, 0, chunkCount);
+            Arrays.fill(chunks, chunkCount, chunks.length, null);
+          } else {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+          }
+          firstChunk = 0;
+        }
+        chunks[firstChunk + chunkCount++] = new int[CompactSnapshot.CHUNK];
+        allocated = CHUNK_BYTES;
+      }
+      chunks[firstChunk + c][idx & MASK] = cell;
+      end++;
+      return allocated;
+    }
+
+    /** Drops whole chunks that lie before the last {@code length} cells. */
+    void trim(int length) {
+      long bodyStart = Math.max(start, end - length);
+      while (chunkCount > 1 && bodyStart - start >= CompactSnapshot.CHUNK) {
+        chunks[firstChunk++] = null;
+        chunkCount--;
+        start += CompactSnapshot.CHUNK;
+      }
+    }
+
+    CompactSnapshot.Body body(int length, boolean alive) {
+      int n = (int) Math.min(length, end - start);
+      int offset = (int) (end - n - start);
+      int first = offset >>> CompactSnapshot.CHUNK_BITS;
+      int last = n == 0 ? first : (offset + n - 1) >>> CompactSnapshot.CHUNK_BITS;
+      int[][] span = Arrays.copyOfRange(chunks, firstChunk + first, firstChunk + last + 1);
+      return new CompactSnapshot.Body(span, offset & MASK, n, alive);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package co.eci.snake.core.engine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where game pacing code reads the time and waits. {@link #system()} is the real clock;
+ * {@link VirtualTimeSource} lets tests move time forward themselves.
+ */
+public interface TimeSource {
+
+  /** Current time in nanoseconds, with the same meaning as {@link System#nanoTime()}. */
+  long nanoTime();
+
+  /** Blocks the calling thread for {@code nanos} of this source's time. */
+  void sleepNanos(long nanos) throws InterruptedException;
+
+  default void sleep(long millis) throws InterruptedException {
+    sleepNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  /**
+   * Wraps a task that will run on its own thread and wait on this source. A virtual
+   * source counts it from this call until the task returns, so that advancing time
+   * waits for it to go back to sleep. The real clock returns {@code task} unchanged.
+   */
+  default Runnable participant(Runnable task) {
+    return task;
+  }
+
+  static TimeSource system() {
+    return SystemTime.INSTANCE;
+  }
+
+  enum SystemTime implements TimeSource {
+    INSTANCE;
+
+    @Override public long nanoTime() { return System.nanoTime(); }
+
+    @Override public void sleepNanos(long nanos) throws InterruptedException {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package co.eci.snake.core.engine;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link TimeSource} whose time only moves when {@link #advance} is called, so
+ * minutes of play run as fast as the threads can step.
+ * <p>
+ * {@link #advance} wakes sleepers in deadline order. Before each jump it waits until
+ * every {@linkplain #participant participant} is asleep again or has finished, so each
+ * wake-up sees the same time and the same world it would see in real time, only
+ * without the wait. Threads that sleep without being participants are woken on time
+ * but not waited for.
+ * <p>
+ * {@link #advance} must not be called while holding a lock that participants need;
+ * if they do not settle within {@code settleTimeout} of real time it throws
+ * {@link IllegalStateException} instead of hanging.
+ * <p>
+ * Sleepers wait on a {@link ReentrantLock} condition of their own rather than on a
+ * monitor, so virtual-thread participants unmount while asleep instead of pinning
+ * their carrier threads.
+ */
+public final class VirtualTimeSource implements TimeSource {
+  private static final Duration DEFAULT_SETTLE_TIMEOUT = Duration.ofSeconds(10);
+
+  private static final class Sleeper {
+    final long deadline;
+    final long order;
+    final boolean participant;
+    final Condition wake;
+    boolean woken;
+
+    Sleeper(long deadline, long order, boolean participant, Condition wake) {
+      this.deadline = deadline;
+      this.order = order;
+      this.participant = participant;
+      this.wake = wake;
+    }
+  }
+
+  private final PriorityQueue<Sleeper> sleepers = new PriorityQueue<>(
+      Comparator.comparingLong((Sleeper s) -> s.deadline).thenComparingLong(s -> s.order));
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition settled = lock.newCondition();
+  private final ThreadLocal<Boolean> isParticipant = ThreadLocal.withInitial(() -> false);
+  private final long settleTimeoutMillis;
+  private long now;
+  private long order;
+  private int active;
+
+  public VirtualTimeSource() {
+    this(DEFAULT_SETTLE_TIMEOUT);
+  }
+
+  public VirtualTimeSource(Duration settleTimeout) {
+    this.settleTimeoutMillis = settleTimeout.toMillis();
+  }
+
+  @Override
+  public long nanoTime() {
+    lock.lock();
+    try {
+      return now;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void sleepNanos(long nanos) throws InterruptedException {
+    boolean participant = isParticipant.get();
+    lock.lock();
+    try {
+      var s = new Sleeper(now + Math.max(0, nanos), order++, participant, lock.newCondition());
+      sleepers.add(s);
+      if (participant) {
+        active--;
+        settled.signalAll();
+      }
+      try {
+        while (!s.woken) s.wake.await();
+      } catch (InterruptedException e) {
+        if (!s.woken) {
+          sleepers.remove(s);
+          if (participant) active++;
+        }
+        throw e;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Runnable participant(Runnable task) {
+    lock.lock();
+    try {
+      active++;
+    } finally {
+      lock.unlock();
+    }
+    return () -> {
+      isParticipant.set(true);
+      try {
+        task.run();
+      } finally {
+        isParticipant.remove();
+        lock.lock();
+        try {
+          active--;
+          settled.signalAll();
+        } finally {
+          lock.unlock();
+        }
+      }
+    };
+  }
+
+  public void advance(long amount, TimeUnit unit) {
+    advance(unit.toNanos(amount));
+  }
+
+  public void advance(Duration duration) {
+    advance(duration.toNanos());
+  }
+
+  /**
+   * Moves time forward by {@code nanos}, waking every sleeper whose deadline falls in
+   * that span in deadline order and letting participants settle after each wake-up.
+   */
+  public void advance(long nanos) {
+    if (nanos < 0) throw new IllegalArgumentException("Cannot move time backwards");
+    lock.lock();
+    try {
+      long target = now + nanos;
+      while (true) {
+        awaitSettled();
+        Sleeper next = sleepers.peek();
+        if (next == null || next.deadline > target) break;
+        now = Math.max(now, next.deadline);
+        while ((next = sleepers.peek()) != null && next.deadline <= now) {
+          sleepers.poll();
+          next.woken = true;
+          if (next.participant) active++;
+          next.wake.signal();
+        }
+      }
+      now = target;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Participants currently running, that is, not asleep on this source. */
+  public int running() {
+    lock.lock();
+    try {
+      return active;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Threads currently asleep on this source. */
+  public int sleeping() {
+    lock.lock();
+    try {
+      return sleepers.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void awaitSettled() {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settleTimeoutMillis);
+    try {
+      while (active > 0) {
+        long left = deadline - System.nanoTime();
+        if (left <= 0) {
+          throw new IllegalStateException(active + " participant(s) did not go back to sleep");
+        }
+        settled.awaitNanos(left);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for participants", e);
+    }
+  }
+}
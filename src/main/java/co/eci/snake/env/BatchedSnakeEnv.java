@@ -0,0 +1,308 @@
+package co.eci.snake.env;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+
+import java.io.Serial;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * {@code K} independent one-snake games advanced in lockstep, for training bot policies.
+ * <p>
+ * {@link #reset} and {@link #step} write into arrays owned by the caller and indexed by
+ * environment. Per-environment state lives in parallel arrays rather than one object per
+ * environment, and {@link #step} splits the environments into chunks stepped in
+ * parallel on the common pool by one task per chunk, built once and forked again every
+ * step. Beyond what {@link Board#step} itself allocates, a step allocates nothing except
+ * when an episode ends and its board is rebuilt.
+ * <p>
+ * Actions are {@link Direction} ordinals, or {@code -1} to keep going straight; turning
+ * back onto the body is ignored, as {@link Snake#turn} does. Each step rewards
+ * {@code +1} for a mouse and {@code -1} for hitting an obstacle. An episode is done when
+ * the snake hits an obstacle or after {@code maxSteps} steps; the environment then
+ * resets itself and the observation written is the first one of the new episode.
+ * <p>
+ * Observations are {@link #OBS_SIZE} floats per environment, environment {@code i}
+ * starting at {@code i * OBS_SIZE}:
+ * <pre>
+ *   0-1    head x / width, head y / height
+ *   2-5    current direction, one-hot in ordinal order
+ *   6-9    1 if the neighbouring cell in that direction (ordinal order) is an obstacle
+ *   10-11  shortest wrapped dx / width and dy / height to the nearest mouse, 0 if none
+ *   12     snake length / board cells
+ * </pre>
+ * Episode {@code e} of environment {@code i} is laid out from a stream split off
+ * the environment's own seeded stream, so a given seed and action sequence always
+ * replays the same episodes. Instances are not thread-safe.
+ */
+public final class BatchedSnakeEnv {
+  public static final int OBS_SIZE = 13;
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+  private static final int MIN_CHUNK = 64;
+
+  private final int envs;
+  private final int width;
+  private final int height;
+  private final Board.Items items;
+  private final int maxSteps;
+  private final int chunks;
+  private final Chunk[] tasks;
+  private final IntConsumer resetChunk = this::resetChunk;
+  private final IntConsumer stepChunk = this::stepChunk;
+
+  // Arguments of the call in progress, read by the chunks.
+  private int[] actions;
+  private float[] obs;
+  private float[] rewards;
+  private boolean[] done;
+
+  // Per environment, indexed by environment number.
+  private final SplittableRandom[] randoms;
+  private final Board[] boards;
+  private final Snake[] snakes;
+  private final Board.ItemListener[] listeners;
+  private final long[] cursors;
+  private final int[] steps;
+  private final int[] miceCount;
+  private final int[] mice; // envs x items.mice() cell numbers, first miceCount[i] valid
+
+  public BatchedSnakeEnv(int envs, int width, int height, Board.Items items, int maxSteps, long seed) {
+    this(envs, width, height, items, maxSteps, seed, Runtime.getRuntime().availableProcessors());
+  }
+
+  /** @param parallelism how many chunks to split the environments into; 1 steps them on the caller */
+  public BatchedSnakeEnv(int envs, int width, int height, Board.Items items, int maxSteps, long seed,
+                         int parallelism) {
+    if (envs <= 0) throw new IllegalArgumentException("envs must be > 0");
+    if (width <= 0 || height <= 0) throw new IllegalArgumentException("Board dimensions must be positive");
+    if (maxSteps <= 0) throw new IllegalArgumentException("maxSteps must be > 0");
+    if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be > 0");
+    this.envs = envs;
+    this.width = width;
+    this.height = height;
+    this.items = items;
+    this.maxSteps = maxSteps;
+    this.chunks = Math.max(1, Math.min(parallelism * 4, envs / MIN_CHUNK));
+    this.tasks = new Chunk[chunks];
+    for (int c = 1; c < chunks; c++) tasks[c] = new Chunk(c);
+
+    randoms = new SplittableRandom[envs];
+    boards = new Board[envs];
+    snakes = new Snake[envs];
+    listeners = new Board.ItemListener[envs];
+    cursors = new long[envs];
+    steps = new int[envs];
+    miceCount = new int[envs];
+    mice = new int[envs * items.mice()];
+
+    var root = new SplittableRandom(seed);
+    for (int i = 0; i < envs; i++) {
+      randoms[i] = root.split();
+      int env = i;
+      listeners[i] = (item, x, y, added) -> {
+        if (item == Board.Item.MOUSE) mouseChanged(env, y * width + x, added);
+      };
+    }
+  }
+
+  public int envs() { return envs; }
+  public int width() { return width; }
+  public int height() { return height; }
+
+  /** Starts a new episode in every environment and writes the first observations. */
+  public void reset(float[] obs) {
+    checkLength(obs.length, envs * OBS_SIZE, "obs");
+    this.obs = obs;
+    try {
+      forEachChunk(resetChunk);
+    } finally {
+      this.obs = null;
+    }
+  }
+
+  /**
+   * Applies {@code actions[i]} to environment {@code i} and moves every snake once,
+   * writing the reward, whether the episode ended and the next observation.
+   */
+  public void step(int[] actions, float[] obs, float[] rewards, boolean[] done) {
+    checkLength(actions.length, envs, "actions");
+    checkLength(obs.length, envs * OBS_SIZE, "obs");
+    checkLength(rewards.length, envs, "rewards");
+    checkLength(done.length, envs, "done");
+    if (boards[0] == null) throw new IllegalStateException("Call reset before step");
+    this.actions = actions;
+    this.obs = obs;
+    this.rewards = rewards;
+    this.done = done;
+    try {
+      forEachChunk(stepChunk);
+    } finally {
+      this.actions = null;
+      this.obs = null;
+      this.rewards = null;
+      this.done = null;
+    }
+  }
+
+  private void resetChunk(int c) {
+    for (int i = from(c), end = from(c + 1); i < end; i++) {
+      resetEnv(i);
+      observe(i, obs);
+    }
+  }
+
+  private void stepChunk(int c) {
+    for (int i = from(c), end = from(c + 1); i < end; i++) stepEnv(i, actions[i], obs, rewards, done);
+  }
+
+  /** The board environment {@code i} is currently playing on. */
+  public Board board(int i) { return boards[i]; }
+
+  /** The snake of environment {@code i} in its current episode. */
+  public Snake snake(int i) { return snakes[i]; }
+
+  private void stepEnv(int i, int action, float[] obs, float[] rewards, boolean[] done) {
+    Snake snake = snakes[i];
+    if (action >= 0) snake.turn(DIRECTIONS[action]);
+    var result = boards[i].step(snake);
+    float reward = 0;
+    boolean over = false;
+    if (result == Board.MoveResult.HIT_OBSTACLE) {
+      reward = -1;
+      over = true;
+    } else if (result == Board.MoveResult.ATE_MOUSE) {
+      reward = 1;
+      syncMice(i);
+    }
+    if (++steps[i] >= maxSteps) over = true;
+    rewards[i] = reward;
+    done[i] = over;
+    if (over) resetEnv(i);
+    observe(i, obs);
+  }
+
+  private void resetEnv(int i) {
+    var random = randoms[i].split();
+    var board = new Board(width, height, items, random);
+    int x, y, guard = 0;
+    do {
+      x = random.nextInt(width);
+      y = random.nextInt(height);
+    } while (board.isObstacle(x, y) && ++guard < width * height);
+    boards[i] = board;
+    snakes[i] = Snake.of(x, y, DIRECTIONS[random.nextInt(DIRECTIONS.length)]);
+    steps[i] = 0;
+    miceCount[i] = 0;
+    for (Position p : board.mice()) mouseChanged(i, p.y() * width + p.x(), true);
+    cursors[i] = board.journalPosition();
+  }
+
+  private void syncMice(int i) {
+    long next = boards[i].changesSince(cursors[i], listeners[i]);
+    if (next >= 0) {
+      cursors[i] = next;
+      return;
+    }
+    miceCount[i] = 0;
+    cursors[i] = boards[i].journalPosition();
+    for (Position p : boards[i].mice()) mouseChanged(i, p.y() * width + p.x(), true);
+  }
+
+  private void mouseChanged(int env, int cell, boolean added) {
+    int base = env * items.mice();
+    int n = miceCount[env];
+    if (added) {
+      if (n < items.mice()) mice[base + miceCount[env]++] = cell;
+      return;
+    }
+    for (int k = 0; k < n; k++) {
+      if (mice[base + k] == cell) {
+        mice[base + k] = mice[base + n - 1];
+        miceCount[env]--;
+        return;
+      }
+    }
+  }
+
+  private void observe(int i, float[] obs) {
+    Snake snake = snakes[i];
+    Board board = boards[i];
+    Position head = snake.head();
+    int hx = head.x(), hy = head.y();
+    int o = i * OBS_SIZE;
+    obs[o] = (float) hx / width;
+    obs[o + 1] = (float) hy / height;
+    int dir = snake.direction().ordinal();
+    for (int d = 0; d < 4; d++) {
+      Direction next = DIRECTIONS[d];
+      obs[o + 2 + d] = d == dir ? 1f : 0f;
+      obs[o + 6 + d] = board.isObstacle(Math.floorMod(hx + next.dx, width), Math.floorMod(hy + next.dy, height))
+          ? 1f : 0f;
+    }
+
+    int bestDx = 0, bestDy = 0, best = Integer.MAX_VALUE;
+    for (int k = 0, base = i * items.mice(); k < miceCount[i]; k++) {
+      int cell = mice[base + k];
+      int dx = wrapDelta(cell % width - hx, width);
+      int dy = wrapDelta(cell / width - hy, height);
+      int dist = Math.abs(dx) + Math.abs(dy);
+      if (dist < best) {
+        best = dist;
+        bestDx = dx;
+        bestDy = dy;
+      }
+    }
+    obs[o + 10] = (float) bestDx / width;
+    obs[o + 11] = (float) bestDy / height;
+    obs[o + 12] = (float) snake.length() / (width * height);
+  }
+
+  /** Shortest signed distance from 0 to {@code d} on a ring of {@code size} cells. */
+  private static int wrapDelta(int d, int size) {
+    d = Math.floorMod(d, size);
+    return d > size / 2 ? d - size : d;
+  }
+
+  /** Runs {@code body} for every chunk, chunk 0 on the caller, and returns once all are done. */
+  private void forEachChunk(IntConsumer body) {
+    for (int c = 1; c < chunks; c++) {
+      tasks[c].reinitialize();
+      tasks[c].body = body;
+      tasks[c].fork();
+    }
+    try {
+      body.accept(0);
+    } finally {
+      for (int c = 1; c < chunks; c++) tasks[c].quietlyJoin();
+    }
+    for (int c = 1; c < chunks; c++) tasks[c].join();
+  }
+
+  private final class Chunk extends RecursiveAction {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+    private transient IntConsumer body;
+
+    Chunk(int index) { this.index = index; }
+
+    @Override
+    protected void compute() { body.accept(index); }
+  }
+
+  private int from(int chunk) {
+    return (int) ((long) envs * chunk / chunks);
+  }
+
+  private static void checkLength(int length, int expected, String name) {
+    if (length < expected) {
+      throw new IllegalArgumentException(name + " must hold at least " + expected + " values, got " + length);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package co.eci.snake.ipc;
+
+import co.eci.snake.core.Board;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Binary layout of the memory-mapped game mirror written by {@link SharedStateWriter}
+ * and read by {@link SharedStateReader} or any other local process that maps the file.
+ * All values are little-endian.
+ * <pre>
+ * offset  size  field
+ *      0     4  magic         0x534E4B4D ("SNKM")
+ *      4     4  version       1
+ *      8     8  seq           seqlock counter: odd while a frame is being written
+ *     16     8  tick          tick of the last complete frame
+ *     24     4  width
+ *     28     4  height
+ *     32     4  snakes        number of snake records
+ *     36     4  cellsOffset   start of the cell array (64)
+ *     40     4  snakesOffset  start of the snake records, 8-byte aligned
+ *     44     4  snakeBytes    size of one snake record (16)
+ *     48    16  reserved
+ * cellsOffset:  width * height bytes, row-major (y * width + x), one bit per item:
+ *               MOUSE 1, OBSTACLE 2, TURBO 4, TELEPORT 8
+ * snakesOffset: per snake: headX:int headY:int length:int flags:int (ALIVE 1)
+ * </pre>
+ * Header fields other than {@code seq} and {@code tick} are written once, when the
+ * file is created. To read a consistent frame: read {@code seq}
+ * with acquire semantics and retry while it is odd; read the fields you need; issue a
+ * load fence and read {@code seq} again. The frame is consistent if it did not change.
+ */
+public final class SharedStateLayout {
+  public static final int MAGIC = 0x534E4B4D;
+  public static final int VERSION = 1;
+
+  public static final int MAGIC_OFFSET = 0;
+  public static final int VERSION_OFFSET = 4;
+  public static final int SEQ_OFFSET = 8;
+  public static final int TICK_OFFSET = 16;
+  public static final int WIDTH_OFFSET = 24;
+  public static final int HEIGHT_OFFSET = 28;
+  public static final int SNAKES_OFFSET = 32;
+  public static final int CELLS_START_OFFSET = 36;
+  public static final int SNAKES_START_OFFSET = 40;
+  public static final int SNAKE_BYTES_OFFSET = 44;
+  public static final int HEADER_BYTES = 64;
+
+  public static final int SNAKE_BYTES = 16;
+  public static final int SNAKE_HEAD_X = 0;
+  public static final int SNAKE_HEAD_Y = 4;
+  public static final int SNAKE_LENGTH = 8;
+  public static final int SNAKE_FLAGS = 12;
+
+  public static final int MOUSE = 1;
+  public static final int OBSTACLE = 2;
+  public static final int TURBO = 4;
+  public static final int TELEPORT = 8;
+  public static final int ALIVE = 1;
+
+  /** Ordered access to the {@code long} header fields of a direct buffer. */
+  static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private SharedStateLayout() {}
+
+  /** Offset of the first snake record for a {@code width x height} board. */
+  public static int snakesStart(int width, int height) {
+    return (HEADER_BYTES + width * height + 7) & ~7;
+  }
+
+  /** Total file size for a board of {@code width x height} and {@code snakes} snakes. */
+  public static int fileSize(int width, int height, int snakes) {
+    return snakesStart(width, height) + snakes * SNAKE_BYTES;
+  }
+
+  /** Cell bit for {@code item}. */
+  static int bit(Board.Item item) {
+    return 1 << item.ordinal();
+  }
+}
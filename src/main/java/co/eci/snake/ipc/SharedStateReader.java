@@ -0,0 +1,113 @@
+package co.eci.snake.ipc;
+
+import co.eci.snake.core.Board;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+
+import static co.eci.snake.ipc.SharedStateLayout.*;
+
+/**
+ * Reads a game mirror written by {@link SharedStateWriter}, possibly from another
+ * process. Accessors read the mapped file directly, so nothing is copied; wrap them in
+ * {@link #begin()} and {@link #validate(long)}, or use {@link #read(Function)}, to get
+ * values from a single frame:
+ * <pre>
+ *   long stamp;
+ *   do {
+ *     stamp = reader.begin();
+ *     x = reader.headX(0);
+ *     len = reader.length(0);
+ *   } while (!reader.validate(stamp));
+ * </pre>
+ * Not thread-safe.
+ */
+public final class SharedStateReader {
+  private final MappedByteBuffer buffer;
+  private final int width;
+  private final int height;
+  private final int snakeCount;
+  private final int cellsStart;
+  private final int snakesStart;
+  private final int snakeBytes;
+
+  public SharedStateReader(Path file) throws IOException {
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_BYTES) throw new IOException("Not a game mirror: " + file);
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    if (buffer.getInt(MAGIC_OFFSET) != MAGIC) throw new IOException("Not a game mirror: " + file);
+    int version = buffer.getInt(VERSION_OFFSET);
+    if (version != VERSION) throw new IOException("Unsupported mirror version " + version);
+    width = buffer.getInt(WIDTH_OFFSET);
+    height = buffer.getInt(HEIGHT_OFFSET);
+    snakeCount = buffer.getInt(SNAKES_OFFSET);
+    cellsStart = buffer.getInt(CELLS_START_OFFSET);
+    snakesStart = buffer.getInt(SNAKES_START_OFFSET);
+    snakeBytes = buffer.getInt(SNAKE_BYTES_OFFSET);
+    if ((long) snakesStart + (long) snakeCount * snakeBytes > buffer.capacity()) {
+      throw new IOException("Truncated game mirror: " + file);
+    }
+  }
+
+  /**
+   * Starts reading a frame and returns the stamp to check with {@link #validate}, or 0
+   * if a frame is being written or none has been published yet.
+   */
+  public long begin() {
+    long s = (long) LONGS.getAcquire(buffer, SEQ_OFFSET);
+    return (s & 1) != 0 ? 0 : s;
+  }
+
+  /** Whether nothing was written since {@code stamp}, so the values read in between belong to one frame. */
+  public boolean validate(long stamp) {
+    VarHandle.loadLoadFence();
+    return stamp != 0 && (long) LONGS.getVolatile(buffer, SEQ_OFFSET) == stamp;
+  }
+
+  /** Applies {@code view} to this reader until it sees one complete frame, and returns its result. */
+  public <T> T read(Function<SharedStateReader, T> view) {
+    while (true) {
+      long stamp = begin();
+      if (stamp != 0) {
+        T result = view.apply(this);
+        if (validate(stamp)) return result;
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  /** Frames the writer has completed so far. */
+  public long published() { return (long) LONGS.getAcquire(buffer, SEQ_OFFSET) / 2; }
+
+  public int width() { return width; }
+  public int height() { return height; }
+  public int snakeCount() { return snakeCount; }
+  public long tick() { return buffer.getLong(TICK_OFFSET); }
+
+  public int headX(int snake) { return buffer.getInt(snake(snake) + SNAKE_HEAD_X); }
+  public int headY(int snake) { return buffer.getInt(snake(snake) + SNAKE_HEAD_Y); }
+  public int length(int snake) { return buffer.getInt(snake(snake) + SNAKE_LENGTH); }
+  public boolean isAlive(int snake) { return (buffer.getInt(snake(snake) + SNAKE_FLAGS) & ALIVE) != 0; }
+
+  public boolean hasItem(Board.Item item, int x, int y) { return (cell(x, y) & bit(item)) != 0; }
+
+  public boolean isTeleport(int x, int y) { return (cell(x, y) & TELEPORT) != 0; }
+
+  private int cell(int x, int y) {
+    if (x < 0 || y < 0 || x >= width || y >= height) throw new IndexOutOfBoundsException(x + "," + y);
+    return buffer.get(cellsStart + y * width + x);
+  }
+
+  private int snake(int i) {
+    if (i < 0 || i >= snakeCount) throw new IndexOutOfBoundsException(i);
+    return snakesStart + i * snakeBytes;
+  }
+}
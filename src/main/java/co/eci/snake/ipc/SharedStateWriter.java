@@ -0,0 +1,179 @@
+package co.eci.snake.ipc;
+
+import co.eci.snake.concurrency.GameSession;
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static co.eci.snake.ipc.SharedStateLayout.*;
+
+/**
+ * Mirrors a running game into a memory-mapped file in the {@link SharedStateLayout}
+ * format, so local processes can watch it without sockets or the game's locks.
+ * <p>
+ * The mirror is written by {@link #publish}, typically from a {@code GameClock}, never
+ * from {@code Board.step}: runners do not wait for it. Items are kept up to date from the
+ * board's item journal, so a frame rewrites only the cells that changed plus the records
+ * of snakes that moved or died. Snake heads are read with {@link Snake#readOptimistic}
+ * and fall back to the snake's monitor only if a snake keeps moving under the read.
+ * <p>
+ * {@link #publish} must be called from a single thread.
+ */
+public final class SharedStateWriter implements AutoCloseable {
+  private static final int OPTIMISTIC_ATTEMPTS = 8;
+
+  private final Board board;
+  private final List<Snake> snakes;
+  private final MappedByteBuffer buffer;
+  private final int width;
+  private final int snakesStart;
+  private final int[] last;
+  private final int[] read = new int[4];
+  private final Board.ItemListener cellWriter = this::writeItemChange;
+
+  private long seq;
+  private long journalCursor = -1;
+  private boolean closed;
+
+  public SharedStateWriter(Path file, Board board, List<Snake> snakes) throws IOException {
+    this.board = Objects.requireNonNull(board, "board");
+    this.snakes = List.copyOf(snakes);
+    this.width = board.width();
+    int height = board.height();
+    this.snakesStart = snakesStart(width, height);
+    int size = fileSize(width, height, this.snakes.size());
+    try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    this.last = new int[4 * this.snakes.size()];
+    Arrays.fill(last, -1);
+
+    buffer.putInt(MAGIC_OFFSET, MAGIC)
+        .putInt(VERSION_OFFSET, VERSION)
+        .putInt(WIDTH_OFFSET, width)
+        .putInt(HEIGHT_OFFSET, height)
+        .putInt(SNAKES_OFFSET, this.snakes.size())
+        .putInt(CELLS_START_OFFSET, HEADER_BYTES)
+        .putInt(SNAKES_START_OFFSET, snakesStart)
+        .putInt(SNAKE_BYTES_OFFSET, SNAKE_BYTES);
+    LONGS.setRelease(buffer, SEQ_OFFSET, 0L);
+  }
+
+  /** A writer for {@code session} mirrored to the file named by {@code -Dmirror}, or {@code null} if unset. */
+  public static SharedStateWriter fromSystemProperty(GameSession session) {
+    String file = System.getProperty("mirror");
+    if (file == null || file.isBlank()) return null;
+    try {
+      return new SharedStateWriter(Path.of(file), session.board(), session.snakes());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Writes the current state as frame {@code tick}. */
+  public void publish(long tick) {
+    if (closed) return;
+    LONGS.setOpaque(buffer, SEQ_OFFSET, ++seq);
+    VarHandle.storeStoreFence();
+
+    long next = journalCursor < 0 ? -1 : board.changesSince(journalCursor, cellWriter);
+    if (next < 0) next = writeAllCells();
+    journalCursor = next;
+    for (int i = 0; i < snakes.size(); i++) writeSnake(i, snakes.get(i));
+    LONGS.set(buffer, TICK_OFFSET, tick);
+
+    LONGS.setRelease(buffer, SEQ_OFFSET, ++seq);
+  }
+
+  /** Frames published so far. */
+  public long published() { return seq / 2; }
+
+  /** Forces the mirror to disk; readers that map the file do not need this. */
+  public void force() { buffer.force(); }
+
+  /** Stops publishing. The file stays mapped until the buffer is collected. */
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  private long writeAllCells() {
+    Set<Position> mice, obstacles, turbo;
+    Map<Position, Position> teleports;
+    long cursor;
+    synchronized (board) {
+      mice = board.mice();
+      obstacles = board.obstacles();
+      turbo = board.turbo();
+      teleports = board.teleports();
+      cursor = board.journalPosition();
+    }
+    int cells = width * board.height();
+    for (int c = 0; c < cells; c++) buffer.put(HEADER_BYTES + c, (byte) 0);
+    setAll(mice, MOUSE);
+    setAll(obstacles, OBSTACLE);
+    setAll(turbo, TURBO);
+    for (var e : teleports.entrySet()) {
+      set(e.getKey().x(), e.getKey().y(), TELEPORT, true);
+      set(e.getValue().x(), e.getValue().y(), TELEPORT, true);
+    }
+    return cursor;
+  }
+
+  private void setAll(Set<Position> items, int bit) {
+    for (Position p : items) set(p.x(), p.y(), bit, true);
+  }
+
+  private void writeItemChange(Board.Item item, int x, int y, boolean added) {
+    set(x, y, bit(item), added);
+  }
+
+  private void set(int x, int y, int bit, boolean on) {
+    int at = HEADER_BYTES + y * width + x;
+    byte b = buffer.get(at);
+    buffer.put(at, (byte) (on ? b | bit : b & ~bit));
+  }
+
+  private void writeSnake(int i, Snake s) {
+    boolean ok = false;
+    for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS && !ok; attempt++) {
+      ok = s.validate(s.readOptimistic(read, 0));
+    }
+    if (!ok) {
+      synchronized (s) {
+        Position h = s.head();
+        read[0] = h.x();
+        read[1] = h.y();
+        read[2] = s.length();
+        read[3] = s.isAlive() ? 1 : 0;
+      }
+    }
+    int base = 4 * i;
+    if (read[0] == last[base] && read[1] == last[base + 1] && read[2] == last[base + 2]
+        && read[3] == last[base + 3]) {
+      return;
+    }
+    System.arraycopy(read, 0, last, base, 4);
+    int at = snakesStart + i * SNAKE_BYTES;
+    buffer.putInt(at + SNAKE_HEAD_X, read[0])
+        .putInt(at + SNAKE_HEAD_Y, read[1])
+        .putInt(at + SNAKE_LENGTH, read[2])
+        .putInt(at + SNAKE_FLAGS, read[3] == 1 ? ALIVE : 0);
+  }
+}
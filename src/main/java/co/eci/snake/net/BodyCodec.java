@@ -0,0 +1,152 @@
+package co.eci.snake.net;
+
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Snake bodies as a head cell plus one {@link Direction} per following segment, two bits
+ * each. Consecutive cells are one step apart, counting the wrap at the board's edges,
+ * except where the snake went through a teleport; those cells are sent whole as escapes.
+ * <pre>
+ * chain   := head:cell escapes:varint (indexGap:varint cell)* codes
+ * codes   := ceil((length - 1) / 4) bytes, segment k's code in bits 2((k-1) mod 4)
+ * snake   := flags:byte [deathOrder:varint] maxLength:varint length:varint chain
+ * flags   := direction ordinal | ALIVE (4)
+ * </pre>
+ * A chain follows its length, which the caller writes, and is empty for length 0.
+ * {@code cell} is the varint {@code y * width + x}; segment {@code k}'s code is the
+ * direction of the step from cell {@code k - 1} (towards the head) to cell {@code k}, and
+ * is 0 for an escaped segment. {@code indexGap} is the escaped segment's index minus
+ * the previous escape's (0 before the first).
+ * <p>
+ * {@link #writeChain}/{@link #readChain} work on plain cell arrays and allocate nothing;
+ * {@link #write}/{@link #read} save and rebuild a whole {@link Snake}.
+ */
+public final class BodyCodec {
+  private static final int ALIVE = 4;
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private BodyCodec() {}
+
+  /** Bytes {@link #writeChain} needs at most for {@code length} cells on a board of {@code cells} cells. */
+  public static int maxChainBytes(int length, int cells) {
+    int cell = varintSize(cells);
+    return length == 0 ? 0 : cell + 5 + (length - 1) * (5 + cell) + (length + 2) / 4;
+  }
+
+  /** Writes the chain for {@code n} cells given as x, y pairs in {@code xy}, head first. */
+  public static void writeChain(ByteBuffer out, int[] xy, int n, int width, int height) {
+    if (n == 0) return;
+    Varint.put(out, (long) xy[1] * width + xy[0]);
+
+    int escapes = 0;
+    for (int k = 1; k < n; k++) {
+      if (code(xy, k, width, height) < 0) escapes++;
+    }
+    Varint.put(out, escapes);
+    int previous = 0;
+    for (int k = 1; k < n && escapes > 0; k++) {
+      if (code(xy, k, width, height) >= 0) continue;
+      Varint.put(out, k - previous);
+      Varint.put(out, (long) xy[2 * k + 1] * width + xy[2 * k]);
+      previous = k;
+      escapes--;
+    }
+
+    int packed = 0, bits = 0;
+    for (int k = 1; k < n; k++) {
+      packed |= Math.max(0, code(xy, k, width, height)) << bits;
+      bits += 2;
+      if (bits == 8) {
+        out.put((byte) packed);
+        packed = 0;
+        bits = 0;
+      }
+    }
+    if (bits > 0) out.put((byte) packed);
+  }
+
+  /**
+   * Reads a chain of {@code length} cells into {@code cells[0..length)} as
+   * {@code y * width + x}, head first.
+   */
+  public static void readChain(ByteBuffer in, int length, int width, int height, int[] cells) {
+    if (length == 0) return;
+    cells[0] = Varint.getInt(in);
+    Arrays.fill(cells, 1, length, 0);
+    int escapes = Varint.getInt(in);
+    for (int e = 0, k = 0; e < escapes; e++) {
+      k += Varint.getInt(in);
+      if (k <= 0 || k >= length) throw new IllegalArgumentException("Escape index out of range: " + k);
+      cells[k] = -1 - Varint.getInt(in);
+    }
+
+    int packed = 0;
+    for (int k = 1; k < length; k++) {
+      if (((k - 1) & 3) == 0) packed = in.get() & 0xFF;
+      int code = (packed >>> (2 * ((k - 1) & 3))) & 3;
+      if (cells[k] < 0) {
+        cells[k] = -1 - cells[k];
+      } else {
+        Direction d = DIRECTIONS[code];
+        int prev = cells[k - 1];
+        int x = Math.floorMod(prev % width + d.dx, width);
+        int y = Math.floorMod(prev / width + d.dy, height);
+        cells[k] = y * width + x;
+      }
+    }
+  }
+
+  /** Saves {@code snake}'s body, direction, growth and death so {@link #read} can rebuild it. */
+  public static void write(ByteBuffer out, Snake snake, int width, int height) {
+    int[] xy;
+    int n;
+    synchronized (snake) {
+      int length = snake.length();
+      xy = new int[2 * length];
+      n = snake.newestCells(length, xy);
+      boolean alive = snake.isAlive();
+      out.put((byte) (snake.direction().ordinal() | (alive ? ALIVE : 0)));
+      if (!alive) Varint.put(out, snake.deathOrder());
+      Varint.put(out, snake.maxLength());
+    }
+    Varint.put(out, n);
+    writeChain(out, xy, n, width, height);
+  }
+
+  public static Snake read(ByteBuffer in, int width, int height) {
+    int flags = in.get();
+    long deathOrder = (flags & ALIVE) == 0 ? Varint.get(in) : -1;
+    int maxLength = Varint.getInt(in);
+    int length = Varint.getInt(in);
+    if (length == 0) throw new IllegalArgumentException("Snake body must not be empty");
+    int[] cells = new int[length];
+    readChain(in, length, width, height, cells);
+    var body = new Position[length];
+    for (int k = 0; k < length; k++) body[k] = new Position(cells[k] % width, cells[k] / width);
+    var snake = Snake.restore(List.of(body), DIRECTIONS[flags & 3], maxLength);
+    if (deathOrder >= 0) snake.markDead(deathOrder);
+    return snake;
+  }
+
+  /** Direction ordinal of the step from cell {@code k - 1} to cell {@code k}, or -1 if it is a jump. */
+  private static int code(int[] xy, int k, int width, int height) {
+    int dx = Math.floorMod(xy[2 * k] - xy[2 * k - 2], width);
+    int dy = Math.floorMod(xy[2 * k + 1] - xy[2 * k - 1], height);
+    for (int d = 0; d < DIRECTIONS.length; d++) {
+      if (Math.floorMod(DIRECTIONS[d].dx, width) == dx && Math.floorMod(DIRECTIONS[d].dy, height) == dy) return d;
+    }
+    return -1;
+  }
+
+  private static int varintSize(long value) {
+    int size = 1;
+    while ((value >>>= 7) != 0) size++;
+    return size;
+  }
+}
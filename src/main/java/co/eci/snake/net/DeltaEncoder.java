@@ -0,0 +1,228 @@
+package co.eci.snake.net;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Encodes the game as a stream of per-tick changes, with a full keyframe every
+ * {@code keyframeInterval} frames or when a {@link #requestKeyframe() resync} is needed.
+ * A delta costs a few bytes per snake that moved and per item that changed, so
+ * idle snakes and the rest of the board are free. Decode with {@link StateMirror}.
+ * <pre>
+ * frame      := type:byte tick:varint (keyframe | delta)
+ * keyframe   := width:varint height:varint snakes:varint body*
+ *               teleports:varint (from:cell to:cell)* items:varint (kind:byte cell)*
+ * body       := flags:byte length:varint chain           see {@link BodyCodec}
+ * delta      := change* 0 itemChange* END
+ * change     := indexGap:varint flags:byte
+ *               MOVED: heads:varint headStep:zigzag* tailRemoved:varint
+ *               RESET: body without the flags byte
+ * itemChange := (kind &lt;&lt; 1 | added):byte cell
+ * </pre>
+ * {@code cell} is the varint {@code y * width + x}. {@code indexGap} is one more than the
+ * distance from the previous changed snake, so 0 ends the list. Heads are sent oldest
+ * first, each as the zig-zag difference from the previous head. Flags: {@code ALIVE},
+ * {@code MOVED}, {@code RESET}. Kinds follow {@link Board.Item}.
+ * <p>
+ * {@link #encode} writes into a buffer owned by the encoder and reused by the next
+ * call, so steady-state encoding allocates nothing. Not thread-safe.
+ */
+public final class DeltaEncoder {
+  public static final byte KEYFRAME = 3;
+  public static final byte DELTA = 4;
+
+  static final int ALIVE = 1;
+  static final int MOVED = 2;
+  static final int RESET = 4;
+  static final byte END = 0x7F;
+
+  private final Board board;
+  private final List<Snake> snakes;
+  private final int keyframeInterval;
+
+  private final long[] lastMoves;
+  private final int[] lastLength;
+  private final int[] lastHead;
+  private final boolean[] lastAlive;
+
+  private int[] cells = new int[128];
+  private ByteBuffer buffer = ByteBuffer.allocate(16 * 1024);
+  private long journalCursor = -1;
+  private int framesSinceKeyframe;
+  private boolean keyframeRequested = true;
+  private final Board.ItemListener itemWriter = this::writeItemChange;
+
+  public DeltaEncoder(Board board, List<Snake> snakes, int keyframeInterval) {
+    if (keyframeInterval <= 0) throw new IllegalArgumentException("keyframeInterval must be > 0");
+    this.board = Objects.requireNonNull(board, "board");
+    this.snakes = List.copyOf(snakes);
+    this.keyframeInterval = keyframeInterval;
+    int n = this.snakes.size();
+    this.lastMoves = new long[n];
+    this.lastLength = new int[n];
+    this.lastHead = new int[n];
+    this.lastAlive = new boolean[n];
+  }
+
+  /** Makes the next frame a keyframe. */
+  public void requestKeyframe() { keyframeRequested = true; }
+
+  /**
+   * Encodes the changes since the previous call and returns the frame, flipped for
+   * reading. The buffer is only valid until the next call.
+   */
+  public ByteBuffer encode(long tick) {
+    while (true) {
+      try {
+        buffer.clear();
+        boolean keyframe = keyframeRequested || framesSinceKeyframe + 1 >= keyframeInterval;
+        if (!keyframe && !writeDelta(tick)) {
+          buffer.clear();
+          keyframe = true;
+        }
+        if (keyframe) writeKeyframe(tick);
+        return buffer.flip();
+      } catch (BufferOverflowException e) {
+        buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+        keyframeRequested = true;
+      }
+    }
+  }
+
+  /** Whether the frame last returned by {@link #encode} is a keyframe. */
+  public boolean lastWasKeyframe() {
+    return buffer.limit() > 0 && buffer.get(0) == KEYFRAME;
+  }
+
+  private void writeKeyframe(long tick) {
+    buffer.put(KEYFRAME);
+    Varint.put(buffer, tick);
+    Varint.put(buffer, board.width());
+    Varint.put(buffer, board.height());
+    Varint.put(buffer, snakes.size());
+    for (int i = 0; i < snakes.size(); i++) {
+      Snake s = snakes.get(i);
+      synchronized (s) {
+        lastMoves[i] = s.moves();
+        lastAlive[i] = s.isAlive();
+        buffer.put((byte) (lastAlive[i] ? ALIVE : 0));
+        writeBody(i, s);
+      }
+    }
+
+    Set<Position> mice, obstacles, turbo;
+    Map<Position, Position> teleports;
+    synchronized (board) {
+      mice = board.mice();
+      obstacles = board.obstacles();
+      turbo = board.turbo();
+      teleports = board.teleports();
+      journalCursor = board.journalPosition();
+    }
+    Varint.put(buffer, teleports.size());
+    for (var e : teleports.entrySet()) {
+      Varint.put(buffer, cell(e.getKey()));
+      Varint.put(buffer, cell(e.getValue()));
+    }
+    Varint.put(buffer, mice.size() + obstacles.size() + turbo.size());
+    writeItems(Board.Item.MOUSE, mice);
+    writeItems(Board.Item.OBSTACLE, obstacles);
+    writeItems(Board.Item.TURBO, turbo);
+
+    framesSinceKeyframe = 0;
+    keyframeRequested = false;
+  }
+
+  private boolean writeDelta(long tick) {
+    buffer.put(DELTA);
+    Varint.put(buffer, tick);
+    int previous = -1;
+    for (int i = 0; i < snakes.size(); i++) {
+      Snake s = snakes.get(i);
+      synchronized (s) {
+        long moves = s.moves();
+        boolean alive = s.isAlive();
+        long moved = moves - lastMoves[i];
+        if (moved == 0 && alive == lastAlive[i]) continue;
+
+        Varint.put(buffer, i - previous);
+        previous = i;
+        int flags = alive ? ALIVE : 0;
+        int length = s.length();
+        int tailRemoved = (int) (lastLength[i] + moved - length);
+        if (moved > length || tailRemoved < 0) {
+          buffer.put((byte) (flags | RESET));
+          writeBody(i, s);
+        } else {
+          buffer.put((byte) (moved > 0 ? flags | MOVED : flags));
+          if (moved > 0) {
+            int n = (int) moved;
+            ensureCells(n);
+            s.newestCells(n, cells);
+            Varint.put(buffer, n);
+            int prev = lastHead[i];
+            for (int k = n - 1; k >= 0; k--) {
+              int c = cells[2 * k + 1] * board.width() + cells[2 * k];
+              Varint.putSigned(buffer, c - prev);
+              prev = c;
+            }
+            Varint.put(buffer, tailRemoved);
+            lastHead[i] = prev;
+            lastLength[i] = length;
+          }
+        }
+        lastMoves[i] = moves;
+        lastAlive[i] = alive;
+      }
+    }
+    Varint.put(buffer, 0);
+
+    long next = board.changesSince(journalCursor, itemWriter);
+    if (next < 0) return false;
+    journalCursor = next;
+    buffer.put(END);
+    framesSinceKeyframe++;
+    return true;
+  }
+
+  /**
+   * Writes {@code length:varint chain} for snake {@code i}: the head cell, then a two-bit
+   * direction per following segment, as {@link BodyCodec#writeChain} lays it out. The
+   * caller holds the snake's monitor.
+   */
+  private void writeBody(int i, Snake s) {
+    int length = s.length();
+    ensureCells(length);
+    int n = s.newestCells(length, cells);
+    Varint.put(buffer, n);
+    BodyCodec.writeChain(buffer, cells, n, board.width(), board.height());
+    lastLength[i] = n;
+    lastHead[i] = n > 0 ? cells[1] * board.width() + cells[0] : 0;
+  }
+
+  private void writeItems(Board.Item kind, Set<Position> items) {
+    for (Position p : items) {
+      buffer.put((byte) kind.ordinal());
+      Varint.put(buffer, cell(p));
+    }
+  }
+
+  private void writeItemChange(Board.Item item, int x, int y, boolean added) {
+    buffer.put((byte) ((item.ordinal() << 1) | (added ? 1 : 0)));
+    Varint.put(buffer, y * board.width() + x);
+  }
+
+  private int cell(Position p) { return p.y() * board.width() + p.x(); }
+
+  private void ensureCells(int n) {
+    if (cells.length < 2 * n) cells = new int[Math.max(2 * n, cells.length * 2)];
+  }
+}
@@ -0,0 +1,126 @@
+package co.eci.snake.net;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Encodes each tick exactly once and shares the result with every spectator.
+ * <p>
+ * Published frames go into a ring of the last {@code capacity} frames. Each frame is
+ * a read-only, length-prefixed buffer. Subscribers pull from the ring with their own
+ * cursor and get a {@link ByteBuffer#duplicate() duplicate} of the shared buffer, so
+ * publishing costs the same for one spectator or a thousand and nothing is copied
+ * per subscriber. A subscriber that falls more than {@code capacity} frames behind
+ * does not queue: it skips ahead to a keyframe and continues from there.
+ * <p>
+ * {@link #publish} must be called from a single thread; subscriptions may be polled
+ * from any thread, one thread per subscription.
+ */
+public final class FrameBroadcaster {
+  private final DeltaEncoder encoder;
+  private final Frame[] ring;
+  private final int mask;
+  private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+  private volatile long published;
+  private volatile long lastKeyframe = -1;
+  private volatile boolean keyframeWanted;
+
+  private record Frame(long seq, boolean keyframe, ByteBuffer data) {}
+
+  /**
+   * @param capacity frames kept for lagging subscribers; rounded up to a power of two.
+   *                 When it exceeds the encoder's keyframe interval the latest keyframe
+   *                 is always still in the ring, and a lagging subscriber resumes from
+   *                 it at once instead of waiting for the next one.
+   */
+  public FrameBroadcaster(DeltaEncoder encoder, int capacity) {
+    if (capacity < 2) throw new IllegalArgumentException("capacity must be >= 2");
+    this.encoder = Objects.requireNonNull(encoder, "encoder");
+    int size = Integer.highestOneBit(capacity - 1) << 1;
+    this.ring = new Frame[size];
+    this.mask = size - 1;
+  }
+
+  /** Runs {@code listener} after every publish, e.g. to wake a selector. */
+  public void onPublish(Runnable listener) { listeners.add(Objects.requireNonNull(listener, "listener")); }
+
+  /** Encodes the current state once and makes it available to every subscription. */
+  public void publish(long tick) {
+    if (keyframeWanted) {
+      keyframeWanted = false;
+      encoder.requestKeyframe();
+    }
+    ByteBuffer payload = encoder.encode(tick);
+    boolean keyframe = encoder.lastWasKeyframe();
+    ByteBuffer data = ByteBuffer.allocate(4 + payload.remaining());
+    data.putInt(payload.remaining()).put(payload).flip();
+
+    long seq = published;
+    ring[(int) (seq & mask)] = new Frame(seq, keyframe, data.asReadOnlyBuffer());
+    if (keyframe) lastKeyframe = seq;
+    published = seq + 1;
+    for (Runnable r : listeners) r.run();
+  }
+
+  /** Number of frames published so far. */
+  public long published() { return published; }
+
+  /** A new subscription; its first frame is the most recent keyframe. */
+  public Subscription subscribe() {
+    var sub = new Subscription();
+    sub.resync(published);
+    sub.resyncs = 0;
+    return sub;
+  }
+
+  public final class Subscription {
+    private long cursor;
+    private long resyncs;
+    private boolean awaitingKeyframe;
+
+    private Subscription() {}
+
+    /**
+     * Next frame for this subscriber, or {@code null} if it is up to date. The buffer
+     * is a private view of the shared frame, positioned at its length prefix.
+     */
+    public ByteBuffer poll() {
+      while (true) {
+        long head = published;
+        if (cursor >= head) return null;
+        Frame f = ring[(int) (cursor & mask)];
+        if (head - cursor > ring.length || f == null || f.seq() != cursor) {
+          resync(head);
+          continue;
+        }
+        cursor++;
+        if (awaitingKeyframe) {
+          if (!f.keyframe()) continue;
+          awaitingKeyframe = false;
+        }
+        return f.data().duplicate();
+      }
+    }
+
+    /** Frames published but not yet polled. */
+    public long backlog() { return Math.max(0, published - cursor); }
+
+    /** How many times this subscriber fell behind and was moved to a keyframe. */
+    public long resyncs() { return resyncs; }
+
+    private void resync(long head) {
+      resyncs++;
+      awaitingKeyframe = true;
+      long key = lastKeyframe;
+      if (key >= 0 && head - key <= ring.length) {
+        cursor = key;
+      } else {
+        cursor = head;
+        keyframeWanted = true;
+      }
+    }
+  }
+}
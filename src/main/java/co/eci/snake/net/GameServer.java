@@ -0,0 +1,364 @@
+package co.eci.snake.net;
+
+import co.eci.snake.concurrency.ExecutionModel;
+import co.eci.snake.concurrency.GameSession;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.engine.GameClock;
+import co.eci.snake.ipc.SharedStateWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Headless TCP front-end for a {@link GameSession}. A single selector thread serves
+ * every connection, so thousands of clients cost one thread and their buffers.
+ * <p>
+ * Clients send one ASCII byte per command ({@code U D L R}, either case; anything
+ * else is ignored) and receive the frames described in {@link StateFrames}. The first
+ * connections each get a snake of their own; once all snakes are taken new clients
+ * only spectate.
+ * <p>
+ * Tick frames come from a {@link FrameBroadcaster}: each is encoded once and every
+ * connection pulls views of it, so the game clock never waits for a client. Each
+ * connection buffers at most about {@code maxQueuedBytes}; a client that cannot keep
+ * up falls behind in the broadcaster and is resynchronised at a keyframe, and one
+ * that accepts no bytes while {@code maxStalledFrames} frames in a row are published
+ * is disconnected.
+ * <p>
+ * If the selector fails, the server logs the error, closes its socket and every
+ * connection, and stops: {@link #isRunning()} turns {@code false} and
+ * {@link #failure()} holds the cause.
+ */
+public final class GameServer implements AutoCloseable {
+  public static final int DEFAULT_PORT = 7777;
+
+  private final GameSession session;
+  private final FrameBroadcaster broadcaster;
+  private final InetSocketAddress bindAddress;
+  private final int maxQueuedBytes;
+  private final int maxStalledFrames;
+
+  private final List<Connection> connections = new ArrayList<>();
+  private final boolean[] controlled;
+
+  private Selector selector;
+  private ServerSocketChannel serverChannel;
+  private Thread loop;
+  private volatile boolean running;
+  private volatile IOException failure;
+
+  private volatile int connectionCount;
+  private volatile long resyncs;
+  private volatile long slowClientsClosed;
+
+  public GameServer(GameSession session, FrameBroadcaster broadcaster, InetSocketAddress bindAddress) {
+    this(session, broadcaster, bindAddress, 256 * 1024, 500);
+  }
+
+  public GameServer(GameSession session, FrameBroadcaster broadcaster, InetSocketAddress bindAddress,
+                    int maxQueuedBytes, int maxStalledFrames) {
+    if (maxQueuedBytes <= 0) throw new IllegalArgumentException("maxQueuedBytes must be > 0");
+    if (maxStalledFrames < 0) throw new IllegalArgumentException("maxStalledFrames must be >= 0");
+    this.session = Objects.requireNonNull(session, "session");
+    this.broadcaster = Objects.requireNonNull(broadcaster, "broadcaster");
+    this.bindAddress = Objects.requireNonNull(bindAddress, "bindAddress");
+    this.maxQueuedBytes = maxQueuedBytes;
+    this.maxStalledFrames = maxStalledFrames;
+    this.controlled = new boolean[session.snakes().size()];
+  }
+
+  public synchronized void start() throws IOException {
+    if (running) return;
+    selector = Selector.open();
+    serverChannel = ServerSocketChannel.open();
+    serverChannel.configureBlocking(false);
+    serverChannel.bind(bindAddress, 1024);
+    serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    running = true;
+    broadcaster.onPublish(this::wakeup);
+    loop = Thread.ofPlatform().name("snake-server").daemon().start(this::serve);
+  }
+
+  public int port() {
+    try {
+      return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void wakeup() {
+    Selector sel = selector;
+    if (sel != null && running) sel.wakeup();
+  }
+
+  public int connections() { return connectionCount; }
+  /** Times a client fell behind the broadcaster and was moved to a keyframe. */
+  public long resyncs() { return resyncs; }
+  public long slowClientsClosed() { return slowClientsClosed; }
+
+  public boolean isRunning() { return running; }
+
+  /** Why the server stopped on its own, or {@code null} if it has not. */
+  public IOException failure() { return failure; }
+
+  private void serve() {
+    try {
+      while (running) {
+        selector.select();
+        fanOut();
+        Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+        while (it.hasNext()) {
+          SelectionKey key = it.next();
+          it.remove();
+          if (!key.isValid()) continue;
+          if (key.isAcceptable()) accept();
+          else {
+            var c = (Connection) key.attachment();
+            if (key.isReadable()) read(c);
+            if (key.isValid() && key.isWritable()) {
+              flush(c);
+              pull(c);
+            }
+          }
+        }
+      }
+    } catch (IOException e) {
+      if (running) {
+        failure = e;
+        running = false;
+      }
+    } finally {
+      for (Connection c : List.copyOf(connections)) close(c);
+      if (failure != null) closeChannels();
+    }
+  }
+
+  /**
+   * Takes every pending connection. A client that fails while being set up is dropped;
+   * only a closed server channel stops the server.
+   */
+  private void accept() throws IOException {
+    while (true) {
+      SocketChannel ch;
+      try {
+        ch = serverChannel.accept();
+      } catch (ClosedChannelException e) {
+        throw e;
+      } catch (IOException e) {
+        // Out of file descriptors or aborted before it was taken: retried on the next select.
+        return;
+      }
+      if (ch == null) return;
+      SelectionKey key;
+      try {
+        ch.configureBlocking(false);
+        ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        key = ch.register(selector, SelectionKey.OP_READ);
+      } catch (IOException e) {
+        try {
+          ch.close();
+        } catch (IOException ignored) {
+          // dropping it anyway
+        }
+        continue;
+      }
+      var c = new Connection(ch, claimSnake(), broadcaster.subscribe());
+      c.key = key;
+      key.attach(c);
+      connections.add(c);
+      connectionCount = connections.size();
+      ByteBuffer hello = StateFrames.hello(c.snakeIndex);
+      c.out.add(hello);
+      c.queuedBytes += hello.remaining();
+      pull(c);
+    }
+  }
+
+  private int claimSnake() {
+    for (int i = 0; i < controlled.length; i++) {
+      if (!controlled[i]) {
+        controlled[i] = true;
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void read(Connection c) {
+    int n;
+    try {
+      n = c.channel.read(c.in);
+    } catch (IOException e) {
+      n = -1;
+    }
+    if (n < 0) {
+      close(c);
+      return;
+    }
+    c.in.flip();
+    Direction last = null;
+    while (c.in.hasRemaining()) {
+      Direction d = command(c.in.get());
+      if (d != null) last = d;
+    }
+    c.in.clear();
+    if (last != null) session.turn(c.snakeIndex, last);
+  }
+
+  private static Direction command(byte b) {
+    return switch (b) {
+      case 'U', 'u' -> Direction.UP;
+      case 'D', 'd' -> Direction.DOWN;
+      case 'L', 'l' -> Direction.LEFT;
+      case 'R', 'r' -> Direction.RIGHT;
+      default -> null;
+    };
+  }
+
+  private void fanOut() {
+    for (int i = connections.size() - 1; i >= 0; i--) {
+      pull(connections.get(i));
+    }
+  }
+
+  /** Moves frames from the broadcaster into the connection's buffer while it has room, then writes. */
+  private void pull(Connection c) {
+    if (!c.key.isValid()) return;
+    if (c.queuedBytes >= maxQueuedBytes) {
+      // Only a newly published frame counts as a stall, not every wakeup of the selector.
+      long published = broadcaster.published();
+      if (published != c.lastStallCheck) {
+        c.lastStallCheck = published;
+        if (c.subscription.backlog() > 0 && ++c.stalled > maxStalledFrames) {
+          slowClientsClosed++;
+          close(c);
+        }
+      }
+      return;
+    }
+    ByteBuffer frame;
+    while (c.queuedBytes < maxQueuedBytes && (frame = c.subscription.poll()) != null) {
+      c.out.add(frame);
+      c.queuedBytes += frame.remaining();
+    }
+    long r = c.subscription.resyncs();
+    if (r != c.lastResyncs) {
+      resyncs += r - c.lastResyncs;
+      c.lastResyncs = r;
+    }
+    flush(c);
+  }
+
+  private void flush(Connection c) {
+    try {
+      ByteBuffer head;
+      while ((head = c.out.peek()) != null) {
+        int written = c.channel.write(head);
+        c.queuedBytes -= written;
+        if (written > 0) c.stalled = 0;
+        if (head.hasRemaining()) break;
+        c.out.poll();
+      }
+    } catch (IOException e) {
+      close(c);
+      return;
+    }
+    if (c.key.isValid()) {
+      c.key.interestOps(c.out.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+  }
+
+  private void close(Connection c) {
+    if (!connections.remove(c)) return;
+    connectionCount = connections.size();
+    if (c.snakeIndex >= 0) controlled[c.snakeIndex] = false;
+    c.key.cancel();
+    try {
+      c.channel.close();
+    } catch (IOException ignored) {
+      // closing anyway
+    }
+  }
+
+  @Override
+  public void close() {
+    Thread t;
+    synchronized (this) {
+      if (!running) return;
+      running = false;
+      t = loop;
+    }
+    selector.wakeup();
+    try {
+      t.join(2000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    closeChannels();
+  }
+
+  private void closeChannels() {
+    try {
+      serverChannel.close();
+      selector.close();
+    } catch (IOException ignored) {
+      // shutting down
+    }
+  }
+
+  private static final class Connection {
+    final SocketChannel channel;
+    final int snakeIndex;
+    final FrameBroadcaster.Subscription subscription;
+    final ByteBuffer in = ByteBuffer.allocate(64);
+    final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+    SelectionKey key;
+    int queuedBytes;
+    int stalled;
+    long lastStallCheck = -1;
+    long lastResyncs;
+
+    Connection(SocketChannel channel, int snakeIndex, FrameBroadcaster.Subscription subscription) {
+      this.channel = channel;
+      this.snakeIndex = snakeIndex;
+      this.subscription = subscription;
+    }
+  }
+
+  /** Starts a headless game served on {@code -Dport} (default {@value #DEFAULT_PORT}). */
+  public static void launch() {
+    var session = GameSession.fromSystemProperties();
+    var board = session.board();
+    var broadcaster = new FrameBroadcaster(new DeltaEncoder(board, session.snakes(), 50), 128);
+    var server = new GameServer(session, broadcaster, new InetSocketAddress(Integer.getInteger("port", DEFAULT_PORT)));
+    try {
+      server.start();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    session.start(ExecutionModel.fromSystemProperty());
+    var mirror = SharedStateWriter.fromSystemProperty(session);
+    long[] tick = {0};
+    var clock = new GameClock(60, () -> {
+      long t = tick[0]++;
+      broadcaster.publish(t);
+      if (mirror != null) mirror.publish(t);
+    });
+    clock.start();
+    System.out.println("Snake server listening on port " + server.port());
+  }
+}
@@ -0,0 +1,26 @@
+package co.eci.snake.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Framing of the stream the server sends to each client. Every frame is
+ * length-prefixed: a big-endian {@code int length}, then {@code length} bytes of
+ * payload whose first byte is the frame type.
+ * <ul>
+ *   <li>{@code HELLO}: sent once on connect, followed by {@code int snakeIndex}
+ *       ({@code -1} for spectators).</li>
+ *   <li>{@link DeltaEncoder#KEYFRAME} and {@link DeltaEncoder#DELTA}: one per tick,
+ *       see {@link DeltaEncoder} for the layout.</li>
+ * </ul>
+ */
+public final class StateFrames {
+  public static final byte HELLO = 2;
+
+  private StateFrames() {}
+
+  public static ByteBuffer hello(int snakeIndex) {
+    var out = ByteBuffer.allocate(4 + 1 + 4);
+    out.putInt(5).put(HELLO).putInt(snakeIndex);
+    return out.flip().asReadOnlyBuffer();
+  }
+}
@@ -0,0 +1,158 @@
+package co.eci.snake.net;
+
+import co.eci.snake.core.Board;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Client-side copy of the game rebuilt from {@link DeltaEncoder} frames. Bodies are
+ * kept in per-snake ring buffers that only grow, so once warmed up applying a frame
+ * allocates nothing. Not thread-safe.
+ */
+public final class StateMirror {
+  private static final int TELEPORT = 1 << 3;
+
+  private int width;
+  private int height;
+  private long tick = -1;
+  private byte[] items = new byte[0];
+
+  private int snakeCount;
+  private int[][] rings = new int[0][];
+  private int[] headIndex = new int[0];
+  private int[] lengths = new int[0];
+  private boolean[] alive = new boolean[0];
+
+  /** Applies one frame. A delta received before the first keyframe is rejected. */
+  public void apply(ByteBuffer frame) {
+    byte type = frame.get();
+    long t = Varint.get(frame);
+    if (type == DeltaEncoder.KEYFRAME) {
+      readKeyframe(frame);
+    } else if (type == DeltaEncoder.DELTA) {
+      if (tick < 0) throw new IllegalStateException("Delta frame before the first keyframe");
+      readDelta(frame);
+    } else {
+      throw new IllegalArgumentException("Unknown frame type " + type);
+    }
+    tick = t;
+  }
+
+  public boolean isReady() { return tick >= 0; }
+  public long tick() { return tick; }
+  public int width() { return width; }
+  public int height() { return height; }
+  public int snakeCount() { return snakeCount; }
+  public boolean isAlive(int snake) { return alive[snake]; }
+  public int length(int snake) { return lengths[snake]; }
+
+  /** X of the {@code k}-th body cell of {@code snake}, counting from the head. */
+  public int cellX(int snake, int k) { return cell(snake, k) % width; }
+
+  public int cellY(int snake, int k) { return cell(snake, k) / width; }
+
+  public boolean hasItem(Board.Item item, int x, int y) {
+    return (items[y * width + x] & (1 << item.ordinal())) != 0;
+  }
+
+  public boolean isTeleport(int x, int y) {
+    return (items[y * width + x] & TELEPORT) != 0;
+  }
+
+  private int cell(int snake, int k) {
+    if (k < 0 || k >= lengths[snake]) throw new IndexOutOfBoundsException(k);
+    int[] ring = rings[snake];
+    return ring[(headIndex[snake] + k) & (ring.length - 1)];
+  }
+
+  private void readKeyframe(ByteBuffer in) {
+    width = Varint.getInt(in);
+    height = Varint.getInt(in);
+    if (items.length != width * height) items = new byte[width * height];
+    else Arrays.fill(items, (byte) 0);
+
+    int n = Varint.getInt(in);
+    if (rings.length < n) {
+      rings = Arrays.copyOf(rings, n);
+      headIndex = Arrays.copyOf(headIndex, n);
+      lengths = Arrays.copyOf(lengths, n);
+      alive = Arrays.copyOf(alive, n);
+    }
+    snakeCount = n;
+    for (int i = 0; i < n; i++) {
+      alive[i] = (in.get() & DeltaEncoder.ALIVE) != 0;
+      readBody(i, in);
+    }
+
+    int teleports = Varint.getInt(in);
+    for (int i = 0; i < teleports; i++) {
+      items[Varint.getInt(in)] |= TELEPORT;
+      items[Varint.getInt(in)] |= TELEPORT;
+    }
+    int count = Varint.getInt(in);
+    for (int i = 0; i < count; i++) {
+      int kind = in.get();
+      items[Varint.getInt(in)] |= (byte) (1 << kind);
+    }
+  }
+
+  private void readDelta(ByteBuffer in) {
+    int i = -1;
+    int gap;
+    while ((gap = Varint.getInt(in)) != 0) {
+      i += gap;
+      int flags = in.get();
+      alive[i] = (flags & DeltaEncoder.ALIVE) != 0;
+      if ((flags & DeltaEncoder.RESET) != 0) {
+        readBody(i, in);
+      } else if ((flags & DeltaEncoder.MOVED) != 0) {
+        int heads = Varint.getInt(in);
+        int prev = lengths[i] > 0 ? cell(i, 0) : 0;
+        for (int k = 0; k < heads; k++) {
+          prev += (int) Varint.getSigned(in);
+          pushHead(i, prev);
+        }
+        lengths[i] -= Varint.getInt(in);
+      }
+    }
+
+    byte e;
+    while ((e = in.get()) != DeltaEncoder.END) {
+      int c = Varint.getInt(in);
+      int bit = 1 << (e >>> 1);
+      if ((e & 1) != 0) items[c] |= (byte) bit;
+      else items[c] &= (byte) ~bit;
+    }
+  }
+
+  private void readBody(int i, ByteBuffer in) {
+    int length = Varint.getInt(in);
+    int[] ring = ensureRing(i, length);
+    BodyCodec.readChain(in, length, width, height, ring);
+    headIndex[i] = 0;
+    lengths[i] = length;
+  }
+
+  private void pushHead(int i, int cell) {
+    int[] ring = ensureRing(i, lengths[i] + 1);
+    int h = (headIndex[i] - 1) & (ring.length - 1);
+    ring[h] = cell;
+    headIndex[i] = h;
+    lengths[i]++;
+  }
+
+  /** Makes ring {@code i} hold at least {@code capacity} cells, keeping its contents head first. */
+  private int[] ensureRing(int i, int capacity) {
+    int[] ring = rings[i];
+    if (ring != null && ring.length >= capacity) return ring;
+    int size = Integer.highestOneBit(Math.max(16, capacity - 1)) << 1;
+    int[] grown = new int[size];
+    for (int k = 0; k < lengths[i] && ring != null; k++) {
+      grown[k] = ring[(headIndex[i] + k) & (ring.length - 1)];
+    }
+    rings[i] = grown;
+    headIndex[i] = 0;
+    return grown;
+  }
+}
@@ -0,0 +1,41 @@
+package co.eci.snake.net;
+
+import java.nio.ByteBuffer;
+
+/** LEB128 variable-length integers and zig-zag mapping of signed values. */
+public final class Varint {
+  private Varint() {}
+
+  public static void put(ByteBuffer out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.put((byte) value);
+  }
+
+  public static long get(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) return value;
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+
+  public static int getInt(ByteBuffer in) {
+    long v = get(in);
+    if (v > Integer.MAX_VALUE) throw new IllegalArgumentException("Varint out of int range: " + v);
+    return (int) v;
+  }
+
+  public static void putSigned(ByteBuffer out, long value) {
+    put(out, (value << 1) ^ (value >> 63));
+  }
+
+  public static long getSigned(ByteBuffer in) {
+    long v = get(in);
+    return (v >>> 1) ^ -(v & 1);
+  }
+}
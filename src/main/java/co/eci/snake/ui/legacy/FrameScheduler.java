@@ -0,0 +1,114 @@
+package co.eci.snake.ui.legacy;
+
+import co.eci.snake.core.engine.TimeSource;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turns clock ticks into painted frames without letting them pile up on the EDT.
+ * <p>
+ * At most one frame is pending at a time: a tick that arrives while the previous
+ * frame has not been painted yet is dropped and counted as skipped. When a paint takes
+ * longer than the frame period, the following ticks are also dropped for as long as
+ * that paint took, so a slow renderer settles at a lower frame rate and the EDT keeps
+ * time for input instead of falling further behind.
+ * <p>
+ * {@link #requestFrame()} may be called from any thread; frames are painted on the
+ * executor given to the constructor (the EDT in the application).
+ */
+public final class FrameScheduler {
+  private static final double SMOOTHING = 0.1;
+
+  private final Runnable paint;
+  private final Executor edt;
+  private final long periodNanos;
+  private final TimeSource time;
+  private final AtomicBoolean pending = new AtomicBoolean();
+  private final AtomicLong skipped = new AtomicLong();
+  private final Runnable frame = this::paintFrame;
+
+  // Written only by the painting thread.
+  private volatile long painted;
+  private volatile long lastPaintNanos;
+  private volatile long maxPaintNanos;
+  private volatile double meanPaintNanos;
+  private volatile double meanIntervalNanos;
+  private volatile long nextAllowedNanos;
+  private long lastFrameStart;
+
+  public FrameScheduler(Runnable paint, Executor edt, long periodMillis) {
+    this(paint, edt, periodMillis, TimeSource.system());
+  }
+
+  /** Measures paints and frame intervals on {@code time}. */
+  public FrameScheduler(Runnable paint, Executor edt, long periodMillis, TimeSource time) {
+    if (periodMillis <= 0) throw new IllegalArgumentException("periodMillis must be > 0");
+    this.paint = Objects.requireNonNull(paint, "paint");
+    this.edt = Objects.requireNonNull(edt, "edt");
+    this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+    this.time = Objects.requireNonNull(time, "time");
+    // nanoTime has an arbitrary origin, possibly negative, so "no hold-back" has to start from now.
+    this.nextAllowedNanos = time.nanoTime();
+  }
+
+  /** Paints {@code component} synchronously on the EDT so each paint can be timed. */
+  public static FrameScheduler forComponent(JComponent component, long periodMillis) {
+    return new FrameScheduler(
+        () -> component.paintImmediately(0, 0, component.getWidth(), component.getHeight()),
+        SwingUtilities::invokeLater,
+        periodMillis);
+  }
+
+  /** Asks for a frame; returns {@code false} if it was skipped. */
+  public boolean requestFrame() {
+    if (time.nanoTime() - nextAllowedNanos < 0 || !pending.compareAndSet(false, true)) {
+      skipped.incrementAndGet();
+      return false;
+    }
+    edt.execute(frame);
+    return true;
+  }
+
+  private void paintFrame() {
+    long start = time.nanoTime();
+    try {
+      paint.run();
+    } finally {
+      long end = time.nanoTime();
+      long took = end - start;
+      long n = painted;
+      lastPaintNanos = took;
+      if (took > maxPaintNanos) maxPaintNanos = took;
+      meanPaintNanos = n == 0 ? took : meanPaintNanos + SMOOTHING * (took - meanPaintNanos);
+      if (n > 0) {
+        long interval = start - lastFrameStart;
+        meanIntervalNanos = n == 1 ? interval : meanIntervalNanos + SMOOTHING * (interval - meanIntervalNanos);
+      }
+      lastFrameStart = start;
+      nextAllowedNanos = took > periodNanos ? end + took : end;
+      painted = n + 1;
+      pending.set(false);
+    }
+  }
+
+  public long framesPainted() { return painted; }
+  public long framesSkipped() { return skipped.get(); }
+  public boolean isFramePending() { return pending.get(); }
+
+  public double lastPaintMillis() { return lastPaintNanos / 1e6; }
+  public double maxPaintMillis() { return maxPaintNanos / 1e6; }
+  /** Smoothed paint duration. */
+  public double meanPaintMillis() { return meanPaintNanos / 1e6; }
+
+  /** Smoothed rate of painted frames; 0 until two frames have been painted. */
+  public double fps() {
+    double interval = meanIntervalNanos;
+    return interval > 0 ? 1e9 / interval : 0;
+  }
+}
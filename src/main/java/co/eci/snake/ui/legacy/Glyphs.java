@@ -0,0 +1,84 @@
+package co.eci.snake.ui.legacy;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+
+/**
+ * Cell drawings and colors shared by the vector and raster renderers. Shapes are laid
+ * out for a 20-pixel cell; callers scale the graphics for other sizes.
+ */
+final class Glyphs {
+  static final int CELL = 20;
+
+  static final Color GRID = new Color(220, 220, 220);
+  static final Color OBSTACLE = new Color(255, 102, 0);
+
+  static final int PLAYER = 0;
+  static final int OTHER = 1;
+  static final int DEAD = 2;
+
+  /** Number of shades a body fades through from the head; later segments use the last one. */
+  static final int SHADES = 11;
+
+  /** {@code SEGMENT[kind][min(i, SHADES - 1)]}: color of body segment {@code i}, head first. */
+  static final Color[][] SEGMENT = {
+      shades(new Color(0, 170, 0)), shades(new Color(0, 160, 180)), shades(new Color(120, 120, 120))
+  };
+
+  private Glyphs() {}
+
+  private static Color[] shades(Color base) {
+    var out = new Color[SHADES];
+    for (int i = 0; i < SHADES; i++) {
+      int shade = Math.max(0, 40 - i * 4);
+      out[i] = new Color(
+          Math.min(255, base.getRed() + shade),
+          Math.min(255, base.getGreen() + shade),
+          Math.min(255, base.getBlue() + shade));
+    }
+    return out;
+  }
+
+  static int kind(boolean alive, int snakeIndex) {
+    return !alive ? DEAD : snakeIndex == 0 ? PLAYER : OTHER;
+  }
+
+  static Color segment(int kind, int i) {
+    return SEGMENT[kind][Math.min(i, SHADES - 1)];
+  }
+
+  static void obstacle(Graphics2D g, int x, int y) {
+    g.setColor(OBSTACLE);
+    g.fillRect(x + 2, y + 2, CELL - 4, CELL - 4);
+    g.setColor(Color.RED);
+    g.drawLine(x + 4, y + 4, x + CELL - 6, y + 4);
+    g.drawLine(x + 4, y + 8, x + CELL - 6, y + 8);
+    g.drawLine(x + 4, y + 12, x + CELL - 6, y + 12);
+  }
+
+  static void mouse(Graphics2D g, int x, int y) {
+    g.setColor(Color.BLACK);
+    g.fillOval(x + 4, y + 4, CELL - 8, CELL - 8);
+    g.setColor(Color.WHITE);
+    g.fillOval(x + 8, y + 8, CELL - 16, CELL - 16);
+  }
+
+  static void teleport(Graphics2D g, int x, int y) {
+    int[] xs = { x + 4, x + CELL - 4, x + CELL - 10, x + CELL - 10, x + 4 };
+    int[] ys = { y + CELL / 2, y + CELL / 2, y + 4, y + CELL - 4, y + CELL / 2 };
+    g.setColor(Color.RED);
+    g.fillPolygon(xs, ys, xs.length);
+  }
+
+  static void turbo(Graphics2D g, int x, int y) {
+    int[] xs = { x + 8, x + 12, x + 10, x + 14, x + 6, x + 10 };
+    int[] ys = { y + 2, y + 2, y + 8, y + 8, y + 16, y + 10 };
+    g.setColor(Color.BLACK);
+    g.fillPolygon(xs, ys, xs.length);
+  }
+
+  static void segment(Graphics2D g, int x, int y, Color color) {
+    g.setColor(color);
+    g.fillRect(x + 2, y + 2, CELL - 4, CELL - 4);
+  }
+}
@@ -0,0 +1,219 @@
+package co.eci.snake.ui.legacy;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Renders the board by writing pixels straight into the {@code int[]} behind a
+ * {@link BufferedImage}, for boards too large to draw shape by shape.
+ * <p>
+ * Every kind of cell (empty, each item, each snake color and shade) is drawn once, at
+ * construction, into a tile of {@code cellPixels x cellPixels} pixels. A frame first
+ * marks which tile each board cell shows, then copies tile rows into the image. The
+ * copy is split into horizontal bands painted in parallel on the common pool; small
+ * boards use a single band on the calling thread. The result is one image that the
+ * caller blits in a single {@code drawImage}.
+ * <p>
+ * Items are kept in a cell map of their own, updated from {@link Board#changesSince} so a
+ * frame only reads what changed since the last one. The full item sets are read again
+ * for a new board or when the board's journal has moved past the renderer.
+ * <p>
+ * The returned image is reused by the next frame. Not thread-safe.
+ */
+public final class RasterRenderer {
+  private static final int MIN_BAND_ROWS = 8;
+
+  private static final int EMPTY = 0;
+  private static final int OBSTACLE = 1;
+  private static final int MOUSE = 2;
+  private static final int TELEPORT = 3;
+  private static final int TURBO = 4;
+  private static final int SEGMENTS = 5;
+
+  private static final int HAS_OBSTACLE = 1;
+  private static final int HAS_MOUSE = 2;
+  private static final int HAS_TELEPORT = 4;
+  private static final int HAS_TURBO = 8;
+  /** Tile for each combination of item bits; later items cover earlier ones. */
+  private static final byte[] ITEM_TILE = new byte[16];
+
+  static {
+    for (int bits = 0; bits < ITEM_TILE.length; bits++) {
+      int tile = EMPTY;
+      if ((bits & HAS_OBSTACLE) != 0) tile = OBSTACLE;
+      if ((bits & HAS_MOUSE) != 0) tile = MOUSE;
+      if ((bits & HAS_TELEPORT) != 0) tile = TELEPORT;
+      if ((bits & HAS_TURBO) != 0) tile = TURBO;
+      ITEM_TILE[bits] = (byte) tile;
+    }
+  }
+
+  private final int width;
+  private final int height;
+  private final int cell;
+  private final int bands;
+  private final BufferedImage image;
+  private final int[] pixels;
+  private final int[][] tiles;
+  private final byte[] cells;
+  private final byte[] items;
+  private final Board.ItemListener onItem = this::itemChanged;
+  private Board itemsOf;
+  private long cursor;
+  private int[] body = new int[256];
+
+  public RasterRenderer(int width, int height, int cellPixels) {
+    this(width, height, cellPixels,
+        Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), height / MIN_BAND_ROWS)));
+  }
+
+  RasterRenderer(int width, int height, int cellPixels, int bands) {
+    if (width <= 0 || height <= 0) throw new IllegalArgumentException("Board dimensions must be positive");
+    if (cellPixels <= 0) throw new IllegalArgumentException("cellPixels must be > 0");
+    if (bands <= 0) throw new IllegalArgumentException("bands must be > 0");
+    this.width = width;
+    this.height = height;
+    this.cell = cellPixels;
+    this.bands = Math.min(bands, height);
+    this.image = new BufferedImage(width * cellPixels, height * cellPixels, BufferedImage.TYPE_INT_RGB);
+    this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    this.cells = new byte[width * height];
+    this.items = new byte[width * height];
+    this.tiles = new int[SEGMENTS + Glyphs.SEGMENT.length * Glyphs.SHADES][];
+    tiles[EMPTY] = tile(null);
+    tiles[OBSTACLE] = tile(g -> Glyphs.obstacle(g, 0, 0));
+    tiles[MOUSE] = tile(g -> Glyphs.mouse(g, 0, 0));
+    tiles[TELEPORT] = tile(g -> Glyphs.teleport(g, 0, 0));
+    tiles[TURBO] = tile(g -> Glyphs.turbo(g, 0, 0));
+    for (int kind = 0; kind < Glyphs.SEGMENT.length; kind++) {
+      for (int shade = 0; shade < Glyphs.SHADES; shade++) {
+        Color c = Glyphs.SEGMENT[kind][shade];
+        tiles[segmentTile(kind, shade)] = tile(g -> Glyphs.segment(g, 0, 0, c));
+      }
+    }
+  }
+
+  private static int segmentTile(int kind, int shade) {
+    return SEGMENTS + kind * Glyphs.SHADES + shade;
+  }
+
+  private interface Glyph {
+    void draw(Graphics2D g);
+  }
+
+  private int[] tile(Glyph glyph) {
+    var img = new BufferedImage(cell, cell, BufferedImage.TYPE_INT_RGB);
+    var g = img.createGraphics();
+    g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    g.setColor(Color.WHITE);
+    g.fillRect(0, 0, cell, cell);
+    g.setColor(Glyphs.GRID);
+    g.drawLine(0, 0, cell - 1, 0);
+    g.drawLine(0, 0, 0, cell - 1);
+    if (glyph != null) {
+      g.scale(cell / (double) Glyphs.CELL, cell / (double) Glyphs.CELL);
+      glyph.draw(g);
+    }
+    g.dispose();
+    return img.getRGB(0, 0, cell, cell, null, 0, cell);
+  }
+
+  public int bands() { return bands; }
+
+  /** Paints the board and {@code snakes} (the first one is the player) and returns the image. */
+  public BufferedImage render(Board board, List<Snake> snakes) {
+    syncItems(board);
+    for (int c = 0; c < cells.length; c++) cells[c] = ITEM_TILE[items[c]];
+    for (int i = 0; i < snakes.size(); i++) markBody(snakes.get(i), i);
+
+    if (bands == 1) {
+      paintRows(0, height);
+    } else {
+      IntStream.range(0, bands).parallel().forEach(b -> paintRows(b * height / bands, (b + 1) * height / bands));
+    }
+    return image;
+  }
+
+  private void syncItems(Board board) {
+    if (board == itemsOf) {
+      long next = board.changesSince(cursor, onItem);
+      if (next >= 0) {
+        cursor = next;
+        return;
+      }
+    }
+    synchronized (board) {
+      Arrays.fill(items, (byte) 0);
+      mark(board.obstacles(), HAS_OBSTACLE);
+      mark(board.mice(), HAS_MOUSE);
+      mark(board.teleports().keySet(), HAS_TELEPORT);
+      mark(board.turbo(), HAS_TURBO);
+      cursor = board.journalPosition();
+    }
+    itemsOf = board;
+  }
+
+  private void mark(Collection<Position> positions, int bit) {
+    for (Position p : positions) {
+      if (inside(p.x(), p.y())) items[p.y() * width + p.x()] |= (byte) bit;
+    }
+  }
+
+  private void itemChanged(Board.Item item, int x, int y, boolean added) {
+    if (!inside(x, y)) return;
+    int bit = switch (item) {
+      case OBSTACLE -> HAS_OBSTACLE;
+      case MOUSE -> HAS_MOUSE;
+      case TURBO -> HAS_TURBO;
+    };
+    int c = y * width + x;
+    items[c] = (byte) (added ? items[c] | bit : items[c] & ~bit);
+  }
+
+  private void markBody(Snake s, int index) {
+    int n;
+    boolean alive;
+    synchronized (s) {
+      alive = s.isAlive();
+      int length = s.length();
+      if (body.length < 2 * length) body = new int[Math.max(2 * length, body.length * 2)];
+      n = s.newestCells(length, body);
+    }
+    int kind = Glyphs.kind(alive, index);
+    for (int k = 0; k < n; k++) {
+      int x = body[2 * k], y = body[2 * k + 1];
+      if (inside(x, y)) cells[y * width + x] = (byte) segmentTile(kind, Math.min(k, Glyphs.SHADES - 1));
+    }
+  }
+
+  private boolean inside(int x, int y) {
+    return x >= 0 && y >= 0 && x < width && y < height;
+  }
+
+  private void paintRows(int from, int to) {
+    int stride = width * cell;
+    for (int cy = from; cy < to; cy++) {
+      int rowCells = cy * width;
+      for (int ty = 0; ty < cell; ty++) {
+        int out = (cy * cell + ty) * stride;
+        int in = ty * cell;
+        for (int cx = 0; cx < width; cx++) {
+          System.arraycopy(tiles[cells[rowCells + cx]], in, pixels, out, cell);
+          out += cell;
+        }
+      }
+    }
+  }
+}
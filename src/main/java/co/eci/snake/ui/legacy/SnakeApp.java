@@ -1,22 +1,20 @@
 package co.eci.snake.ui.legacy;
 
-import co.eci.snake.concurrency.SnakeRunner;
+import co.eci.snake.concurrency.ExecutionModel;
+import co.eci.snake.concurrency.GameSession;
 import co.eci.snake.core.Board;
 import co.eci.snake.core.Direction;
 import co.eci.snake.core.Position;
 import co.eci.snake.core.Snake;
 import co.eci.snake.core.engine.GameClock;
-import co.eci.snake.core.engine.GameSnapshot;
-import co.eci.snake.core.engine.GameStats;
+import co.eci.snake.core.engine.LiveSnapshot;
+import co.eci.snake.ipc.SharedStateWriter;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
@@ -27,29 +25,21 @@ public final class SnakeApp extends JFrame {
   private final GamePanel gamePanel;
   private final JButton actionButton;
   private final GameClock clock;
-  private final java.util.List<Snake> snakes = new java.util.ArrayList<>();
-  private final GameStats stats = new GameStats();
-  private final ReadWriteLock gameLock = new ReentrantReadWriteLock();
-  private volatile boolean paused = false;
-  private volatile GameSnapshot snapshot;
+  private final GameSession session;
+  private final List<Snake> snakes;
+  private volatile LiveSnapshot snapshot;
 
 
   public SnakeApp() {
     super("The Snake Race");
-    this.board = new Board(35, 28);
-
-    int N = Integer.getInteger("snakes", 40);
-    for (int i = 0; i < N; i++) {
-      int x = 2 + (i * 3) % board.width();
-      int y = 2 + (i * 2) % board.height();
-      var dir = Direction.values()[i % Direction.values().length];
-      snakes.add(Snake.of(x, y, dir));
-    }
+    this.session = GameSession.fromSystemProperties();
+    this.board = session.board();
+    this.snakes = session.snakes();
 
     this.gamePanel = new GamePanel(
             board,
             () -> snakes,
-            () -> paused,
+            session::isPaused,
             () -> snapshot
     );
 
@@ -63,10 +53,16 @@ public final class SnakeApp extends JFrame {
     pack();
     setLocationRelativeTo(null);
 
-    this.clock = new GameClock(60, () -> SwingUtilities.invokeLater(gamePanel::repaint));
+    var frames = FrameScheduler.forComponent(gamePanel, 60);
+    var mirror = SharedStateWriter.fromSystemProperty(session);
+    long[] tick = {0};
+    var overload = session.overload();
+    this.clock = new GameClock(60, () -> {
+      if (overload.admitFrame()) frames.requestFrame();
+      if (mirror != null) mirror.publish(tick[0]++);
+    });
 
-    var exec = Executors.newVirtualThreadPerTaskExecutor();
-    snakes.forEach(s -> exec.submit(new SnakeRunner(s, board, stats, gameLock, () -> paused)));
+    session.start(ExecutionModel.fromSystemProperty());
 
     actionButton.addActionListener((ActionEvent e) -> togglePause());
 
@@ -147,32 +143,13 @@ public final class SnakeApp extends JFrame {
   }
 
   private void togglePause() {
-    if (!paused) {
-      paused = true;
+    if (!session.isPaused()) {
+      session.setPaused(true);
       clock.pause();
-
-      gameLock.writeLock().lock();
-      try {
-        Snake longestAlive = snakes.stream()
-                .filter(Snake::isAlive)
-                .max((a, b) -> Integer.compare(a.length(), b.length()))
-                .orElse(null);
-
-        snapshot = new GameSnapshot(
-                List.copyOf(snakes),
-                longestAlive,
-                stats.worstSnake()
-        );
-      } finally {
-        gameLock.writeLock().unlock();
-      }
-
-      actionButton.setText("Resume");
-
-
+      snapshot = session.snapshot();
       actionButton.setText("Resume");
     } else {
-      paused = false;
+      session.setPaused(false);
       clock.resume();
       actionButton.setText("Action");
     }
@@ -186,20 +163,26 @@ public final class SnakeApp extends JFrame {
     private final Board board;
     private final Supplier<List<Snake>> snakesSupplier;
     private final BooleanSupplier pausedSupplier;
-    private final Supplier<GameSnapshot> snapshotSupplier;
-    private final int cell = 20;
+    private final Supplier<LiveSnapshot> snapshotSupplier;
+    private final int cell = Integer.getInteger("cell", Glyphs.CELL);
+    // -Drender=raster paints into a pixel buffer instead of drawing shapes.
+    private final RasterRenderer raster;
+    private final SegmentPainter segments = new SegmentPainter();
 
 
     public GamePanel(
             Board board,
             Supplier<List<Snake>> snakesSupplier,
             BooleanSupplier pausedSupplier,
-            Supplier<GameSnapshot> snapshotSupplier
+            Supplier<LiveSnapshot> snapshotSupplier
     ) {
       this.board = board;
       this.snakesSupplier = snakesSupplier;
       this.pausedSupplier = pausedSupplier;
       this.snapshotSupplier = snapshotSupplier;
+      this.raster = "raster".equalsIgnoreCase(System.getProperty("render"))
+              ? new RasterRenderer(board.width(), board.height(), cell)
+              : null;
       setPreferredSize(new Dimension(board.width() * cell + 1, board.height() * cell + 40));
       setBackground(Color.WHITE);
     }
@@ -210,76 +193,15 @@ public final class SnakeApp extends JFrame {
       var g2 = (Graphics2D) g.create();
       g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-      g2.setColor(new Color(220, 220, 220));
-      for (int x = 0; x <= board.width(); x++)
-        g2.drawLine(x * cell, 0, x * cell, board.height() * cell);
-      for (int y = 0; y <= board.height(); y++)
-        g2.drawLine(0, y * cell, board.width() * cell, y * cell);
-
-      // Obstáculos
-      g2.setColor(new Color(255, 102, 0));
-      for (var p : board.obstacles()) {
-        int x = p.x() * cell, y = p.y() * cell;
-        g2.fillRect(x + 2, y + 2, cell - 4, cell - 4);
-        g2.setColor(Color.RED);
-        g2.drawLine(x + 4, y + 4, x + cell - 6, y + 4);
-        g2.drawLine(x + 4, y + 8, x + cell - 6, y + 8);
-        g2.drawLine(x + 4, y + 12, x + cell - 6, y + 12);
-        g2.setColor(new Color(255, 102, 0));
+      if (raster != null) {
+        g2.drawImage(raster.render(board, snakesSupplier.get()), 0, 0, null);
+      } else {
+        var shapes = (Graphics2D) g2.create();
+        shapes.scale(cell / (double) Glyphs.CELL, cell / (double) Glyphs.CELL);
+        paintShapes(shapes);
+        shapes.dispose();
       }
 
-      // Ratones
-      g2.setColor(Color.BLACK);
-      for (var p : board.mice()) {
-        int x = p.x() * cell, y = p.y() * cell;
-        g2.fillOval(x + 4, y + 4, cell - 8, cell - 8);
-        g2.setColor(Color.WHITE);
-        g2.fillOval(x + 8, y + 8, cell - 16, cell - 16);
-        g2.setColor(Color.BLACK);
-      }
-
-      // Teleports (flechas rojas)
-      Map<Position, Position> tp = board.teleports();
-      g2.setColor(Color.RED);
-      for (var entry : tp.entrySet()) {
-        Position from = entry.getKey();
-        int x = from.x() * cell, y = from.y() * cell;
-        int[] xs = { x + 4, x + cell - 4, x + cell - 10, x + cell - 10, x + 4 };
-        int[] ys = { y + cell / 2, y + cell / 2, y + 4, y + cell - 4, y + cell / 2 };
-        g2.fillPolygon(xs, ys, xs.length);
-      }
-
-      // Turbo (rayos)
-      g2.setColor(Color.BLACK);
-      for (var p : board.turbo()) {
-        int x = p.x() * cell, y = p.y() * cell;
-        int[] xs = { x + 8, x + 12, x + 10, x + 14, x + 6, x + 10 };
-        int[] ys = { y + 2, y + 2, y + 8, y + 8, y + 16, y + 10 };
-        g2.fillPolygon(xs, ys, xs.length);
-      }
-
-      // Serpientes
-      var snakes = snakesSupplier.get();
-      int idx = 0;
-      for (Snake s : snakes) {
-        var body = s.snapshot().toArray(new Position[0]);
-        for (int i = 0; i < body.length; i++) {
-          var p = body[i];
-          Color base = s.isAlive()
-                  ? (idx == 0 ? new Color(0,170,0) : new Color(0,160,180))
-                  : new Color(120,120,120);
-
-          int shade = Math.max(0, 40 - i * 4);
-          g2.setColor(new Color(
-              Math.min(255, base.getRed() + shade),
-              Math.min(255, base.getGreen() + shade),
-              Math.min(255, base.getBlue() + shade)));
-          g2.fillRect(p.x() * cell + 2, p.y() * cell + 2, cell - 4, cell - 4);
-        }
-        idx++;
-      }
-
-
       if (pausedSupplier.getAsBoolean()) {
         g2.setColor(new Color(0, 0, 0, 150));
         g2.fillRect(0, 0, getWidth(), getHeight());
@@ -287,15 +209,16 @@ public final class SnakeApp extends JFrame {
         g2.setColor(Color.WHITE);
         g2.setFont(g2.getFont().deriveFont(Font.BOLD, 18f));
 
-        GameSnapshot snap = snapshotSupplier.get();
+        LiveSnapshot snap = snapshotSupplier.get();
 
         int y = 40;
         g2.drawString("PAUSED", 20, y);
         y += 30;
 
-        if (snap != null && snap.longestAlive != null) {
+        int longest = snap == null ? -1 : snap.longestAlive();
+        if (longest >= 0) {
           g2.drawString(
-                  "Longest alive snake: " + snap.longestAlive.length(),
+                  "Longest alive snake: " + snap.length(longest),
                   20, y
           );
           y += 25;
@@ -304,13 +227,58 @@ public final class SnakeApp extends JFrame {
           y += 25;
         }
 
-        if (snap != null && snap.worstSnake != null) {
-          g2.drawString("Worst snake: first dead (length " + snap.worstSnake.length() + ")", 20, y);
+        if (snap != null && snap.worst() >= 0) {
+          g2.drawString("Worst snake: first dead (length " + snap.length(snap.worst()) + ")", 20, y);
         }
       }
       g2.dispose();
 
     }
+
+    private void paintShapes(Graphics2D g2) {
+      // Laid out for Glyphs.CELL; the caller scales to the configured cell size.
+      int unit = Glyphs.CELL;
+      g2.setColor(Glyphs.GRID);
+      for (int x = 0; x <= board.width(); x++)
+        g2.drawLine(x * unit, 0, x * unit, board.height() * unit);
+      for (int y = 0; y <= board.height(); y++)
+        g2.drawLine(0, y * unit, board.width() * unit, y * unit);
+
+      // Obstáculos
+      for (var p : board.obstacles()) Glyphs.obstacle(g2, p.x() * unit, p.y() * unit);
+
+      // Ratones
+      for (var p : board.mice()) Glyphs.mouse(g2, p.x() * unit, p.y() * unit);
+
+      // Teleports (flechas rojas)
+      Map<Position, Position> tp = board.teleports();
+      for (var from : tp.keySet()) Glyphs.teleport(g2, from.x() * unit, from.y() * unit);
+
+      // Turbo (rayos)
+      for (var p : board.turbo()) Glyphs.turbo(g2, p.x() * unit, p.y() * unit);
+
+      // Serpientes
+      var snakes = snakesSupplier.get();
+      int idx = 0;
+      segments.g2 = g2;
+      for (Snake s : snakes) {
+        segments.kind = Glyphs.kind(s.isAlive(), idx);
+        s.forEachSegment(segments);
+        idx++;
+      }
+      segments.g2 = null;
+    }
+  }
+
+  /** Draws the segments of one snake at a time; reused across snakes and frames. */
+  private static final class SegmentPainter implements Snake.SegmentVisitor {
+    Graphics2D g2;
+    int kind;
+
+    @Override
+    public void visit(int index, int x, int y) {
+      Glyphs.segment(g2, x * Glyphs.CELL, y * Glyphs.CELL, Glyphs.segment(kind, index));
+    }
   }
 
   public static void launch() {
@@ -0,0 +1,243 @@
+package co.eci.snake.ui.terminal;
+
+import co.eci.snake.concurrency.ExecutionModel;
+import co.eci.snake.concurrency.GameSession;
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import co.eci.snake.core.engine.GameClock;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Draws the game on an ANSI terminal, one character per cell, for machines without a
+ * display.
+ * <p>
+ * The renderer remembers what the terminal currently shows and each frame writes only
+ * the cells that changed: a cursor-positioning escape where the next changed cell is
+ * not right after the last one written, a color escape where the color changes, then
+ * the character. The whole frame is assembled in one reusable buffer and written with
+ * a single {@code write}, so a frame where nothing moved costs nothing and a busy one
+ * costs a few bytes per moving snake. The frame rate is whatever the caller's clock
+ * gives it; {@link #launch()} caps it with {@code -Dfps}.
+ * <p>
+ * Cells: {@code #} obstacle, {@code *} mouse, {@code !} turbo, {@code O} teleport,
+ * {@code @} head and {@code o} body (green for the first snake, cyan for the rest,
+ * {@code x} in gray once dead). Not thread-safe.
+ */
+public final class TerminalRenderer implements AutoCloseable {
+  private static final byte ESC = 0x1B;
+
+  private static final int EMPTY = 0;
+  private static final int OBSTACLE = 1;
+  private static final int MOUSE = 2;
+  private static final int TURBO = 3;
+  private static final int TELEPORT = 4;
+  private static final int PLAYER_HEAD = 5;
+  private static final int PLAYER_BODY = 6;
+  private static final int OTHER_HEAD = 7;
+  private static final int OTHER_BODY = 8;
+  private static final int DEAD = 9;
+
+  private static final byte[] GLYPH = {' ', '#', '*', '!', 'O', '@', 'o', '@', 'o', 'x'};
+  private static final byte[][] COLOR = sgr("0", "31", "97", "33", "35", "32;1", "32", "36;1", "36", "90");
+
+  private final Board board;
+  private final List<Snake> snakes;
+  private final OutputStream out;
+  private final int width;
+  private final int height;
+  private final byte[] shown;
+  private final byte[] next;
+  private int[] body = new int[256];
+  private byte[] buffer = new byte[16 * 1024];
+  private int size;
+  private String status = "";
+  private boolean started;
+  private long bytesWritten;
+
+  public TerminalRenderer(Board board, List<Snake> snakes, OutputStream out) {
+    this.board = Objects.requireNonNull(board, "board");
+    this.snakes = List.copyOf(snakes);
+    this.out = Objects.requireNonNull(out, "out");
+    this.width = board.width();
+    this.height = board.height();
+    this.shown = new byte[width * height];
+    this.next = new byte[width * height];
+  }
+
+  private static byte[][] sgr(String... codes) {
+    var out = new byte[codes.length][];
+    for (int i = 0; i < codes.length; i++) {
+      out[i] = ("\033[" + codes[i] + "m").getBytes(StandardCharsets.US_ASCII);
+    }
+    return out;
+  }
+
+  /** Draws the current state and returns the number of bytes written for it. */
+  public int render() {
+    size = 0;
+    if (!started) {
+      put(ESC).put("[?25l").put(ESC).put("[2J");
+      Arrays.fill(shown, (byte) -1);
+      started = true;
+    }
+
+    Arrays.fill(next, (byte) EMPTY);
+    mark(board.obstacles(), OBSTACLE);
+    mark(board.mice(), MOUSE);
+    mark(board.teleports().keySet(), TELEPORT);
+    mark(board.turbo(), TURBO);
+    int alive = 0;
+    for (int i = 0; i < snakes.size(); i++) {
+      if (markBody(snakes.get(i), i)) alive++;
+    }
+
+    int cursor = -1;
+    int color = -1;
+    for (int c = 0; c < next.length; c++) {
+      byte kind = next[c];
+      if (kind == shown[c]) continue;
+      if (c != cursor || c % width == 0) moveTo(c / width, c % width);
+      if (kind != color) {
+        put(COLOR[kind]);
+        color = kind;
+      }
+      put(GLYPH[kind]);
+      shown[c] = kind;
+      cursor = c + 1;
+    }
+
+    String line = "alive " + alive + "/" + snakes.size();
+    if (!line.equals(status)) {
+      moveTo(height, 0);
+      put(COLOR[EMPTY]).put(line).put(ESC).put("[K");
+      status = line;
+      color = EMPTY;
+    }
+    if (color >= 0 && color != EMPTY) put(COLOR[EMPTY]);
+    return flush();
+  }
+
+  /** Total bytes written so far. */
+  public long bytesWritten() { return bytesWritten; }
+
+  /** Restores the cursor and colors and moves below the board. */
+  @Override
+  public void close() {
+    size = 0;
+    put(COLOR[EMPTY]);
+    moveTo(height + 1, 0);
+    put(ESC).put("[?25h");
+    flush();
+  }
+
+  private void mark(Collection<Position> items, int kind) {
+    for (Position p : items) {
+      if (inside(p.x(), p.y())) next[p.y() * width + p.x()] = (byte) kind;
+    }
+  }
+
+  /** Marks the body of snake {@code index}; returns whether it is alive. */
+  private boolean markBody(Snake s, int index) {
+    int n;
+    boolean alive;
+    synchronized (s) {
+      alive = s.isAlive();
+      int length = s.length();
+      if (body.length < 2 * length) body = new int[Math.max(2 * length, body.length * 2)];
+      n = s.newestCells(length, body);
+    }
+    int head = !alive ? DEAD : index == 0 ? PLAYER_HEAD : OTHER_HEAD;
+    int rest = !alive ? DEAD : index == 0 ? PLAYER_BODY : OTHER_BODY;
+    for (int k = n - 1; k >= 0; k--) {
+      int x = body[2 * k], y = body[2 * k + 1];
+      if (inside(x, y)) next[y * width + x] = (byte) (k == 0 ? head : rest);
+    }
+    return alive;
+  }
+
+  private boolean inside(int x, int y) {
+    return x >= 0 && y >= 0 && x < width && y < height;
+  }
+
+  private void moveTo(int row, int col) {
+    put(ESC).put('[');
+    putInt(row + 1);
+    put(';');
+    putInt(col + 1);
+    put('H');
+  }
+
+  private void putInt(int v) {
+    if (v >= 10) putInt(v / 10);
+    put((byte) ('0' + v % 10));
+  }
+
+  private TerminalRenderer put(char c) { return put((byte) c); }
+
+  private TerminalRenderer put(byte b) {
+    if (size == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    buffer[size++] = b;
+    return this;
+  }
+
+  private TerminalRenderer put(byte[] bytes) {
+    if (size + bytes.length > buffer.length) buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes.length));
+    System.arraycopy(bytes, 0, buffer, size, bytes.length);
+    size += bytes.length;
+    return this;
+  }
+
+  private TerminalRenderer put(String ascii) {
+    for (int i = 0; i < ascii.length(); i++) put((byte) ascii.charAt(i));
+    return this;
+  }
+
+  private int flush() {
+    if (size == 0) return 0;
+    try {
+      out.write(buffer, 0, size);
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    bytesWritten += size;
+    return size;
+  }
+
+  /**
+   * Runs a game drawn on the terminal at most {@code -Dfps} frames per second
+   * (default 10), with the same {@code -Dsnakes}, {@code -Dscenario} and {@code -Dexec}
+   * options as the other front-ends.
+   */
+  public static void launch() {
+    var session = GameSession.fromSystemProperties();
+    int fps = Math.max(1, Integer.getInteger("fps", 10));
+    var renderer = new TerminalRenderer(session.board(), session.snakes(), new FileOutputStream(FileDescriptor.out));
+    var overload = session.overload();
+    var clock = new GameClock(Math.max(1, 1000 / fps), () -> {
+      if (!overload.admitFrame()) return;
+      synchronized (renderer) {
+        renderer.render();
+      }
+    });
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      clock.close();
+      synchronized (renderer) {
+        renderer.close();
+      }
+    }));
+    session.start(ExecutionModel.fromSystemProperty());
+    clock.start();
+  }
+}
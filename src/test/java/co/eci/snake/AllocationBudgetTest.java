@@ -0,0 +1,204 @@
+package co.eci.snake;
+
+import co.eci.snake.concurrency.AvoidTrapsStrategy;
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import co.eci.snake.core.engine.GameStats;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Bytes allocated per operation on the move path, measured with the per-thread
+ * allocation counter after a warm-up. Each test fails when its budget is exceeded,
+ * so a new allocation on a hot path shows up as a test failure rather than as GC
+ * pressure later. Budgets are in bytes per operation and can be overridden with
+ * {@code -Dalloc.budget.step}, {@code .advance}, {@code .stats}, {@code .snapshot},
+ * {@code .visit}, {@code .view} and {@code .decide}.
+ * <p>
+ * The defaults are what the code allocates today with compressed oops: two
+ * {@code Position}s per step, nothing per advance once the body's array has grown,
+ * a map node and a boxed order per death, and a deque copy per body snapshot. Visiting
+ * the body and reading the cached body view of a snake that has not moved allocate
+ * nothing ({@code .visit} and {@code .view}), and neither does a trap-avoiding bot's
+ * look-ahead ({@code .decide}).
+ */
+class AllocationBudgetTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int MEASURED = 20_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @BeforeAll
+    static void enableAllocationCounting() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "allocation counting not supported");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    @DisplayName("Un paso sobre el tablero no debería exceder su presupuesto de memoria")
+    void stepShouldStayWithinBudget() {
+        var board = new Board(60, 60);
+        var snake = new Snake[] {Snake.of(1, 1, Direction.RIGHT)};
+        measureSteps(board, snake, WARMUP);
+        double perStep = measureSteps(board, snake, MEASURED);
+
+        assertWithinBudget("step", perStep, 48);
+    }
+
+    @Test
+    @DisplayName("Avanzar una serpiente no debería exceder su presupuesto de memoria")
+    void advanceShouldStayWithinBudget() {
+        var cells = new Position[64];
+        for (int i = 0; i < cells.length; i++) cells[i] = new Position(i, 0);
+        var snake = Snake.of(0, 0, Direction.RIGHT);
+        for (int i = 0; i < WARMUP; i++) snake.advance(cells[i & 63], false);
+
+        long before = allocatedBytes();
+        for (int i = 0; i < MEASURED; i++) snake.advance(cells[i & 63], false);
+        double perAdvance = (double) (allocatedBytes() - before) / MEASURED;
+
+        assertWithinBudget("advance", perAdvance, 0);
+    }
+
+    @Test
+    @DisplayName("Registrar una muerte no debería exceder su presupuesto de memoria")
+    void statsRegistrationShouldStayWithinBudget() {
+        var warm = new GameStats();
+        for (Snake s : snakes(WARMUP)) warm.registerDeath(s);
+
+        List<Snake> dead = snakes(MEASURED);
+        var stats = new GameStats();
+        long before = allocatedBytes();
+        for (Snake s : dead) stats.registerDeath(s);
+        for (Snake s : dead) stats.registerDeath(s);
+        double perRegistration = (double) (allocatedBytes() - before) / MEASURED;
+
+        assertWithinBudget("stats", perRegistration, 96);
+    }
+
+    @Test
+    @DisplayName("Copiar el cuerpo de una serpiente no debería exceder su presupuesto de memoria")
+    void snapshotShouldStayWithinBudget() {
+        var snake = Snake.of(0, 0, Direction.RIGHT);
+        for (int i = 1; i <= 5; i++) snake.advance(new Position(i, 0), false);
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) sink += snake.snapshot().size();
+        long before = allocatedBytes();
+        for (int i = 0; i < MEASURED; i++) sink += snake.snapshot().size();
+        double perSnapshot = (double) (allocatedBytes() - before) / MEASURED;
+
+        assertTrue(sink > 0);
+        assertWithinBudget("snapshot", perSnapshot, 80);
+    }
+
+    @Test
+    @DisplayName("Recorrer el cuerpo de una serpiente no debería reservar memoria")
+    void segmentVisitShouldNotAllocate() {
+        var snake = longSnake();
+        long[] sink = new long[1];
+        Snake.SegmentVisitor sum = (i, x, y) -> sink[0] += x;
+
+        for (int i = 0; i < WARMUP; i++) snake.forEachSegment(sum);
+        long before = allocatedBytes();
+        for (int i = 0; i < MEASURED; i++) snake.forEachSegment(sum);
+        double perVisit = (double) (allocatedBytes() - before) / MEASURED;
+
+        assertTrue(sink[0] > 0);
+        assertWithinBudget("visit", perVisit, 0);
+    }
+
+    @Test
+    @DisplayName("Leer la vista del cuerpo de una serpiente quieta no debería reservar memoria")
+    void idleBodyViewShouldNotAllocate() {
+        var snake = longSnake();
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) sink += snake.body().size();
+        long before = allocatedBytes();
+        for (int i = 0; i < MEASURED; i++) sink += snake.body().size();
+        double perView = (double) (allocatedBytes() - before) / MEASURED;
+
+        assertTrue(sink > 0);
+        assertWithinBudget("view", perView, 0);
+    }
+
+    @Test
+    @DisplayName("La anticipación del bot que evita trampas no debería reservar memoria")
+    void lookaheadDecisionShouldNotAllocate() {
+        var board = new Board(40, 30, Board.Items.DEFAULT, new SplittableRandom(3));
+        var snake = Snake.of(20, 15, Direction.RIGHT);
+        var bot = new AvoidTrapsStrategy(8);
+        var random = new SplittableRandom(5);
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) sink += bot.decide(snake, board, false, random) == null ? 0 : 1;
+        long before = allocatedBytes();
+        for (int i = 0; i < MEASURED; i++) sink += bot.decide(snake, board, false, random) == null ? 0 : 1;
+        double perDecision = (double) (allocatedBytes() - before) / MEASURED;
+
+        assertTrue(sink >= 0);
+        assertWithinBudget("decide", perDecision, 0);
+    }
+
+    private static Snake longSnake() {
+        var snake = Snake.of(0, 0, Direction.RIGHT);
+        for (int i = 1; i <= 200; i++) snake.advance(new Position(i, 0), true);
+        return snake;
+    }
+
+    /**
+     * Average bytes per plain move. Moves that eat, and snakes that crash, take the rare
+     * item-spawning paths; they are stepped but left out of the average.
+     */
+    private static double measureSteps(Board board, Snake[] snake, int steps) {
+        long bytes = 0;
+        int counted = 0;
+        for (int i = 0; i < steps; i++) {
+            long before = allocatedBytes();
+            var res = board.step(snake[0]);
+            long after = allocatedBytes();
+            if (res == Board.MoveResult.MOVED || res == Board.MoveResult.TELEPORTED) {
+                bytes += after - before;
+                counted++;
+            } else if (res == Board.MoveResult.HIT_OBSTACLE) {
+                var head = snake[0].head();
+                snake[0] = Snake.of(head.x(), head.y() + 1, Direction.values()[i & 3]);
+            }
+            if ((i & 7) == 0) snake[0].turn(Direction.values()[(i >>> 3) & 3]);
+        }
+        assertTrue(counted > steps / 2, "too few plain moves measured: " + counted);
+        return (double) bytes / counted;
+    }
+
+    private static List<Snake> snakes(int n) {
+        var list = new ArrayList<Snake>(n);
+        for (int i = 0; i < n; i++) list.add(Snake.of(i % 100, i / 100, Direction.UP));
+        return list;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static void assertWithinBudget(String name, double measured, long defaultBudget) {
+        long budget = Long.getLong("alloc.budget." + name, defaultBudget);
+        // Truncated: rare one-off allocations (a deoptimisation, a table resize) only add a
+        // fraction of a byte to the average, while a new per-operation object adds at least 16.
+        assertTrue((long) measured <= budget,
+                String.format("%s allocated %.1f bytes/op, budget is %d", name, measured, budget));
+    }
+}
@@ -1,17 +1,20 @@
 package co.eci.snake;
 
 import co.eci.snake.concurrency.SnakeRunner;
+import co.eci.snake.concurrency.TurnStrategy;
 import co.eci.snake.core.Board;
 import co.eci.snake.core.Direction;
 import co.eci.snake.core.Position;
 import co.eci.snake.core.Snake;
 import co.eci.snake.core.engine.GameSnapshot;
 import co.eci.snake.core.engine.GameStats;
+import co.eci.snake.core.engine.VirtualTimeSource;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.SplittableRandom;
 import java.util.concurrent.*;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -22,6 +25,11 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class ConcurrencyIntegrationTest {
 
+    // Runners sleep on virtual time, so each test plays seconds of game in milliseconds.
+    private static final long SEED = 11;
+
+    private VirtualTimeSource time;
+    private SplittableRandom random;
     private Board board;
     private GameStats stats;
     private ReadWriteLock gameLock;
@@ -30,13 +38,21 @@ class ConcurrencyIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        board = new Board(30, 30);
+        time = new VirtualTimeSource();
+        random = new SplittableRandom(SEED);
+        board = new Board(30, 30, Board.Items.DEFAULT, random.split());
         stats = new GameStats();
         gameLock = new ReentrantReadWriteLock();
         paused = new AtomicBoolean(false);
         executor = Executors.newVirtualThreadPerTaskExecutor();
     }
 
+    private Runnable runner(Snake snake) {
+        var runner = new SnakeRunner(snake, board, stats, gameLock, paused::get, TurnStrategy.random(), null,
+            random.split(), time);
+        return time.participant(runner);
+    }
+
     @Test
     @DisplayName("Debería manejar múltiples serpientes concurrentemente sin excepciones")
     void shouldHandleMultipleConcurrentSnakesWithoutExceptions() throws InterruptedException {
@@ -54,16 +70,15 @@ class ConcurrencyIntegrationTest {
         
         // Iniciar todos los runners concurrentemente
         for (int i = 0; i < numSnakes; i++) {
-            SnakeRunner runner = new SnakeRunner(snakes[i], board, stats, gameLock, paused::get);
-            futures[i] = executor.submit(runner);
+            futures[i] = executor.submit(runner(snakes[i]));
         }
         
         // Dejar correr por un tiempo significativo
-        Thread.sleep(2000);
+        time.advance(2000, TimeUnit.MILLISECONDS);
         
         // Pausar y crear snapshot
         paused.set(true);
-        Thread.sleep(100);
+        time.advance(100, TimeUnit.MILLISECONDS);
         
         gameLock.writeLock().lock();
         try {
@@ -94,7 +109,7 @@ class ConcurrencyIntegrationTest {
         }
         
         // Esperar a que todos terminen
-        Thread.sleep(500);
+        time.advance(500, TimeUnit.MILLISECONDS);
         
         // Verificar estado final
         int finalAliveCount = 0;
@@ -120,18 +135,17 @@ class ConcurrencyIntegrationTest {
         
         // Iniciar runners
         for (int i = 0; i < numSnakes; i++) {
-            SnakeRunner runner = new SnakeRunner(snakes[i], board, stats, gameLock, paused::get);
-            futures[i] = executor.submit(runner);
+            futures[i] = executor.submit(runner(snakes[i]));
         }
         
         // Dejar correr
-        Thread.sleep(500);
+        time.advance(500, TimeUnit.MILLISECONDS);
         
         // Realizar múltiples pausas y reanudaciones
         for (int cycle = 0; cycle < 5; cycle++) {
             // Pausar
             paused.set(true);
-            Thread.sleep(100);
+            time.advance(100, TimeUnit.MILLISECONDS);
             
             // Crear snapshot y verificar consistencia
             gameLock.writeLock().lock();
@@ -152,7 +166,7 @@ class ConcurrencyIntegrationTest {
                 for (Snake snake : snakes) {
                     if (snake.isAlive()) {
                         Position pos = snake.head();
-                        Thread.sleep(50);
+                        time.advance(50, TimeUnit.MILLISECONDS);
                         assertEquals(pos, snake.head());
                     }
                 }
@@ -163,7 +177,7 @@ class ConcurrencyIntegrationTest {
             
             // Reanudar
             paused.set(false);
-            Thread.sleep(200);
+            time.advance(200, TimeUnit.MILLISECONDS);
         }
         
         // Interrumpir todos
@@ -171,7 +185,7 @@ class ConcurrencyIntegrationTest {
             future.cancel(true);
         }
         
-        Thread.sleep(500);
+        time.advance(500, TimeUnit.MILLISECONDS);
     }
 
     @Test
@@ -192,22 +206,21 @@ class ConcurrencyIntegrationTest {
         
         // Iniciar todos los runners
         for (int i = 0; i < numSnakes; i++) {
-            SnakeRunner runner = new SnakeRunner(snakes[i], board, stats, gameLock, paused::get);
-            futures[i] = executor.submit(runner);
+            futures[i] = executor.submit(runner(snakes[i]));
         }
         
         // Simular actividad intensa con pausas frecuentes
         for (int i = 0; i < 10; i++) {
-            Thread.sleep(100);
+            time.advance(100, TimeUnit.MILLISECONDS);
             
             // Pausa breve
             paused.set(true);
-            Thread.sleep(20);
+            time.advance(20, TimeUnit.MILLISECONDS);
             paused.set(false);
         }
         
         // Esperar más tiempo
-        Thread.sleep(1000);
+        time.advance(1000, TimeUnit.MILLISECONDS);
         
         // Verificar que no hay deadlocks (los hilos deberían responder a interrupción)
         boolean allResponsive = true;
@@ -243,16 +256,15 @@ class ConcurrencyIntegrationTest {
             
             // Iniciar runners
             for (int i = 0; i < numSnakes; i++) {
-                SnakeRunner runner = new SnakeRunner(snakes[i], board, stats, gameLock, paused::get);
-                futures[i] = executor.submit(runner);
+                futures[i] = executor.submit(runner(snakes[i]));
             }
             
             // Dejar correr
-            Thread.sleep(800);
+            time.advance(800, TimeUnit.MILLISECONDS);
             
             // Pausar y verificar integridad
             paused.set(true);
-            Thread.sleep(100);
+            time.advance(100, TimeUnit.MILLISECONDS);
             
             gameLock.writeLock().lock();
             try {
@@ -289,7 +301,7 @@ class ConcurrencyIntegrationTest {
                 future.cancel(true);
             }
             
-            Thread.sleep(200);
+            time.advance(200, TimeUnit.MILLISECONDS);
         }
     }
 
@@ -311,21 +323,20 @@ class ConcurrencyIntegrationTest {
         
         // Iniciar juego
         for (int i = 0; i < numSnakes; i++) {
-            SnakeRunner runner = new SnakeRunner(snakes[i], board, stats, gameLock, paused::get);
-            futures[i] = executor.submit(runner);
+            futures[i] = executor.submit(runner(snakes[i]));
         }
         
         // Simular sesión de juego
-        long startTime = System.currentTimeMillis();
+        long startTime = time.nanoTime();
         int pauseCount = 0;
         
-        while (System.currentTimeMillis() - startTime < 3000) { // 3 segundos de juego
-            Thread.sleep(200);
+        while (time.nanoTime() - startTime < TimeUnit.SECONDS.toNanos(3)) { // 3 segundos de juego
+            time.advance(200, TimeUnit.MILLISECONDS);
             
             // Pausar ocasionalmente
             if (pauseCount % 5 == 0) {
                 paused.set(true);
-                Thread.sleep(100);
+                time.advance(100, TimeUnit.MILLISECONDS);
                 
                 // Verificar estado durante pausa
                 gameLock.writeLock().lock();
@@ -356,7 +367,7 @@ class ConcurrencyIntegrationTest {
             future.cancel(true);
         }
         
-        Thread.sleep(500);
+        time.advance(500, TimeUnit.MILLISECONDS);
         
         // Verificación final del juego
         long finalAliveCount = java.util.List.of(snakes).stream()
@@ -394,20 +405,19 @@ class ConcurrencyIntegrationTest {
         
         // Iniciar todos los runners
         for (int i = 0; i < numSnakes; i++) {
-            SnakeRunner runner = new SnakeRunner(snakes[i], board, stats, gameLock, paused::get);
-            futures[i] = executor.submit(runner);
+            futures[i] = executor.submit(runner(snakes[i]));
         }
         
         // Simular condiciones extremas: pausas muy frecuentes
         for (int i = 0; i < 50; i++) {
             paused.set(true);
-            Thread.sleep(10); // Pausas muy breves
+            time.advance(10, TimeUnit.MILLISECONDS); // Pausas muy breves
             paused.set(false);
-            Thread.sleep(20); // Períodos muy cortos de actividad
+            time.advance(20, TimeUnit.MILLISECONDS); // Períodos muy cortos de actividad
         }
         
         // Período más largo de actividad
-        Thread.sleep(1000);
+        time.advance(1000, TimeUnit.MILLISECONDS);
         
         // Verificar que el sistema sigue funcionando
         boolean systemStable = true;
@@ -437,7 +447,7 @@ class ConcurrencyIntegrationTest {
             future.cancel(true);
         }
         
-        Thread.sleep(500);
+        time.advance(500, TimeUnit.MILLISECONDS);
     }
 
     @AfterEach
@@ -0,0 +1,92 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardWriterTest {
+
+    @Test
+    @DisplayName("Debería dar los mismos resultados que Board.step para una sola serpiente")
+    void shouldMatchDirectStepping() {
+        var direct = new Board(20, 20, Board.Items.DEFAULT, new SplittableRandom(8));
+        var queued = new Board(20, 20, Board.Items.DEFAULT, new SplittableRandom(8));
+        var a = Snake.of(3, 3, Direction.RIGHT);
+        var b = Snake.of(3, 3, Direction.RIGHT);
+
+        try (var writer = new BoardWriter(queued, 4)) {
+            writer.start();
+            for (int i = 0; i < 200; i++) {
+                Direction turn = Direction.values()[(i / 7) % 4];
+                a.turn(turn);
+                b.turn(turn);
+                var expected = direct.step(a);
+                assertEquals(expected, writer.step(b), "step " + i);
+                if (expected == Board.MoveResult.HIT_OBSTACLE) break;
+            }
+            assertEquals(a.head(), b.head());
+            assertEquals(direct.mice(), queued.mice());
+            assertEquals(direct.obstacles(), queued.obstacles());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería aplicar todos los movimientos de muchos productores en lotes")
+    void shouldApplyEveryMoveFromManyProducers() throws Exception {
+        var board = new Board(64, 64, new Board.Items(0, 0, 0, 0), new SplittableRandom(1));
+        List<Snake> snakes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) snakes.add(Snake.of(i % 64, i / 64, Direction.RIGHT));
+
+        try (var writer = new BoardWriter(board, 16)) {
+            writer.start();
+            List<Future<?>> producers = new ArrayList<>();
+            try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (Snake s : snakes) {
+                    producers.add(exec.submit(() -> {
+                        for (int k = 0; k < 50; k++) assertEquals(Board.MoveResult.MOVED, writer.step(s));
+                    }));
+                }
+            }
+            for (Future<?> f : producers) f.get();
+            assertEquals(200 * 50, writer.moves());
+            assertTrue(writer.batches() <= writer.moves());
+        }
+        for (Snake s : snakes) assertEquals(50, s.moves());
+    }
+
+    @Test
+    @DisplayName("Debería devolver null tras cerrarse y exigir start antes de usarse")
+    void shouldReturnNullOnceClosed() {
+        var board = new Board(10, 10, new Board.Items(0, 0, 0, 0), new SplittableRandom(1));
+        var snake = Snake.of(1, 1, Direction.DOWN);
+        var writer = new BoardWriter(board);
+        assertThrows(IllegalStateException.class, () -> writer.step(snake));
+
+        writer.start();
+        assertEquals(Board.MoveResult.MOVED, writer.step(snake));
+        writer.close();
+        assertNull(writer.step(snake));
+    }
+
+    @Test
+    @DisplayName("La sesión con escritor único debería mover a las serpientes")
+    void sessionShouldRunThroughSingleWriter() throws InterruptedException {
+        try (var session = Scenario.classic(30, 30, 6, 2).newSession()) {
+            session.start(ExecutionModel.VIRTUAL, true);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (session.metrics().steps() < 30 && System.nanoTime() < deadline) Thread.sleep(20);
+            assertTrue(session.metrics().steps() >= 30);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.Board;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionModelTest {
+
+    @Test
+    @DisplayName("Debería interpretar los nombres de modelo sin importar mayúsculas")
+    void shouldParseModelNames() {
+        assertEquals(ExecutionModel.VIRTUAL, ExecutionModel.parse("virtual"));
+        assertEquals(ExecutionModel.PLATFORM, ExecutionModel.parse(" Platform "));
+        assertEquals(ExecutionModel.WHEEL, ExecutionModel.parse("WHEEL"));
+        assertEquals(ExecutionModel.TILES, ExecutionModel.parse("tiles"));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionModel.parse("carrier"));
+    }
+
+    @Test
+    @DisplayName("Cada modelo con hilo por runner debería ejecutar todos los runners a la vez")
+    void everyModelShouldRunAllRunnersConcurrently() throws InterruptedException {
+        // WHEEL never blocks a worker per runner, so its pool is sized to the cores instead
+        for (ExecutionModel model : new ExecutionModel[] {ExecutionModel.VIRTUAL, ExecutionModel.PLATFORM}) {
+            int runners = 16;
+            CountDownLatch allStarted = new CountDownLatch(runners);
+            var exec = model.newExecutor(runners);
+            for (int i = 0; i < runners; i++) {
+                exec.submit(() -> {
+                    allStarted.countDown();
+                    allStarted.await();
+                    return null;
+                });
+            }
+            assertTrue(allStarted.await(2, TimeUnit.SECONDS), model + " did not start every runner");
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("La sesión debería registrar pasos y retraso de los runners")
+    void sessionShouldRecordRunnerMetrics() throws InterruptedException {
+        for (ExecutionModel model : ExecutionModel.values()) {
+            try (var session = GameSession.withSnakes(new Board(30, 30), 4)) {
+                session.start(model);
+                long deadline = System.currentTimeMillis() + 2000;
+                while (session.metrics().wakeups() < 4 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(20);
+                }
+                assertTrue(session.metrics().steps() >= 4, model + " steps");
+                assertTrue(session.metrics().meanLagMillis() >= 0);
+                assertTrue(session.metrics().maxLagMillis() >= session.metrics().meanLagMillis());
+            }
+        }
+    }
+}
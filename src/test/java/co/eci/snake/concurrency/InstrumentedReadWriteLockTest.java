@@ -0,0 +1,136 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.LockProfiler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedReadWriteLockTest {
+
+    private InstrumentedReadWriteLock lock;
+
+    @BeforeEach
+    void setUp() {
+        LockProfiler.reset();
+        lock = new InstrumentedReadWriteLock("testLock");
+    }
+
+    @Test
+    @DisplayName("Debería atribuir cada adquisición al método que toma el lock")
+    void shouldAttributeAcquisitionsToCallSite() {
+        for (int i = 0; i < 3; i++) {
+            lock.readLock().lock();
+            lock.readLock().unlock();
+        }
+
+        var site = findSite("testLock.read @ InstrumentedReadWriteLockTest.shouldAttributeAcquisitionsToCallSite");
+        assertEquals(3, site.acquisitions());
+        assertEquals(1, site.maxQueueLength());
+    }
+
+    @Test
+    @DisplayName("Debería medir la espera y el tiempo retenido bajo contención")
+    void shouldMeasureWaitAndHoldUnderContention() throws InterruptedException {
+        CountDownLatch held = new CountDownLatch(1);
+        Thread holder = Thread.ofPlatform().start(() -> {
+            lock.writeLock().lock();
+            try {
+                held.countDown();
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        assertTrue(held.await(1, TimeUnit.SECONDS));
+
+        lock.readLock().lock();
+        lock.readLock().unlock();
+        holder.join();
+
+        var writer = findSite("testLock.write @ InstrumentedReadWriteLockTest.lambda$shouldMeasureWaitAndHold");
+        var reader = findSite("testLock.read @ InstrumentedReadWriteLockTest.shouldMeasureWaitAndHold");
+        assertTrue(writer.maxHoldNanos() >= TimeUnit.MILLISECONDS.toNanos(40));
+        assertTrue(reader.maxWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    @Test
+    @DisplayName("Debería registrar la cola máxima de hilos esperando")
+    void shouldRecordMaxQueueLength() throws InterruptedException {
+        int waiters = 4;
+        CountDownLatch done = new CountDownLatch(waiters);
+        lock.writeLock().lock();
+        for (int i = 0; i < waiters; i++) {
+            Thread.ofPlatform().start(() -> {
+                lock.writeLock().lock();
+                lock.writeLock().unlock();
+                done.countDown();
+            });
+        }
+        Thread.sleep(100);
+        lock.writeLock().unlock();
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+
+        long maxQueue = LockProfiler.sites().stream()
+                .filter(s -> s.name().startsWith("testLock.write"))
+                .mapToLong(LockProfiler.Site::maxQueueLength)
+                .max().orElse(0);
+        assertEquals(waiters, maxQueue);
+    }
+
+    @Test
+    @DisplayName("Debería contar por separado la cola de lectores y la de escritores")
+    void shouldCountReadAndWriteQueuesSeparately() throws InterruptedException {
+        int readers = 3;
+        CountDownLatch done = new CountDownLatch(readers + 1);
+        lock.writeLock().lock();
+        for (int i = 0; i < readers; i++) {
+            Thread.ofPlatform().start(() -> {
+                lock.readLock().lock();
+                lock.readLock().unlock();
+                done.countDown();
+            });
+        }
+        Thread.sleep(100);
+        Thread.ofPlatform().start(() -> {
+            lock.writeLock().lock();
+            lock.writeLock().unlock();
+            done.countDown();
+        });
+        Thread.sleep(100);
+        lock.writeLock().unlock();
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+
+        var writer = findSite("testLock.write @ InstrumentedReadWriteLockTest.lambda$shouldCountReadAndWriteQueues");
+        var reader = findSite("testLock.read @ InstrumentedReadWriteLockTest.lambda$shouldCountReadAndWriteQueues");
+        assertEquals(1, writer.maxQueueLength());
+        assertEquals(readers, reader.maxQueueLength());
+    }
+
+    @Test
+    @DisplayName("No debería registrar un tryLock fallido")
+    void shouldNotRecordFailedTryLock() throws InterruptedException {
+        lock.writeLock().lock();
+        Thread other = Thread.ofPlatform().start(() -> assertFalse(lock.readLock().tryLock()));
+        other.join();
+        lock.writeLock().unlock();
+
+        assertTrue(LockProfiler.sites().stream()
+                .filter(s -> s.name().startsWith("testLock.read"))
+                .allMatch(s -> s.acquisitions() == 0));
+        assertTrue(LockProfiler.report().contains("testLock.write"));
+    }
+
+    private static LockProfiler.Site findSite(String prefix) {
+        return LockProfiler.sites().stream()
+                .filter(s -> s.name().startsWith(prefix))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no site " + prefix + " in\n" + LockProfiler.report()));
+    }
+}
@@ -0,0 +1,65 @@
+package co.eci.snake.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Los percentiles deberían acotar el valor real con error menor al 12.5%")
+    void percentilesShouldBoundTrueValue() {
+        var h = new LatencyHistogram();
+        for (long v = 1; v <= 100_000; v++) h.record(v * 1_000);
+
+        assertEquals(100_000, h.count());
+        for (double p : new double[] {50, 90, 99, 99.9, 100}) {
+            long exact = (long) Math.ceil(100_000 * p / 100.0) * 1_000;
+            long reported = h.percentile(p);
+            assertTrue(reported >= exact, p + ": " + reported + " < " + exact);
+            assertTrue(reported <= exact * 1.125, p + ": " + reported + " too far above " + exact);
+        }
+    }
+
+    @Test
+    @DisplayName("Cada valor debería caer en un bucket cuyo límite superior lo contiene")
+    void everyValueShouldFallWithinItsBucket() {
+        for (long v : new long[] {0, 1, 7, 8, 9, 15, 16, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int i = LatencyHistogram.index(v);
+            assertTrue(v <= LatencyHistogram.upperBound(i), "value " + v);
+            if (i > 0) assertTrue(v > LatencyHistogram.upperBound(i - 1), "value " + v);
+        }
+    }
+
+    @Test
+    @DisplayName("Debería contar registros concurrentes sin perder ninguno")
+    void shouldCountConcurrentRecords() throws InterruptedException {
+        var h = new LatencyHistogram();
+        ExecutorService exec = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            exec.submit(() -> {
+                for (int i = 0; i < 10_000; i++) h.record(i);
+            });
+        }
+        exec.shutdown();
+        assertTrue(exec.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(40_000, h.count());
+    }
+
+    @Test
+    @DisplayName("Un histograma vacío o reiniciado debería reportar cero")
+    void emptyHistogramShouldReportZero() {
+        var h = new LatencyHistogram();
+        assertEquals(0, h.percentile(99));
+        h.record(5_000);
+        h.reset();
+        assertEquals(0, h.count());
+        assertEquals(0, h.percentile(50));
+        assertThrows(IllegalArgumentException.class, () -> h.percentile(0));
+    }
+}
@@ -0,0 +1,113 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.concurrency.OverloadController.Policy;
+import co.eci.snake.core.engine.VirtualTimeSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverloadControllerTest {
+
+    private final VirtualTimeSource time = new VirtualTimeSource();
+
+    /** One window in which each step costs 1 us plus {@code lagMillis} of wake-up lag. */
+    private void window(RunnerMetrics metrics, long lagMillis) {
+        for (int i = 0; i < 10; i++) {
+            metrics.recordStep(1_000);
+            metrics.recordWakeup(TimeUnit.MILLISECONDS.toNanos(lagMillis));
+        }
+        time.advance(OverloadController.DEFAULT_WINDOW_MS, TimeUnit.MILLISECONDS);
+        metrics.recordStep(1_000);
+    }
+
+    private RunnerMetrics metricsFor(OverloadController overload) {
+        var metrics = new RunnerMetrics();
+        metrics.reportTo(overload);
+        return metrics;
+    }
+
+    @Test
+    @DisplayName("Debería subir de nivel al saturarse y bajar al recuperarse")
+    void shouldEscalateAndRecover() {
+        var overload = new OverloadController(Set.of(), 40, OverloadController.DEFAULT_WINDOW_MS, time);
+        var metrics = metricsFor(overload);
+
+        window(metrics, 5);
+        assertEquals(0, overload.level());
+
+        for (int i = 0; i < 5; i++) window(metrics, 60);
+        assertEquals(OverloadController.MAX_LEVEL, overload.level());
+        assertTrue(overload.isSaturated());
+        assertEquals(OverloadController.MAX_LEVEL, overload.escalations());
+        assertTrue(overload.lastMeanCostMillis() > 20);
+
+        window(metrics, 0);
+        assertEquals(OverloadController.MAX_LEVEL - 1, overload.level());
+        window(metrics, 10);
+        assertEquals(OverloadController.MAX_LEVEL - 1, overload.level(), "between thresholds the level holds");
+        assertEquals(1, overload.recoveries());
+    }
+
+    @Test
+    @DisplayName("Debería alargar los ticks solo con la política de ralentizar")
+    void shouldSlowTicksOnlyWhenEnabled() {
+        var slow = new OverloadController(EnumSet.of(Policy.SLOW_TICKS), 40, 500, time);
+        var none = new OverloadController(Set.of(), 40, 500, time);
+        var slowMetrics = metricsFor(slow);
+        var noneMetrics = metricsFor(none);
+        assertEquals(80, slow.scaleDelay(80));
+
+        window(slowMetrics, 60);
+        window(slowMetrics, 60);
+        window(noneMetrics, 60);
+        window(noneMetrics, 60);
+
+        assertEquals(2, slow.level());
+        assertTrue(none.isSaturated());
+        assertEquals(320, slow.scaleDelay(80));
+        assertEquals(160, slow.scaleDelay(40));
+        assertEquals(2, slow.slowedSteps());
+        assertEquals(80, none.scaleDelay(80));
+        assertEquals(0, none.slowedSteps());
+    }
+
+    @Test
+    @DisplayName("Debería espaciar las decisiones de los bots y descartar frames")
+    void shouldThinDecisionsAndShedFrames() {
+        var overload = new OverloadController(EnumSet.of(Policy.THIN_BOTS, Policy.SHED_FRAMES), 40, 500, time);
+        window(metricsFor(overload), 60);
+        assertEquals(1, overload.level());
+
+        int decided = 0, drawn = 0;
+        for (int step = 0; step < 100; step++) {
+            if (overload.admitDecision(step)) decided++;
+            if (overload.admitFrame()) drawn++;
+        }
+        assertEquals(50, decided);
+        assertEquals(50, drawn);
+        assertEquals(50, overload.skippedDecisions());
+        assertEquals(50, overload.shedFrames());
+    }
+
+    @Test
+    @DisplayName("Debería leer las políticas de la propiedad del sistema")
+    void shouldParsePolicies() {
+        assertEquals(Policy.SLOW_TICKS, Policy.parse(" slow "));
+        assertEquals(Policy.THIN_BOTS, Policy.parse("BOTS"));
+        assertEquals(Policy.SHED_FRAMES, Policy.parse("render"));
+        assertThrows(IllegalArgumentException.class, () -> Policy.parse("faster"));
+
+        System.setProperty("overload", "slow,frames");
+        try {
+            assertEquals(EnumSet.of(Policy.SLOW_TICKS, Policy.SHED_FRAMES),
+                OverloadController.fromSystemProperty(time).policies());
+        } finally {
+            System.clearProperty("overload");
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioTest {
+
+    @TempDir
+    Path dir;
+
+    private static final String FILE = """
+            # carrera de prueba
+            seed=42
+            width=30
+            height=20
+            mice=8
+            obstacles=5   # a few more than usual
+            turbo=2
+            teleports=1
+            snake=2,2,RIGHT
+            snake = 10, 5, down
+            """;
+
+    @Test
+    @DisplayName("Debería leer todas las claves del archivo de escenario")
+    void shouldParseAllKeys() {
+        var scenario = Scenario.parse(FILE);
+
+        assertEquals(42, scenario.seed());
+        assertEquals(30, scenario.width());
+        assertEquals(20, scenario.height());
+        assertEquals(new Board.Items(8, 5, 2, 1), scenario.items());
+        assertEquals(List.of(new Scenario.Start(2, 2, Direction.RIGHT), new Scenario.Start(10, 5, Direction.DOWN)),
+                scenario.starts());
+    }
+
+    @Test
+    @DisplayName("Debería usar valores por defecto para claves ausentes")
+    void shouldUseDefaultsForMissingKeys() {
+        var scenario = Scenario.parse("snakes=5");
+
+        assertEquals(0, scenario.seed());
+        assertEquals(Board.Items.DEFAULT, scenario.items());
+        try (var session = scenario.newSession()) {
+            assertEquals(5, session.snakes().size());
+            assertEquals(35, session.board().width());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería rechazar líneas inválidas indicando el número de línea")
+    void shouldRejectInvalidLines() {
+        var unknown = assertThrows(IllegalArgumentException.class, () -> Scenario.parse("seed=1\ncolour=red"));
+        assertTrue(unknown.getMessage().contains("line 2"));
+        assertThrows(IllegalArgumentException.class, () -> Scenario.parse("width=wide"));
+        assertThrows(IllegalArgumentException.class, () -> Scenario.parse("snake=1,2"));
+        assertThrows(IllegalArgumentException.class, () -> Scenario.parse("just text"));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar serpientes que empiezan fuera del tablero")
+    void shouldRejectStartsOffTheBoard() {
+        var far = assertThrows(IllegalArgumentException.class,
+            () -> Scenario.parse("width=10\nsnake=2,2,UP\nsnake=40,3,UP\nheight=10"));
+        assertTrue(far.getMessage().contains("line 3"), far.getMessage());
+        var negative = assertThrows(IllegalArgumentException.class, () -> Scenario.parse("snake=-1,0,LEFT"));
+        assertTrue(negative.getMessage().contains("line 1"), negative.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new Scenario(1, 10, 10, Board.Items.DEFAULT, 1,
+            List.of(new Scenario.Start(3, 10, Direction.UP))));
+        assertEquals(1, Scenario.parse("width=10\nheight=10\nsnake=9,9,DOWN").starts().size());
+    }
+
+    @Test
+    @DisplayName("La misma semilla debería reproducir la partida tick a tick")
+    void sameSeedShouldReplayTickForTick() {
+        var scenario = Scenario.classic(30, 30, 12, 7);
+        assertEquals(play(scenario, 300), play(scenario, 300));
+    }
+
+    @Test
+    @DisplayName("Semillas distintas deberían producir partidas distintas")
+    void differentSeedsShouldDiffer() {
+        assertNotEquals(play(Scenario.classic(30, 30, 12, 7), 300), play(Scenario.classic(30, 30, 12, 8), 300));
+    }
+
+    @Test
+    @DisplayName("No debería permitir pasos manuales con los runners en marcha")
+    void shouldNotStepAllOnceStarted() {
+        try (var session = Scenario.classic(20, 20, 2, 1).newSession()) {
+            session.start();
+            assertThrows(IllegalStateException.class, session::stepAll);
+        }
+    }
+
+    /** Every snake body and the board's items after each tick. */
+    private static List<String> play(Scenario scenario, int ticks) {
+        var trace = new ArrayList<String>();
+        try (var session = scenario.newSession()) {
+            for (int t = 0; t < ticks; t++) {
+                session.stepAll();
+                var sb = new StringBuilder();
+                session.snakes().forEach(s -> sb.append(s.isAlive()).append(List.copyOf(s.snapshot())));
+                sb.append(sorted(session.board().mice())).append(sorted(session.board().obstacles()));
+                trace.add(sb.toString());
+            }
+        }
+        return trace;
+    }
+
+    private static List<Position> sorted(Set<Position> cells) {
+        var list = new ArrayList<>(cells);
+        list.sort((a, b) -> a.y() != b.y() ? Integer.compare(a.y(), b.y()) : Integer.compare(a.x(), b.x()));
+        return list;
+    }
+
+    @Test
+    @DisplayName("Debería conservar la disposición clásica y dejar todas las cabezas dentro del tablero")
+    void shouldKeepClassicLayoutOnTheBoard() {
+        int width = 10, height = 7;
+        var snakes = GameSession.classicSnakes(width, height, 30);
+        for (int i = 0; i < snakes.size(); i++) {
+            Position head = snakes.get(i).head();
+            assertTrue(head.x() >= 0 && head.x() < width && head.y() >= 0 && head.y() < height, "snake " + i);
+            int x = 2 + (i * 3) % width;
+            int y = 2 + (i * 2) % height;
+            if (x < width) assertEquals(x, head.x(), "snake " + i);
+            if (y < height) assertEquals(y, head.y(), "snake " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Debería arrancar la partida del escenario o la clásica según las propiedades")
+    void shouldStartSessionFromSystemProperties() throws IOException {
+        System.setProperty("snakes", "3");
+        try (var session = GameSession.fromSystemProperties()) {
+            assertEquals(35, session.board().width());
+            assertEquals(28, session.board().height());
+            assertEquals(3, session.snakes().size());
+        } finally {
+            System.clearProperty("snakes");
+        }
+
+        Path file = Files.writeString(dir.resolve("race.txt"), FILE);
+        System.setProperty("scenario", file.toString());
+        try (var session = GameSession.fromSystemProperties()) {
+            assertEquals(30, session.board().width());
+            assertEquals(2, session.snakes().size());
+        } finally {
+            System.clearProperty("scenario");
+        }
+    }
+}
@@ -5,11 +5,13 @@ import co.eci.snake.core.Direction;
 import co.eci.snake.core.Position;
 import co.eci.snake.core.Snake;
 import co.eci.snake.core.engine.GameStats;
+import co.eci.snake.core.engine.TimeSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.AfterEach;
 
+import java.util.SplittableRandom;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -19,6 +21,9 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class SnakeRunnerTest {
 
+    // Fixed board layout and turn decisions, so only thread timing varies between runs.
+    private static final long SEED = 3;
+
     private Board board;
     private Snake snake;
     private GameStats stats;
@@ -28,12 +33,12 @@ class SnakeRunnerTest {
 
     @BeforeEach
     void setUp() {
-        board = new Board(20, 20);
+        board = new Board(20, 20, Board.Items.DEFAULT, new SplittableRandom(SEED));
         snake = Snake.of(10, 10, Direction.RIGHT);
         stats = new GameStats();
         lock = new ReentrantReadWriteLock();
         paused = new AtomicBoolean(false);
-        runner = new SnakeRunner(snake, board, stats, lock, paused::get);
+        runner = seededRunner(snake);
     }
 
     @Test
@@ -99,7 +104,7 @@ class SnakeRunnerTest {
         // Colocar serpiente cerca de un obstáculo
         Position obstaclePos = board.obstacles().iterator().next();
         snake = Snake.of(obstaclePos.x() - 1, obstaclePos.y(), Direction.RIGHT);
-        runner = new SnakeRunner(snake, board, stats, lock, paused::get);
+        runner = seededRunner(snake);
         
         Thread runnerThread = new Thread(runner);
         runnerThread.start();
@@ -124,7 +129,7 @@ class SnakeRunnerTest {
         // Colocar serpiente cerca de un obstáculo
         Position obstaclePos = board.obstacles().iterator().next();
         snake = Snake.of(obstaclePos.x() - 1, obstaclePos.y(), Direction.RIGHT);
-        runner = new SnakeRunner(snake, board, stats, lock, paused::get);
+        runner = seededRunner(snake);
         
         Thread runnerThread = new Thread(runner);
         runnerThread.start();
@@ -264,7 +269,7 @@ class SnakeRunnerTest {
         // Colocar serpiente cerca de un turbo
         Position turboPos = board.turbo().iterator().next();
         snake = Snake.of(turboPos.x() - 1, turboPos.y(), Direction.RIGHT);
-        runner = new SnakeRunner(snake, board, stats, lock, paused::get);
+        runner = seededRunner(snake);
         
         Thread runnerThread = new Thread(runner);
         runnerThread.start();
@@ -340,4 +345,9 @@ class SnakeRunnerTest {
         // Verificar que no hubo excepciones y el sistema permaneció consistente
         assertTrue(moveCount.get() >= 0);
     }
+
+    private SnakeRunner seededRunner(Snake s) {
+        return new SnakeRunner(s, board, stats, lock, paused::get, TurnStrategy.random(), null,
+                new SplittableRandom(SEED), TimeSource.system());
+    }
 }
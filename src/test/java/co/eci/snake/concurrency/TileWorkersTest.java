@@ -0,0 +1,76 @@
+package co.eci.snake.concurrency;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Snake;
+import co.eci.snake.core.engine.GameStats;
+import co.eci.snake.core.engine.VirtualTimeSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileWorkersTest {
+
+    @Test
+    @DisplayName("Debería repartir el tablero en a lo sumo tantos mosaicos como trabajadores")
+    void shouldSplitBoardIntoTiles() {
+        var time = new VirtualTimeSource();
+        var four = new TileWorkers(12, 12, 4, time);
+        assertEquals(4, four.tileCount());
+        assertEquals(0, four.tileOf(5, 5));
+        assertEquals(1, four.tileOf(6, 0));
+        assertEquals(3, four.tileOf(11, 11));
+
+        assertEquals(6, new TileWorkers(30, 20, 6, time).tileCount());
+        assertEquals(1, new TileWorkers(30, 20, 1, time).tileCount());
+        assertTrue(new TileWorkers(2, 2, 16, time).tileCount() <= 16);
+    }
+
+    @Test
+    @DisplayName("Cada serpiente debería moverla solo el trabajador dueño del mosaico de su cabeza")
+    void shouldStepSnakesOnlyOnTheOwnerOfTheirHeadTile() {
+        var time = new VirtualTimeSource();
+        var board = new Board(12, 12, new Board.Items(0, 0, 0, 1), new SplittableRandom(4));
+        var tiles = new TileWorkers(12, 12, 4, time);
+        Map<Thread, Set<Integer>> tilesSeenByThread = new ConcurrentHashMap<>();
+        TurnStrategy recording = (snake, b, turbo, random) -> {
+            var head = snake.head();
+            tilesSeenByThread.computeIfAbsent(Thread.currentThread(), t -> ConcurrentHashMap.newKeySet())
+                .add(tiles.tileOf(head.x(), head.y()));
+            return TurnStrategy.random().decide(snake, b, turbo, random);
+        };
+
+        var lock = new ReentrantReadWriteLock();
+        var stats = new GameStats();
+        var snakes = new ArrayList<Snake>();
+        for (int i = 0; i < 8; i++) {
+            var snake = Snake.of(i, i, Direction.values()[i % 4]);
+            snakes.add(snake);
+            tiles.add(new SnakeRunner(snake, board, stats, lock, () -> false, recording, null,
+                new SplittableRandom(i), time), 0);
+        }
+
+        var exec = Executors.newFixedThreadPool(tiles.tileCount());
+        try {
+            tiles.start(exec);
+            time.advance(2, TimeUnit.SECONDS);
+        } finally {
+            exec.shutdownNow();
+        }
+
+        for (Snake snake : snakes) assertTrue(snake.moves() >= 20, "moves: " + snake.moves());
+        assertTrue(tiles.handoffs() > 0);
+        assertTrue(tilesSeenByThread.size() > 1);
+        tilesSeenByThread.forEach((thread, seen) -> assertEquals(1, seen.size(), thread + " stepped in " + seen));
+    }
+}
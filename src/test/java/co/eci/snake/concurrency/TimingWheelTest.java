@@ -0,0 +1,130 @@
+package co.eci.snake.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private ExecutorService workers;
+    private TimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        workers = Executors.newFixedThreadPool(4);
+        wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 64, workers, 32);
+        wheel.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+        workers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("No debería expirar una tarea antes de su deadline")
+    void shouldNotExpireBeforeDeadline() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        AtomicLong firedAt = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(30);
+        wheel.schedule(new TimingWheel.Task() {
+            @Override
+            protected void expire() {
+                firedAt.set(System.nanoTime());
+                fired.countDown();
+            }
+        }, deadline);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(firedAt.get() >= deadline);
+    }
+
+    @Test
+    @DisplayName("Debería manejar deadlines más allá de una vuelta de la rueda")
+    void shouldHandleDeadlinesBeyondOneRevolution() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(new TimingWheel.Task() {
+            @Override
+            protected void expire() {
+                fired.countDown();
+            }
+        }, start + TimeUnit.MILLISECONDS.toNanos(150));
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150));
+    }
+
+    @Test
+    @DisplayName("Debería expirar muchas tareas en lotes")
+    void shouldExpireManyTasksInBatches() throws InterruptedException {
+        int tasks = 10_000;
+        CountDownLatch fired = new CountDownLatch(tasks);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20);
+        for (int i = 0; i < tasks; i++) {
+            wheel.schedule(new TimingWheel.Task() {
+                @Override
+                protected void expire() {
+                    fired.countDown();
+                }
+            }, deadline + (i % 40) * 1_000_000L);
+        }
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Un ritmo periódico basado en deadlines no debería acumular deriva")
+    void periodicPacingShouldNotDrift() throws InterruptedException {
+        int periods = 40;
+        long periodNanos = TimeUnit.MILLISECONDS.toNanos(10);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicInteger count = new AtomicInteger();
+        long start = System.nanoTime();
+        wheel.schedule(new TimingWheel.Task() {
+            @Override
+            protected void expire() {
+                busyFor(TimeUnit.MILLISECONDS.toNanos(3));
+                if (count.incrementAndGet() == periods) {
+                    done.countDown();
+                } else {
+                    wheel.schedule(this, deadline() + periodNanos);
+                }
+            }
+        }, start + periodNanos);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        long elapsed = System.nanoTime() - start;
+        long ideal = periods * periodNanos;
+        assertTrue(elapsed < ideal + TimeUnit.MILLISECONDS.toNanos(60),
+                "elapsed " + elapsed / 1_000_000 + " ms for ideal " + ideal / 1_000_000 + " ms");
+    }
+
+    @Test
+    @DisplayName("La sesión debería mover serpientes con el modelo de rueda")
+    void sessionShouldMoveSnakesWithWheelModel() throws InterruptedException {
+        try (var session = GameSession.withSnakes(new co.eci.snake.core.Board(30, 30), 20)) {
+            session.start(ExecutionModel.WHEEL);
+            Thread.sleep(400);
+            assertTrue(session.metrics().steps() >= 20);
+            assertTrue(session.metrics().maxLagMillis() < 200);
+        }
+    }
+
+    private static void busyFor(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
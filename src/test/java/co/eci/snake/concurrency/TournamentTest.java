@@ -0,0 +1,61 @@
+package co.eci.snake.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTest {
+
+    private static final List<Tournament.Config> CONFIGS = List.of(
+        new Tournament.Config("small", Scenario.classic(20, 15, 4, 3)),
+        new Tournament.Config("large", Scenario.classic(40, 30, 4, 7)));
+
+    private static Tournament tournament(int games) {
+        return new Tournament(CONFIGS,
+            List.of(Tournament.Entrant.parse("random"), Tournament.Entrant.parse("avoid:4")), games, 400);
+    }
+
+    @Test
+    @DisplayName("Debería repartir los asientos y sumar victorias, ticks y ratones por estrategia")
+    void shouldTallySeatsWinsAndMice() {
+        var result = tournament(10).run();
+
+        assertEquals(20, result.games());
+        assertEquals(4, result.standings().size());
+        for (var config : List.of("small", "large")) {
+            var random = result.standing(config, "random");
+            var avoid = result.standing(config, "avoid:4");
+            assertEquals(20, random.seats());
+            assertEquals(20, avoid.seats());
+            assertTrue(random.wins() + avoid.wins() <= 10);
+            assertTrue(random.meanSurvivalTicks() > 0 && random.meanSurvivalTicks() <= 400);
+            assertTrue(avoid.meanSurvivalTicks() > 0 && avoid.meanSurvivalTicks() <= 400);
+        }
+        long mice = result.standings().stream().mapToLong(Tournament.Standing::miceEaten).sum();
+        assertTrue(mice > 0);
+        assertTrue(result.ticks() > 0);
+    }
+
+    @Test
+    @DisplayName("Debería dar los mismos resultados con cualquier número de hilos")
+    void shouldNotDependOnParallelism() {
+        List<Tournament.Standing> single;
+        List<Tournament.Standing> parallel;
+        try (var one = new ForkJoinPool(1); var four = new ForkJoinPool(4)) {
+            single = tournament(6).run(one).standings();
+            parallel = tournament(6).run(four).standings();
+        }
+        assertEquals(single, parallel);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar estrategias desconocidas")
+    void shouldRejectUnknownStrategy() {
+        assertThrows(IllegalArgumentException.class, () -> Tournament.Entrant.parse("greedy"));
+        assertThrows(IllegalArgumentException.class, () -> Tournament.Entrant.parse("avoid:0"));
+    }
+}
@@ -0,0 +1,125 @@
+package co.eci.snake.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitBoardTest {
+
+    @Test
+    @DisplayName("Debería fijar, leer y limpiar bits")
+    void shouldSetGetAndClearBits() {
+        BitBoard bits = new BitBoard(70, 3);
+        bits.set(0, 0);
+        bits.set(69, 2);
+        bits.set(new Position(64, 1));
+
+        assertTrue(bits.get(0, 0));
+        assertTrue(bits.get(69, 2));
+        assertTrue(bits.get(new Position(64, 1)));
+        assertFalse(bits.get(63, 1));
+        assertEquals(3, bits.cardinality());
+
+        bits.clear(69, 2);
+        assertFalse(bits.get(69, 2));
+        assertEquals(2, bits.cardinality());
+
+        bits.clearAll();
+        assertTrue(bits.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar celdas fuera del tablero")
+    void shouldRejectOutOfBoundsCells() {
+        BitBoard bits = new BitBoard(5, 5);
+        assertThrows(IndexOutOfBoundsException.class, () -> bits.set(5, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> bits.get(0, -1));
+    }
+
+    @Test
+    @DisplayName("Debería expandirse con wrap-around en las cuatro direcciones")
+    void shouldDilateWithWrapAround() {
+        BitBoard bits = new BitBoard(10, 10);
+        bits.set(0, 0);
+
+        assertTrue(bits.dilate(null));
+
+        assertEquals(5, bits.cardinality());
+        assertTrue(bits.get(0, 0));
+        assertTrue(bits.get(1, 0));
+        assertTrue(bits.get(9, 0));
+        assertTrue(bits.get(0, 1));
+        assertTrue(bits.get(0, 9));
+    }
+
+    @Test
+    @DisplayName("Debería respetar la máscara de obstáculos")
+    void shouldRespectBlockedMask() {
+        BitBoard blocked = new BitBoard(10, 10);
+        for (int y = 0; y < 10; y++) blocked.set(5, y);
+        for (int y = 0; y < 10; y++) blocked.set(0, y);
+
+        BitBoard bits = new BitBoard(10, 10);
+        bits.set(2, 2);
+        for (int i = 0; i < 20; i++) bits.dilate(blocked);
+
+        assertEquals(40, bits.cardinality());
+        assertFalse(bits.intersects(blocked));
+        assertFalse(bits.dilate(blocked));
+    }
+
+    @Test
+    @DisplayName("Debería coincidir con un BFS celda a celda en tableros de varias palabras")
+    void shouldMatchNaiveBfsOnMultiWordRows() {
+        Random rnd = new Random(7);
+        for (int width : new int[] {1, 2, 63, 64, 65, 128, 130}) {
+            int height = 1 + rnd.nextInt(9);
+            BitBoard blocked = new BitBoard(width, height);
+            boolean[][] naiveBlocked = new boolean[height][width];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    if (rnd.nextInt(4) == 0) {
+                        blocked.set(x, y);
+                        naiveBlocked[y][x] = true;
+                    }
+                }
+            }
+            int sx = rnd.nextInt(width), sy = rnd.nextInt(height);
+            blocked.clear(sx, sy);
+            naiveBlocked[sy][sx] = false;
+
+            BitBoard bits = new BitBoard(width, height);
+            bits.set(sx, sy);
+            boolean[][] naive = new boolean[height][width];
+            naive[sy][sx] = true;
+
+            for (int step = 0; step < 12; step++) {
+                bits.dilate(blocked);
+                naive = naiveDilate(naive, naiveBlocked);
+                for (int y = 0; y < height; y++) {
+                    for (int x = 0; x < width; x++) {
+                        assertEquals(naive[y][x], bits.get(x, y),
+                                "width=" + width + " step=" + step + " cell=(" + x + "," + y + ")");
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean[][] naiveDilate(boolean[][] cur, boolean[][] blocked) {
+        int h = cur.length, w = cur[0].length;
+        boolean[][] next = new boolean[h][w];
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                if (blocked[y][x]) continue;
+                next[y][x] = cur[y][x]
+                        || cur[y][(x + 1) % w] || cur[y][(x + w - 1) % w]
+                        || cur[(y + 1) % h][x] || cur[(y + h - 1) % h][x];
+            }
+        }
+        return next;
+    }
+}
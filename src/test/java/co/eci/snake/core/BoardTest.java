@@ -4,16 +4,21 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.SplittableRandom;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class BoardTest {
 
+    // Fixed layout so the tests below do not depend on where items happen to land.
+    private static final long SEED = 7;
+
     private Board board;
     private Snake snake;
 
     @BeforeEach
     void setUp() {
-        board = new Board(10, 10);
+        board = new Board(10, 10, Board.Items.DEFAULT, new SplittableRandom(SEED));
         snake = Snake.of(5, 5, Direction.RIGHT);
     }
 
@@ -243,4 +248,28 @@ class BoardTest {
                    "Turbo count should be non-negative: " + board.turbo().size());
         assertEquals(4, board.teleports().size()); // Teleports son fijos
     }
+
+    @Test
+    @DisplayName("Debería generar el mismo tablero con la misma semilla")
+    void shouldBuildSameBoardFromSameSeed() {
+        var a = new Board(30, 30, Board.Items.DEFAULT, new SplittableRandom(42));
+        var b = new Board(30, 30, Board.Items.DEFAULT, new SplittableRandom(42));
+
+        assertEquals(a.mice(), b.mice());
+        assertEquals(a.obstacles(), b.obstacles());
+        assertEquals(a.turbo(), b.turbo());
+        assertEquals(a.teleports(), b.teleports());
+    }
+
+    @Test
+    @DisplayName("Debería respetar la cantidad de elementos pedida")
+    void shouldHonourItemCounts() {
+        var b = new Board(30, 30, new Board.Items(10, 0, 1, 3), new SplittableRandom(1));
+
+        assertEquals(10, b.mice().size());
+        assertTrue(b.obstacles().isEmpty());
+        assertEquals(1, b.turbo().size());
+        assertEquals(6, b.teleports().size());
+        assertThrows(IllegalArgumentException.class, () -> new Board.Items(-1, 0, 0, 0));
+    }
 }
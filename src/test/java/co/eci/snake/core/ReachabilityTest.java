@@ -0,0 +1,75 @@
+package co.eci.snake.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReachabilityTest {
+
+    private Board board;
+    private Reachability reach;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(20, 15);
+        reach = new Reachability(board);
+    }
+
+    @Test
+    @DisplayName("Debería alcanzar solo la celda inicial con cero movimientos")
+    void shouldReachOnlyStartWithZeroMoves() {
+        Position start = freeCell();
+        BitBoard cells = reach.reachable(start, 0);
+        assertEquals(1, cells.cardinality());
+        assertTrue(cells.get(start));
+    }
+
+    @Test
+    @DisplayName("Nunca debería marcar obstáculos como alcanzables")
+    void shouldNeverReachObstacles() {
+        BitBoard cells = reach.reachable(freeCell(), 40);
+        for (Position p : board.obstacles()) {
+            assertFalse(cells.get(p), "obstacle reached: " + p);
+        }
+    }
+
+    @Test
+    @DisplayName("Debería incluir la salida de un teletransportador alcanzado")
+    void shouldFollowTeleports() {
+        var entry = board.teleports().entrySet().iterator().next();
+        BitBoard cells = reach.reachable(entry.getKey(), 1);
+        assertTrue(cells.get(entry.getValue()));
+    }
+
+    @Test
+    @DisplayName("El mapa de peligro debería ser la unión de los alcances individuales")
+    void dangerMapShouldBeUnionOfReaches() {
+        Position a = freeCell();
+        Position b = new Position((a.x() + 10) % board.width(), a.y());
+
+        int aCount = reach.reachableCount(a, 2);
+        BitBoard aCells = reach.reachable(a, 2).copy();
+        BitBoard bCells = reach.reachable(b, 2).copy();
+        BitBoard danger = reach.danger(List.of(a, b), 2);
+
+        aCells.or(bCells);
+        assertEquals(aCells.cardinality(), danger.cardinality());
+        assertTrue(danger.cardinality() >= aCount);
+    }
+
+    private Position freeCell() {
+        var obstacles = board.obstacles();
+        var teleports = board.teleports();
+        for (int y = 0; y < board.height(); y++) {
+            for (int x = 0; x < board.width(); x++) {
+                Position p = new Position(x, y);
+                if (!obstacles.contains(p) && !teleports.containsKey(p)) return p;
+            }
+        }
+        throw new IllegalStateException("no free cell");
+    }
+}
@@ -4,6 +4,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class SnakeTest {
@@ -113,6 +116,82 @@ class SnakeTest {
         assertEquals(new Position(5, 5), snapshot.peekLast());
     }
 
+    @Test
+    @DisplayName("Debería recorrer el cuerpo desde la cabeza sin copiarlo")
+    void shouldVisitSegmentsHeadFirst() {
+        for (int x = 6; x <= 12; x++) snake.advance(new Position(x, 5), x % 2 == 0);
+        var expected = List.copyOf(snake.snapshot());
+        var visited = new ArrayList<Position>();
+
+        int n = snake.forEachSegment((i, x, y) -> {
+            assertEquals(visited.size(), i);
+            visited.add(new Position(x, y));
+        });
+
+        assertEquals(expected.size(), n);
+        assertEquals(expected, visited);
+        assertEquals(expected, snake.body());
+    }
+
+    @Test
+    @DisplayName("Debería entregar el cuerpo correcto aunque el visitante recorra otra serpiente")
+    void shouldKeepOuterBodyWhenVisitingAnotherSnakeInside() {
+        for (int x = 6; x <= 12; x++) snake.advance(new Position(x, 5), true);
+        var other = Snake.of(0, 20, Direction.DOWN);
+        for (int y = 21; y <= 24; y++) other.advance(new Position(0, y), true);
+        var expected = List.copyOf(snake.snapshot());
+        var visited = new ArrayList<Position>();
+        int[] inner = new int[1];
+
+        int n = snake.forEachSegment((i, x, y) -> {
+            visited.add(new Position(x, y));
+            inner[0] += other.forEachSegment((j, ox, oy) -> assertEquals(0, ox));
+        });
+
+        assertEquals(expected.size(), n);
+        assertEquals(expected, visited);
+        assertEquals(n * other.length(), inner[0]);
+    }
+
+    @Test
+    @DisplayName("Debería reutilizar la vista del cuerpo mientras la serpiente no se mueva")
+    void shouldReuseBodyViewUntilSnakeMoves() {
+        snake.advance(new Position(6, 5), false);
+        var first = snake.body();
+        assertSame(first, snake.body());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new Position(0, 0)));
+
+        snake.advance(new Position(7, 5), false);
+        var second = snake.body();
+        assertNotSame(first, second);
+        assertEquals(new Position(7, 5), second.get(0));
+        assertEquals(List.of(new Position(6, 5), new Position(5, 5)), first);
+
+        snake.markDead(1);
+        snake.advance(new Position(8, 5), false);
+        assertSame(second, snake.body());
+    }
+
+    @Test
+    @DisplayName("Debería recorrer una sola vez un cuerpo consistente mientras otro hilo la mueve")
+    void shouldVisitOneConsistentPassWhileMoving() throws InterruptedException {
+        var mover = new Thread(() -> {
+            for (int i = 6; i < 20_000; i++) snake.advance(new Position(i, 5), i % 50 == 0);
+        });
+        mover.start();
+        var pass = new ArrayList<Integer>();
+        while (mover.isAlive()) {
+            pass.clear();
+            int n = snake.forEachSegment((i, x, y) -> {
+                assertEquals(pass.size(), i);
+                pass.add(x);
+            });
+            assertEquals(n, pass.size());
+            for (int i = 1; i < n; i++) assertEquals(pass.get(i - 1) - 1, pass.get(i), "pass " + pass);
+        }
+        mover.join();
+    }
+
     @Test
     @DisplayName("Debería manejar concurrencia básica")
     void shouldHandleBasicConcurrency() throws InterruptedException {
@@ -239,4 +239,16 @@ class GameStatsTest {
         // Verificación final
         assertEquals(numRegisterThreads, stats.worstSnake().deathOrder() + (numRegisterThreads - 1));
     }
+
+    @Test
+    @DisplayName("Debería contar los ratones comidos por cada serpiente")
+    void shouldCountMiceEatenPerSnake() {
+        stats.registerMouse(snake1);
+        stats.registerMouse(snake1);
+        stats.registerMouse(snake2);
+
+        assertEquals(2, stats.miceEaten(snake1));
+        assertEquals(1, stats.miceEaten(snake2));
+        assertEquals(0, stats.miceEaten(snake3));
+    }
 }
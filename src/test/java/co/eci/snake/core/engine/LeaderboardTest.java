@@ -0,0 +1,112 @@
+package co.eci.snake.core.engine;
+
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    private static void grow(Snake s, int steps) {
+        for (int k = 0; k < steps; k++) {
+            Position h = s.head();
+            s.advance(new Position(h.x() + 1, h.y()), false);
+        }
+    }
+
+    @Test
+    @DisplayName("Debería ordenar por longitud y desempatar por índice")
+    void shouldRankByLengthThenIndex() {
+        List<Snake> snakes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) snakes.add(Snake.of(0, i, Direction.RIGHT));
+        Leaderboard board = new Leaderboard(snakes);
+
+        grow(snakes.get(2), 3);
+        grow(snakes.get(1), 1);
+
+        assertEquals(2, board.longestAlive());
+        assertEquals(1, board.rank(2));
+        assertEquals(2, board.rank(1));
+        assertEquals(3, board.rank(0));
+        assertEquals(4, board.rank(3));
+        int[] top = new int[3];
+        assertEquals(3, board.top(top));
+        assertArrayEquals(new int[]{2, 1, 0}, top);
+        assertEquals(4, board.length(2));
+    }
+
+    @Test
+    @DisplayName("Debería sacar del ranking a las serpientes muertas")
+    void shouldDropDeadSnakes() {
+        List<Snake> snakes = List.of(Snake.of(0, 0, Direction.RIGHT), Snake.of(0, 1, Direction.RIGHT));
+        Leaderboard board = new Leaderboard(snakes);
+        grow(snakes.get(1), 2);
+
+        snakes.get(1).markDead(1);
+        assertEquals(0, board.rank(1));
+        assertEquals(0, board.longestAlive());
+        assertEquals(1, board.aliveCount());
+
+        snakes.get(0).markDead(2);
+        assertEquals(-1, board.longestAlive());
+        assertEquals(0, board.top(new int[5]));
+    }
+
+    @Test
+    @DisplayName("Debería coincidir con un ordenamiento completo tras cambios aleatorios")
+    void shouldMatchFullSortAfterRandomChanges() {
+        Random random = new Random(7);
+        List<Snake> snakes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) snakes.add(Snake.of(0, i, Direction.RIGHT));
+        Leaderboard board = new Leaderboard(snakes);
+
+        for (int step = 0; step < 3000; step++) {
+            Snake s = snakes.get(random.nextInt(snakes.size()));
+            if (random.nextInt(40) == 0) {
+                s.markDead(step);
+            } else {
+                Position h = s.head();
+                s.advance(new Position(h.x() + 1, h.y()), random.nextBoolean());
+            }
+        }
+
+        int[] expected = IntStream.range(0, snakes.size())
+            .filter(i -> snakes.get(i).isAlive())
+            .boxed()
+            .sorted(Comparator.comparingInt((Integer i) -> -snakes.get(i).length()).thenComparingInt(i -> i))
+            .mapToInt(Integer::intValue)
+            .toArray();
+
+        assertEquals(expected.length, board.aliveCount());
+        int[] top = new int[expected.length];
+        assertEquals(expected.length, board.top(top));
+        assertArrayEquals(expected, top);
+        for (int r = 0; r < expected.length; r++) {
+            assertEquals(r + 1, board.rank(expected[r]));
+            assertEquals(expected[r], board.snakeAt(r + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un segundo ranking sobre las mismas serpientes sin desconectar el primero")
+    void shouldRejectSecondLeaderboardOverSameSnakes() {
+        List<Snake> snakes = List.of(Snake.of(0, 0, Direction.RIGHT), Snake.of(0, 1, Direction.RIGHT));
+        Leaderboard first = new Leaderboard(snakes);
+        List<Snake> overlapping = List.of(Snake.of(0, 2, Direction.RIGHT), snakes.get(1));
+
+        assertThrows(IllegalStateException.class, () -> new Leaderboard(snakes));
+        assertThrows(IllegalStateException.class, () -> new Leaderboard(overlapping));
+        grow(snakes.get(1), 2);
+        assertEquals(1, first.longestAlive());
+        assertNotNull(new Leaderboard(List.of(overlapping.get(0))));
+    }
+}
@@ -0,0 +1,112 @@
+package co.eci.snake.core.engine;
+
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveSnapshotTest {
+
+    private GameStats stats;
+    private Snake snake1;
+    private Snake snake2;
+    private Snake snake3;
+
+    @BeforeEach
+    void setUp() {
+        stats = new GameStats();
+        snake1 = Snake.of(1, 1, Direction.RIGHT);
+        snake2 = Snake.of(5, 5, Direction.UP);
+        snake3 = Snake.of(10, 10, Direction.LEFT);
+    }
+
+    @Test
+    @DisplayName("Debería copiar cabeza, longitud y estado de cada serpiente")
+    void shouldCopyHeadLengthAndAliveFlag() {
+        snake2.advance(new Position(5, 4), true);
+        snake2.advance(new Position(5, 3), true);
+        snake3.markDead(stats.registerDeath(snake3));
+
+        var snap = LiveSnapshot.capture(List.of(snake1, snake2, snake3), stats);
+
+        assertEquals(3, snap.size());
+        assertEquals(5, snap.headX(1));
+        assertEquals(3, snap.headY(1));
+        assertEquals(3, snap.length(1));
+        assertTrue(snap.isAlive(0));
+        assertFalse(snap.isAlive(2));
+        assertTrue(snap.isAtomic());
+        assertEquals(1, snap.attempts());
+    }
+
+    @Test
+    @DisplayName("Debería identificar la serpiente viva más larga y la peor")
+    void shouldFindLongestAliveAndWorst() {
+        snake1.advance(new Position(2, 1), true);
+        snake3.advance(new Position(9, 10), true);
+        snake3.advance(new Position(8, 10), true);
+        snake3.markDead(stats.registerDeath(snake3));
+
+        var snap = LiveSnapshot.capture(List.of(snake1, snake2, snake3), stats);
+
+        assertEquals(0, snap.longestAlive());
+        assertEquals(2, snap.worst());
+        assertEquals(3, snap.length(snap.worst()));
+        assertEquals(2, snap.aliveCount());
+    }
+
+    @Test
+    @DisplayName("No debería cambiar cuando las serpientes siguen moviéndose")
+    void shouldNotChangeAfterCapture() {
+        var snap = LiveSnapshot.capture(List.of(snake1), stats);
+        snake1.advance(new Position(2, 1), true);
+
+        assertEquals(1, snap.headX(0));
+        assertEquals(1, snap.length(0));
+    }
+
+    @Test
+    @DisplayName("Debería leer todas las serpientes en el mismo instante mientras se mueven")
+    void shouldReadAllSnakesAtOneInstant() throws InterruptedException {
+        // The mover always advances first before second, so no real instant has second ahead.
+        Snake first = Snake.of(1, 1, Direction.RIGHT);
+        Snake second = Snake.of(1, 5, Direction.RIGHT);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread mover = Thread.ofPlatform().start(() -> {
+            int x = 1;
+            while (running.get()) {
+                x++;
+                first.advance(new Position(x, 1), false);
+                second.advance(new Position(x, 5), false);
+            }
+        });
+        try {
+            int atomic = 0;
+            for (int i = 0; i < 20_000; i++) {
+                var snap = LiveSnapshot.capture(List.of(first, second), stats);
+                if (!snap.isAtomic()) continue;
+                atomic++;
+                int lead = snap.headX(0) - snap.headX(1);
+                assertTrue(lead == 0 || lead == 1, "second read ahead of first by " + -lead);
+            }
+            assertTrue(atomic > 0);
+        } finally {
+            running.set(false);
+            mover.join();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un número de intentos no positivo")
+    void shouldRejectNonPositiveAttempts() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LiveSnapshot.capture(List.of(snake1), stats, 0));
+    }
+}
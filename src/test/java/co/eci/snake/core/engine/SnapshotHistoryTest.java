@@ -0,0 +1,81 @@
+package co.eci.snake.core.engine;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotHistoryTest {
+
+    private Snake snake;
+    private SnapshotRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        var board = new Board(200, 10, Board.Items.DEFAULT, new SplittableRandom(5));
+        snake = Snake.of(0, 0, Direction.RIGHT);
+        recorder = new SnapshotRecorder(board, List.of(snake), new GameStats());
+    }
+
+    private CompactSnapshot step(long tick) {
+        Position h = snake.head();
+        snake.advance(new Position(h.x() + 1, h.y()), true);
+        return recorder.capture(tick);
+    }
+
+    @Test
+    @DisplayName("Debería retroceder a instantáneas anteriores")
+    void shouldRewindToEarlierSnapshots() {
+        var history = new SnapshotHistory(100, Long.MAX_VALUE);
+        for (long t = 1; t <= 10; t++) history.add(step(t));
+
+        assertEquals(10, history.latest().tick());
+        assertEquals(7, history.rewind(3).tick());
+        assertEquals(8, history.rewind(3).length(0));
+        assertNull(history.rewind(10));
+        assertEquals(5, history.at(5).tick());
+    }
+
+    @Test
+    @DisplayName("Debería descartar las más antiguas al superar el número máximo")
+    void shouldEvictOldestBeyondCount() {
+        var history = new SnapshotHistory(4, Long.MAX_VALUE);
+        for (long t = 1; t <= 10; t++) history.add(step(t));
+
+        assertEquals(4, history.size());
+        assertEquals(7, history.oldest().tick());
+        assertNull(history.at(6));
+    }
+
+    @Test
+    @DisplayName("Debería respetar el presupuesto de memoria conservando la última")
+    void shouldRespectByteBudget() {
+        var history = new SnapshotHistory(1000, 1024);
+        for (long t = 1; t <= 200; t++) {
+            history.add(step(t));
+            assertTrue(history.size() == 1 || history.retainedBytes() <= 1024);
+        }
+        assertEquals(200, history.latest().tick());
+        assertTrue(history.size() < 200);
+
+        var tiny = new SnapshotHistory(10, 1);
+        tiny.add(step(201));
+        assertEquals(1, tiny.size());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar instantáneas fuera de orden")
+    void shouldRejectOutOfOrderTicks() {
+        var history = new SnapshotHistory(10, Long.MAX_VALUE);
+        history.add(step(5));
+        assertThrows(IllegalArgumentException.class, () -> history.add(step(5)));
+    }
+}
@@ -0,0 +1,122 @@
+package co.eci.snake.core.engine;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotRecorderTest {
+
+    private Board board;
+    private Snake first;
+    private Snake second;
+    private GameStats stats;
+    private SnapshotRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(60, 60, new Board.Items(3, 2, 1, 0), new SplittableRandom(11));
+        first = Snake.of(1, 1, Direction.RIGHT);
+        second = Snake.of(1, 30, Direction.RIGHT);
+        stats = new GameStats();
+        recorder = new SnapshotRecorder(board, List.of(first, second), stats);
+    }
+
+    private static void moveRight(Snake s, int cells, boolean grow) {
+        for (int i = 0; i < cells; i++) {
+            Position h = s.head();
+            s.advance(new Position(h.x() + 1, h.y()), grow);
+        }
+    }
+
+    private static void assertBodyMatches(Snake s, CompactSnapshot snap, int index) {
+        var body = new ArrayList<>(s.snapshot());
+        assertEquals(body.size(), snap.length(index));
+        for (int k = 0; k < body.size(); k++) {
+            assertEquals(body.get(k).x(), snap.cellX(index, k), "x of cell " + k);
+            assertEquals(body.get(k).y(), snap.cellY(index, k), "y of cell " + k);
+        }
+    }
+
+    @Test
+    @DisplayName("Debería reproducir los cuerpos de las serpientes celda por celda")
+    void shouldMatchSnakeBodies() {
+        moveRight(first, 40, true);
+        moveRight(second, 10, false);
+
+        var snap = recorder.capture(1);
+
+        assertEquals(2, snap.snakeCount());
+        assertBodyMatches(first, snap, 0);
+        assertBodyMatches(second, snap, 1);
+        assertEquals(0, snap.longestAlive());
+    }
+
+    @Test
+    @DisplayName("Debería mantener intacta una instantánea cuando las serpientes siguen moviéndose")
+    void shouldStayUnchangedAfterLaterMoves() {
+        moveRight(first, 20, true);
+        var before = recorder.capture(1);
+        var expected = new ArrayList<>(first.snapshot());
+
+        for (int tick = 2; tick < 40; tick++) {
+            moveRight(first, 1, tick % 3 == 0);
+            assertBodyMatches(first, recorder.capture(tick), 0);
+        }
+
+        assertEquals(expected.size(), before.length(0));
+        for (int k = 0; k < expected.size(); k++) {
+            assertEquals(expected.get(k).x(), before.cellX(0, k));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería compartir trozos y descriptores entre instantáneas consecutivas")
+    void shouldShareStructureBetweenSnapshots() {
+        moveRight(first, 5, true);
+        var a = recorder.capture(1);
+        moveRight(first, 1, true);
+        var b = recorder.capture(2);
+
+        assertSame(a.body(1), b.body(1), "unchanged snake reuses its body");
+        assertSame(a.body(0).chunks()[0], b.body(0).chunks()[0], "moved snake reuses its chunk");
+        assertSame(a.items(), b.items());
+        assertTrue(b.addedBytes() < a.addedBytes());
+    }
+
+    @Test
+    @DisplayName("Debería registrar la muerte y la peor serpiente")
+    void shouldRecordDeathAndWorstSnake() {
+        var a = recorder.capture(1);
+        second.markDead(stats.registerDeath(second));
+        var b = recorder.capture(2);
+
+        assertTrue(a.isAlive(1));
+        assertEquals(-1, a.worst());
+        assertFalse(b.isAlive(1));
+        assertEquals(1, b.worst());
+    }
+
+    @Test
+    @DisplayName("Debería reflejar los elementos del tablero")
+    void shouldReflectBoardItems() {
+        var snap = recorder.capture(1);
+
+        assertEquals(board.mice().size(), snap.itemCount(Board.Item.MOUSE));
+        for (Position p : board.obstacles()) {
+            assertTrue(snap.hasItem(Board.Item.OBSTACLE, p.x(), p.y()));
+        }
+        for (Position p : board.turbo()) {
+            assertTrue(snap.hasItem(Board.Item.TURBO, p.x(), p.y()));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package co.eci.snake.core.engine;
+
+import co.eci.snake.concurrency.ExecutionModel;
+import co.eci.snake.concurrency.Scenario;
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualTimeSourceTest {
+
+    @Test
+    @DisplayName("Debería despertar a los durmientes en orden de plazo y a su hora")
+    void shouldWakeSleepersInDeadlineOrder() throws InterruptedException {
+        var time = new VirtualTimeSource();
+        var woke = new ConcurrentLinkedQueue<String>();
+        var done = new CountDownLatch(3);
+        for (long ms : new long[] {30, 10, 20}) {
+            Thread.ofPlatform().start(time.participant(() -> {
+                try {
+                    time.sleep(ms);
+                    woke.add(ms + "@" + TimeUnit.NANOSECONDS.toMillis(time.nanoTime()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            }));
+        }
+
+        time.advance(25, TimeUnit.MILLISECONDS);
+        assertEquals(List.of("10@10", "20@20"), List.copyOf(woke));
+        assertEquals(25, TimeUnit.NANOSECONDS.toMillis(time.nanoTime()));
+
+        time.advance(Duration.ofMillis(5));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("10@10", "20@20", "30@30"), List.copyOf(woke));
+        assertEquals(0, time.running());
+        assertEquals(0, time.sleeping());
+    }
+
+    @Test
+    @DisplayName("Debería hacer avanzar el reloj del juego sin esperar tiempo real")
+    void shouldDriveGameClockWithoutRealWaiting() {
+        var time = new VirtualTimeSource();
+        var ticks = new AtomicInteger();
+        var clock = new GameClock(100, ticks::incrementAndGet, time);
+        clock.start();
+
+        time.advance(1, TimeUnit.SECONDS);
+        assertEquals(11, ticks.get());
+
+        clock.pause();
+        time.advance(1, TimeUnit.SECONDS);
+        assertEquals(11, ticks.get());
+        clock.close();
+    }
+
+    @Test
+    @DisplayName("Debería jugar un minuto simulado en poco tiempo real y de forma reproducible")
+    void shouldPlaySimulatedMinuteQuicklyAndReproducibly() {
+        long realStart = System.nanoTime();
+        String first = playOneMinute();
+        String second = playOneMinute();
+
+        assertEquals(first, second);
+        assertTrue(System.nanoTime() - realStart < TimeUnit.SECONDS.toNanos(20));
+    }
+
+    @Test
+    @DisplayName("Debería mover más serpientes virtuales que hilos portadores hay")
+    void shouldRunMoreVirtualRunnersThanCarrierThreads() {
+        var time = new VirtualTimeSource();
+        try (var session = Scenario.classic(60, 60, 300, 7).newSession(time)) {
+            session.start(ExecutionModel.VIRTUAL, false);
+            time.advance(1, TimeUnit.SECONDS);
+            assertEquals(0, time.running());
+            assertTrue(session.metrics().steps() >= 300, "steps: " + session.metrics().steps());
+        }
+    }
+
+    /** Steps taken and final head of a one-snake game after a simulated minute. */
+    private static String playOneMinute() {
+        var time = new VirtualTimeSource();
+        var scenario = new Scenario(42, 30, 30, new Board.Items(6, 0, 3, 2), 1,
+            List.of(new Scenario.Start(5, 5, Direction.RIGHT)));
+        try (var session = scenario.newSession(time)) {
+            session.start(ExecutionModel.VIRTUAL);
+            time.advance(1, TimeUnit.MINUTES);
+            long steps = session.metrics().steps();
+            assertTrue(steps > 100, "steps: " + steps);
+            return steps + " " + session.snakes().get(0).head();
+        }
+    }
+}
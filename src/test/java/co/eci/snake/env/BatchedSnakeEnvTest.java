@@ -0,0 +1,118 @@
+package co.eci.snake.env;
+
+import co.eci.snake.core.Board;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchedSnakeEnvTest {
+
+    private static final int OBS = BatchedSnakeEnv.OBS_SIZE;
+
+    @Test
+    @DisplayName("Debería escribir una observación válida por entorno al reiniciar")
+    void shouldWriteObservationsOnReset() {
+        var env = new BatchedSnakeEnv(8, 20, 15, Board.Items.DEFAULT, 100, 1, 1);
+        float[] obs = new float[8 * OBS];
+
+        env.reset(obs);
+
+        for (int i = 0; i < 8; i++) {
+            int o = i * OBS;
+            assertEquals(env.snake(i).head().x() / 20f, obs[o]);
+            assertEquals(env.snake(i).head().y() / 15f, obs[o + 1]);
+            assertEquals(1f, obs[o + 2] + obs[o + 3] + obs[o + 4] + obs[o + 5]);
+            assertEquals(1f, obs[o + 2 + env.snake(i).direction().ordinal()]);
+            assertEquals(nearestMouse(env, i), Math.round(Math.abs(obs[o + 10]) * 20 + Math.abs(obs[o + 11]) * 15));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería terminar y reiniciar el episodio al llegar al máximo de pasos")
+    void shouldTruncateEpisodesAtMaxSteps() {
+        var env = new BatchedSnakeEnv(4, 10, 10, new Board.Items(0, 0, 0, 0), 5, 3, 1);
+        float[] obs = new float[4 * OBS];
+        float[] rewards = new float[4];
+        boolean[] done = new boolean[4];
+        int[] actions = {-1, -1, -1, -1};
+        env.reset(obs);
+
+        for (int step = 1; step <= 10; step++) {
+            env.step(actions, obs, rewards, done);
+            for (int i = 0; i < 4; i++) {
+                assertEquals(step % 5 == 0, done[i], "step " + step);
+                assertEquals(0f, rewards[i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debería premiar cada ratón comido")
+    void shouldRewardMice() {
+        var env = new BatchedSnakeEnv(1, 12, 12, new Board.Items(80, 0, 0, 0), 100, 5, 1);
+        float[] obs = new float[OBS];
+        float[] rewards = new float[1];
+        boolean[] done = new boolean[1];
+        env.reset(obs);
+        var board = env.board(0);
+
+        int eaten = 0;
+        for (int step = 0; step < 10 && !done[0]; step++) {
+            env.step(new int[] {-1}, obs, rewards, done);
+            if (rewards[0] == 1f) eaten++;
+        }
+        assertTrue(eaten > 0);
+        assertEquals(eaten, board.obstacles().size(), "one obstacle per mouse");
+    }
+
+    @Test
+    @DisplayName("Debería repetir los mismos episodios con la misma semilla sin importar el paralelismo")
+    void shouldReplayIndependentlyOfParallelism() {
+        assertEquals(play(1), play(4));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar arreglos demasiado cortos")
+    void shouldRejectShortArrays() {
+        var env = new BatchedSnakeEnv(4, 10, 10, Board.Items.DEFAULT, 10, 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> env.reset(new float[4]));
+        env.reset(new float[4 * OBS]);
+        assertThrows(IllegalArgumentException.class,
+            () -> env.step(new int[3], new float[4 * OBS], new float[4], new boolean[4]));
+    }
+
+    private static int nearestMouse(BatchedSnakeEnv env, int i) {
+        var head = env.snake(i).head();
+        int best = Integer.MAX_VALUE;
+        for (var m : env.board(i).mice()) {
+            int dx = Math.floorMod(m.x() - head.x(), 20);
+            int dy = Math.floorMod(m.y() - head.y(), 15);
+            best = Math.min(best, Math.min(dx, 20 - dx) + Math.min(dy, 15 - dy));
+        }
+        return best;
+    }
+
+    /** Hash of the observations and rewards of 300 random steps over 512 environments. */
+    private static int play(int parallelism) {
+        int envs = 512;
+        var env = new BatchedSnakeEnv(envs, 16, 16, Board.Items.DEFAULT, 200, 9, parallelism);
+        float[] obs = new float[envs * OBS];
+        float[] rewards = new float[envs];
+        boolean[] done = new boolean[envs];
+        int[] actions = new int[envs];
+        var random = new SplittableRandom(2);
+        env.reset(obs);
+        int hash = Arrays.hashCode(obs);
+        for (int step = 0; step < 300; step++) {
+            for (int i = 0; i < envs; i++) actions[i] = random.nextInt(-1, 4);
+            env.step(actions, obs, rewards, done);
+            hash = 31 * hash + Arrays.hashCode(obs);
+            hash = 31 * hash + Arrays.hashCode(rewards);
+        }
+        return hash;
+    }
+}
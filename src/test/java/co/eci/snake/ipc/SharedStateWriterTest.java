@@ -0,0 +1,132 @@
+package co.eci.snake.ipc;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedStateWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private static void assertItemsMatch(Board board, SharedStateReader reader) {
+        var mice = board.mice();
+        var obstacles = board.obstacles();
+        var turbo = board.turbo();
+        for (int y = 0; y < board.height(); y++) {
+            for (int x = 0; x < board.width(); x++) {
+                var p = new Position(x, y);
+                assertEquals(mice.contains(p), reader.hasItem(Board.Item.MOUSE, x, y), "mouse at " + p);
+                assertEquals(obstacles.contains(p), reader.hasItem(Board.Item.OBSTACLE, x, y), "obstacle at " + p);
+                assertEquals(turbo.contains(p), reader.hasItem(Board.Item.TURBO, x, y), "turbo at " + p);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debería reflejar dimensiones, serpientes y elementos del tablero")
+    void shouldMirrorBoardAndSnakes() throws IOException {
+        var board = new Board(20, 15, Board.Items.DEFAULT, new SplittableRandom(9));
+        var a = Snake.of(3, 4, Direction.RIGHT);
+        var b = Snake.of(10, 10, Direction.UP);
+        b.markDead(1);
+        Path file = dir.resolve("game.mirror");
+
+        try (var writer = new SharedStateWriter(file, board, List.of(a, b))) {
+            writer.publish(7);
+            var reader = new SharedStateReader(file);
+
+            assertEquals(20, reader.width());
+            assertEquals(15, reader.height());
+            assertEquals(2, reader.snakeCount());
+            assertEquals(7, reader.tick());
+            assertEquals(1, reader.published());
+            assertEquals(3, reader.headX(0));
+            assertEquals(4, reader.headY(0));
+            assertEquals(1, reader.length(0));
+            assertTrue(reader.isAlive(0));
+            assertFalse(reader.isAlive(1));
+            assertItemsMatch(board, reader);
+            for (var e : board.teleports().entrySet()) {
+                assertTrue(reader.isTeleport(e.getKey().x(), e.getKey().y()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debería seguir los cambios del tablero entre publicaciones")
+    void shouldFollowChangesBetweenFrames() throws IOException {
+        var board = new Board(12, 12, new Board.Items(8, 0, 4, 0), new SplittableRandom(4));
+        var snake = Snake.of(0, 0, Direction.RIGHT);
+        Path file = dir.resolve("game.mirror");
+
+        try (var writer = new SharedStateWriter(file, board, List.of(snake))) {
+            var reader = new SharedStateReader(file);
+            for (int tick = 0; tick < 200 && snake.isAlive(); tick++) {
+                if (tick % 12 == 11) snake.turn(tick % 24 == 11 ? Direction.DOWN : Direction.RIGHT);
+                board.step(snake);
+                writer.publish(tick);
+                assertEquals(snake.head().x(), reader.headX(0));
+                assertEquals(snake.head().y(), reader.headY(0));
+                assertEquals(snake.length(), reader.length(0));
+            }
+            assertItemsMatch(board, reader);
+        }
+    }
+
+    @Test
+    @DisplayName("Debería entregar siempre cuadros consistentes a un lector concurrente")
+    void shouldGiveConsistentFramesToConcurrentReader() throws Exception {
+        var board = new Board(5000, 3, new Board.Items(0, 0, 0, 0), new SplittableRandom(1));
+        var top = Snake.of(0, 0, Direction.RIGHT);
+        var bottom = Snake.of(0, 2, Direction.RIGHT);
+        Path file = dir.resolve("game.mirror");
+
+        try (var writer = new SharedStateWriter(file, board, List.of(top, bottom))) {
+            writer.publish(0);
+            var reader = new SharedStateReader(file);
+            var done = new AtomicBoolean();
+            var torn = new AtomicReference<String>();
+            var readerThread = new Thread(() -> {
+                while (!done.get()) {
+                    String frame = reader.read(r -> r.tick() + " " + r.headX(0) + " " + r.headX(1));
+                    String[] v = frame.split(" ");
+                    if (!v[0].equals(v[1]) || !v[1].equals(v[2])) torn.compareAndSet(null, frame);
+                }
+            });
+            readerThread.start();
+            for (int x = 1; x < 4999; x++) {
+                top.advance(new Position(x, 0), false);
+                bottom.advance(new Position(x, 2), false);
+                writer.publish(x);
+            }
+            done.set(true);
+            readerThread.join(5000);
+
+            assertNull(torn.get(), "torn frame");
+            assertEquals(4999 - 1, reader.read(SharedStateReader::tick));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería rechazar archivos que no son un espejo del juego")
+    void shouldRejectForeignFiles() throws IOException {
+        Path file = dir.resolve("other.bin");
+        Files.write(file, new byte[128]);
+        assertThrows(IOException.class, () -> new SharedStateReader(file));
+    }
+}
@@ -0,0 +1,100 @@
+package co.eci.snake.net;
+
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BodyCodecTest {
+
+    private static final int WIDTH = 40;
+    private static final int HEIGHT = 30;
+
+    /** A body that winds around the board, wraps at the edges and jumps through a teleport. */
+    private static List<Position> windingBody() {
+        List<Position> body = new ArrayList<>();
+        int x = 3, y = 2;
+        body.add(new Position(x, y));
+        Direction[] path = {Direction.LEFT, Direction.UP, Direction.RIGHT, Direction.DOWN};
+        for (int k = 1; k < 200; k++) {
+            if (k == 120) {
+                x = 25;
+                y = 17;
+            } else {
+                Direction d = path[(k / 9) % path.length];
+                x = Math.floorMod(x + d.dx, WIDTH);
+                y = Math.floorMod(y + d.dy, HEIGHT);
+            }
+            body.add(new Position(x, y));
+        }
+        return body;
+    }
+
+    @Test
+    @DisplayName("Debería reconstruir una cadena con saltos y vueltas por los bordes")
+    void shouldRoundTripChainWithEscapes() {
+        List<Position> body = windingBody();
+        int[] xy = new int[2 * body.size()];
+        for (int k = 0; k < body.size(); k++) {
+            xy[2 * k] = body.get(k).x();
+            xy[2 * k + 1] = body.get(k).y();
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(BodyCodec.maxChainBytes(body.size(), WIDTH * HEIGHT));
+        BodyCodec.writeChain(buf, xy, body.size(), WIDTH, HEIGHT);
+        buf.flip();
+        int[] cells = new int[body.size()];
+        BodyCodec.readChain(buf, body.size(), WIDTH, HEIGHT, cells);
+
+        assertFalse(buf.hasRemaining());
+        for (int k = 0; k < body.size(); k++) {
+            Position p = body.get(k);
+            assertEquals(p.y() * WIDTH + p.x(), cells[k], "segment " + k);
+        }
+    }
+
+    @Test
+    @DisplayName("Debería ocupar menos de una décima parte que las posiciones completas")
+    void shouldBeMuchSmallerThanFullCells() {
+        List<Position> body = windingBody();
+        Snake snake = Snake.restore(body, Direction.LEFT, 250);
+        ByteBuffer buf = ByteBuffer.allocate(1024);
+        BodyCodec.write(buf, snake, WIDTH, HEIGHT);
+
+        int positionBytes = body.size() * 2 * Integer.BYTES;
+        assertTrue(buf.position() * 10 < positionBytes,
+            "encoded " + buf.position() + " bytes vs " + positionBytes);
+    }
+
+    @Test
+    @DisplayName("Debería restaurar cuerpo, dirección, crecimiento y muerte de la serpiente")
+    void shouldRestoreWholeSnake() {
+        Snake alive = Snake.restore(windingBody(), Direction.UP, 240);
+        Snake dead = Snake.restore(List.of(new Position(0, 0), new Position(39, 0)), Direction.LEFT, 5);
+        dead.markDead(3);
+
+        ByteBuffer buf = ByteBuffer.allocate(1024);
+        BodyCodec.write(buf, alive, WIDTH, HEIGHT);
+        BodyCodec.write(buf, dead, WIDTH, HEIGHT);
+        buf.flip();
+        Snake alive2 = BodyCodec.read(buf, WIDTH, HEIGHT);
+        Snake dead2 = BodyCodec.read(buf, WIDTH, HEIGHT);
+
+        assertEquals(alive.body(), alive2.body());
+        assertEquals(Direction.UP, alive2.direction());
+        assertEquals(240, alive2.maxLength());
+        assertTrue(alive2.isAlive());
+
+        assertEquals(dead.body(), dead2.body());
+        assertFalse(dead2.isAlive());
+        assertEquals(3, dead2.deathOrder());
+        assertEquals(5, dead2.maxLength());
+    }
+}
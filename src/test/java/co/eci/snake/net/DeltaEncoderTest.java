@@ -0,0 +1,141 @@
+package co.eci.snake.net;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaEncoderTest {
+
+    private Board board;
+    private List<Snake> snakes;
+    private DeltaEncoder encoder;
+    private StateMirror mirror;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(40, 30);
+        snakes = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            snakes.add(Snake.of(i * 5, i * 3, Direction.values()[i % 4]));
+        }
+        encoder = new DeltaEncoder(board, snakes, 50);
+        mirror = new StateMirror();
+    }
+
+    @Test
+    @DisplayName("Debería codificar y decodificar varints y zig-zag")
+    void shouldRoundTripVarints() {
+        ByteBuffer buf = ByteBuffer.allocate(64);
+        long[] values = {0, 1, 127, 128, 300, Integer.MAX_VALUE, Long.MAX_VALUE};
+        for (long v : values) Varint.put(buf, v);
+        for (long v : values) Varint.putSigned(buf, -v);
+        buf.flip();
+        for (long v : values) assertEquals(v, Varint.get(buf));
+        for (long v : values) assertEquals(-v, Varint.getSigned(buf));
+        assertFalse(buf.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("El primer frame debería ser un keyframe completo")
+    void firstFrameShouldBeKeyframe() {
+        mirror.apply(encoder.encode(0));
+
+        assertTrue(encoder.lastWasKeyframe());
+        assertEquals(40, mirror.width());
+        assertEquals(30, mirror.height());
+        assertMirrorMatches();
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un delta antes del primer keyframe")
+    void shouldRejectDeltaBeforeKeyframe() {
+        encoder.encode(0);
+        ByteBuffer delta = encoder.encode(1);
+        assertFalse(encoder.lastWasKeyframe());
+        assertThrows(IllegalStateException.class, () -> mirror.apply(delta));
+    }
+
+    @Test
+    @DisplayName("Los deltas deberían reconstruir el estado exacto tick a tick")
+    void deltasShouldReconstructExactState() {
+        Random rnd = new Random(3);
+        mirror.apply(encoder.encode(0));
+        for (int tick = 1; tick <= 300; tick++) {
+            for (Snake s : snakes) {
+                if (!s.isAlive()) continue;
+                if (rnd.nextInt(5) == 0) s.turn(Direction.values()[rnd.nextInt(4)]);
+                int steps = rnd.nextInt(3);
+                for (int k = 0; k < steps && s.isAlive(); k++) {
+                    if (board.step(s) == Board.MoveResult.HIT_OBSTACLE) s.markDead(tick);
+                }
+            }
+            mirror.apply(encoder.encode(tick));
+            assertEquals(tick, mirror.tick());
+            assertMirrorMatches();
+        }
+    }
+
+    @Test
+    @DisplayName("Un tick sin cambios debería costar solo unos pocos bytes")
+    void idleTickShouldBeTiny() {
+        encoder.encode(0);
+        ByteBuffer idle = encoder.encode(1);
+        assertFalse(encoder.lastWasKeyframe());
+        assertTrue(idle.remaining() <= 4, "idle delta size " + idle.remaining());
+    }
+
+    @Test
+    @DisplayName("Debería emitir keyframes periódicos y bajo demanda")
+    void shouldEmitPeriodicAndRequestedKeyframes() {
+        encoder = new DeltaEncoder(board, snakes, 3);
+        List<Boolean> kinds = new ArrayList<>();
+        for (int t = 0; t < 7; t++) {
+            encoder.encode(t);
+            kinds.add(encoder.lastWasKeyframe());
+        }
+        assertEquals(List.of(true, false, false, true, false, false, true), kinds);
+
+        encoder.requestKeyframe();
+        encoder.encode(7);
+        assertTrue(encoder.lastWasKeyframe());
+    }
+
+    private void assertMirrorMatches() {
+        assertEquals(snakes.size(), mirror.snakeCount());
+        for (int i = 0; i < snakes.size(); i++) {
+            Snake s = snakes.get(i);
+            Position[] body = s.snapshot().toArray(new Position[0]);
+            assertEquals(s.isAlive(), mirror.isAlive(i));
+            assertEquals(body.length, mirror.length(i), "length of snake " + i);
+            for (int k = 0; k < body.length; k++) {
+                assertEquals(body[k].x(), mirror.cellX(i, k));
+                assertEquals(body[k].y(), mirror.cellY(i, k));
+            }
+        }
+        for (Board.Item item : Board.Item.values()) {
+            var expected = switch (item) {
+                case MOUSE -> board.mice();
+                case OBSTACLE -> board.obstacles();
+                case TURBO -> board.turbo();
+            };
+            for (int y = 0; y < board.height(); y++) {
+                for (int x = 0; x < board.width(); x++) {
+                    assertEquals(expected.contains(new Position(x, y)), mirror.hasItem(item, x, y),
+                            item + " at " + x + "," + y);
+                }
+            }
+        }
+        for (Position p : board.teleports().keySet()) assertTrue(mirror.isTeleport(p.x(), p.y()));
+    }
+}
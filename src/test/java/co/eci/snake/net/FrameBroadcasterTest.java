@@ -0,0 +1,121 @@
+package co.eci.snake.net;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameBroadcasterTest {
+
+    private Board board;
+    private List<Snake> snakes;
+    private FrameBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(30, 30);
+        snakes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) snakes.add(Snake.of(i * 6, i * 6, Direction.RIGHT));
+        broadcaster = new FrameBroadcaster(new DeltaEncoder(board, snakes, 4), 8);
+    }
+
+    @Test
+    @DisplayName("Todos los suscriptores deberían compartir el mismo frame sin copias")
+    void subscribersShouldShareTheSameFrame() {
+        var a = broadcaster.subscribe();
+        var b = broadcaster.subscribe();
+        broadcaster.publish(0);
+
+        ByteBuffer fa = a.poll();
+        ByteBuffer fb = b.poll();
+        assertNotSame(fa, fb);
+        assertTrue(fa.isReadOnly());
+        assertEquals(fa, fb);
+
+        fa.position(fa.limit());
+        assertEquals(0, fb.position(), "each subscriber has its own position");
+        assertNull(a.poll());
+    }
+
+    @Test
+    @DisplayName("Los frames deberían reconstruir el estado en cada suscriptor")
+    void framesShouldRebuildStateForEachSubscriber() {
+        var sub = broadcaster.subscribe();
+        var mirror = new StateMirror();
+        for (int t = 0; t < 20; t++) {
+            snakes.forEach(board::step);
+            broadcaster.publish(t);
+            ByteBuffer f;
+            while ((f = sub.poll()) != null) {
+                f.getInt();
+                mirror.apply(f);
+            }
+            assertEquals(t, mirror.tick());
+            assertEquals(snakes.get(2).head().x(), mirror.cellX(2, 0));
+            assertEquals(snakes.get(2).head().y(), mirror.cellY(2, 0));
+        }
+        assertEquals(0, sub.resyncs());
+    }
+
+    @Test
+    @DisplayName("Un suscriptor atrasado debería saltar a un keyframe en vez de encolar")
+    void laggingSubscriberShouldSkipToKeyframe() {
+        var sub = broadcaster.subscribe();
+        for (int t = 0; t < 50; t++) {
+            snakes.forEach(board::step);
+            broadcaster.publish(t);
+        }
+
+        assertTrue(sub.backlog() > 8);
+        ByteBuffer first = sub.poll();
+        assertEquals(1, sub.resyncs());
+        assertEquals(DeltaEncoder.KEYFRAME, first.get(4));
+        assertTrue(sub.backlog() < 8);
+
+        var mirror = new StateMirror();
+        first.getInt();
+        mirror.apply(first);
+        ByteBuffer f;
+        while ((f = sub.poll()) != null) {
+            f.getInt();
+            mirror.apply(f);
+        }
+        assertEquals(49, mirror.tick());
+        assertEquals(snakes.get(0).head().x(), mirror.cellX(0, 0));
+    }
+
+    @Test
+    @DisplayName("Un suscriptor nuevo debería empezar en el keyframe más reciente")
+    void newSubscriberShouldStartAtLatestKeyframe() {
+        for (int t = 0; t < 6; t++) broadcaster.publish(t);
+        var late = broadcaster.subscribe();
+        ByteBuffer first = late.poll();
+        assertEquals(DeltaEncoder.KEYFRAME, first.get(4));
+        assertEquals(0, late.resyncs());
+    }
+
+    @Test
+    @DisplayName("Debería codificar una sola vez por tick sin importar los suscriptores")
+    void shouldEncodeOncePerTick() {
+        AtomicInteger published = new AtomicInteger();
+        broadcaster.onPublish(published::incrementAndGet);
+        List<FrameBroadcaster.Subscription> subs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) subs.add(broadcaster.subscribe());
+
+        broadcaster.publish(0);
+
+        assertEquals(1, published.get());
+        assertEquals(1, broadcaster.published());
+        ByteBuffer reference = subs.get(0).poll();
+        for (int i = 1; i < subs.size(); i++) assertEquals(reference, subs.get(i).poll());
+    }
+}
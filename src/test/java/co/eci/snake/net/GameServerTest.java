@@ -0,0 +1,148 @@
+package co.eci.snake.net;
+
+import co.eci.snake.concurrency.GameSession;
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+
+    private GameSession session;
+    private FrameBroadcaster broadcaster;
+    private GameServer server;
+    private final List<SocketChannel> clients = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        session = GameSession.withSnakes(new Board(20, 20), 3);
+        broadcaster = new FrameBroadcaster(new DeltaEncoder(session.board(), session.snakes(), 10), 32);
+        server = new GameServer(session, broadcaster, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (SocketChannel c : clients) c.close();
+        server.close();
+        session.close();
+    }
+
+    @Test
+    @DisplayName("Debería asignar una serpiente por cliente y luego solo espectadores")
+    void shouldAssignSnakesThenSpectators() throws Exception {
+        for (int expected : new int[] {0, 1, 2, -1, -1}) {
+            ByteBuffer hello = readFrame(connect());
+            assertEquals(StateFrames.HELLO, hello.get());
+            assertEquals(expected, hello.getInt());
+        }
+        awaitConnections(5);
+    }
+
+    @Test
+    @DisplayName("Debería aplicar los comandos de dirección a la serpiente asignada")
+    void shouldApplyCommandsToAssignedSnake() throws Exception {
+        readFrame(connect());
+        SocketChannel second = connect();
+        readFrame(second);
+
+        Direction before = session.snakes().get(1).direction();
+        Direction turn = (before == Direction.UP || before == Direction.DOWN) ? Direction.LEFT : Direction.UP;
+        second.write(ByteBuffer.wrap(new byte[] {'x', (byte) turn.name().charAt(0), '\n'}));
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (session.snakes().get(1).direction() != turn && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(turn, session.snakes().get(1).direction());
+    }
+
+    @Test
+    @DisplayName("Debería entregar a todos los clientes un keyframe y luego los deltas")
+    void shouldDeliverKeyframeThenDeltasToAllClients() throws Exception {
+        SocketChannel a = connect();
+        SocketChannel b = connect();
+        readFrame(a);
+        readFrame(b);
+        awaitConnections(2);
+
+        broadcaster.publish(7);
+        session.board().step(session.snakes().get(0));
+        broadcaster.publish(8);
+
+        for (SocketChannel c : List.of(a, b)) {
+            StateMirror mirror = new StateMirror();
+            ByteBuffer key = readFrame(c);
+            assertEquals(DeltaEncoder.KEYFRAME, key.get(0));
+            mirror.apply(key);
+            ByteBuffer delta = readFrame(c);
+            assertEquals(DeltaEncoder.DELTA, delta.get(0));
+            mirror.apply(delta);
+            assertEquals(8, mirror.tick());
+            assertEquals(3, mirror.snakeCount());
+            assertEquals(session.snakes().get(0).head().x(), mirror.cellX(0, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería desconectar clientes atascados sin bloquear la publicación")
+    void shouldDisconnectStalledClients() throws Exception {
+        server.close();
+        session.close();
+        session = GameSession.withSnakes(new Board(200, 200), 2000);
+        broadcaster = new FrameBroadcaster(new DeltaEncoder(session.board(), session.snakes(), 1), 8);
+        server = new GameServer(session, broadcaster, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16 * 1024, 3);
+        server.start();
+        SocketChannel lazy = SocketChannel.open();
+        lazy.setOption(StandardSocketOptions.SO_RCVBUF, 4 * 1024);
+        lazy.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port()));
+        clients.add(lazy);
+        awaitConnections(1);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        long tick = 0;
+        while (server.connections() > 0 && System.currentTimeMillis() < deadline) {
+            long start = System.nanoTime();
+            broadcaster.publish(tick++);
+            assertTrue(System.nanoTime() - start < 50_000_000L, "publish must not block");
+            Thread.sleep(1);
+        }
+
+        assertEquals(0, server.connections());
+        assertEquals(1, server.slowClientsClosed());
+        assertTrue(lazy.isOpen());
+    }
+
+    private SocketChannel connect() throws IOException {
+        SocketChannel c = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port()));
+        clients.add(c);
+        return c;
+    }
+
+    private void awaitConnections(int n) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (server.connections() != n && System.currentTimeMillis() < deadline) Thread.sleep(5);
+        assertEquals(n, server.connections());
+    }
+
+    private static ByteBuffer readFrame(SocketChannel c) throws IOException {
+        ByteBuffer len = ByteBuffer.allocate(4);
+        while (len.hasRemaining()) if (c.read(len) < 0) throw new IOException("closed");
+        ByteBuffer payload = ByteBuffer.allocate(len.flip().getInt());
+        while (payload.hasRemaining()) if (c.read(payload) < 0) throw new IOException("closed");
+        return payload.flip();
+    }
+}
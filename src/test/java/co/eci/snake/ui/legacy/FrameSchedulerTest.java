@@ -0,0 +1,121 @@
+package co.eci.snake.ui.legacy;
+
+import co.eci.snake.core.engine.TimeSource;
+import co.eci.snake.core.engine.VirtualTimeSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameSchedulerTest {
+
+    /** Stands in for the EDT: posted frames wait until the test runs them. */
+    private static final class ManualExecutor implements Executor {
+        final Queue<Runnable> queued = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            queued.add(command);
+        }
+
+        void runAll() {
+            Runnable r;
+            while ((r = queued.poll()) != null) r.run();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería mantener como máximo un frame pendiente")
+    void shouldKeepAtMostOnePendingFrame() {
+        var edt = new ManualExecutor();
+        var paints = new AtomicInteger();
+        var frames = new FrameScheduler(paints::incrementAndGet, edt, 60);
+
+        assertTrue(frames.requestFrame());
+        for (int i = 0; i < 10; i++) {
+            assertFalse(frames.requestFrame());
+        }
+
+        assertEquals(1, edt.queued.size());
+        assertEquals(10, frames.framesSkipped());
+        assertTrue(frames.isFramePending());
+
+        edt.runAll();
+        assertEquals(1, paints.get());
+        assertEquals(1, frames.framesPainted());
+        assertFalse(frames.isFramePending());
+    }
+
+    @Test
+    @DisplayName("Debería aceptar un nuevo frame cuando el anterior ya se pintó")
+    void shouldAcceptNewFrameAfterPaint() {
+        var edt = new ManualExecutor();
+        var frames = new FrameScheduler(() -> {}, edt, 60);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(frames.requestFrame());
+            edt.runAll();
+        }
+
+        assertEquals(5, frames.framesPainted());
+        assertEquals(0, frames.framesSkipped());
+        assertTrue(frames.fps() > 0);
+    }
+
+    @Test
+    @DisplayName("Debería saltar frames mientras el pintado excede el periodo")
+    void shouldSkipFramesWhilePaintOverruns() {
+        var edt = new ManualExecutor();
+        var time = new VirtualTimeSource();
+        var frames = new FrameScheduler(() -> time.advance(30, TimeUnit.MILLISECONDS), edt, 5, time);
+
+        frames.requestFrame();
+        edt.runAll();
+
+        assertFalse(frames.isFramePending());
+        assertFalse(frames.requestFrame(), "a slow paint should hold back the next frame");
+        assertEquals(30, frames.lastPaintMillis());
+        assertTrue(frames.maxPaintMillis() >= frames.lastPaintMillis());
+
+        time.advance(29, TimeUnit.MILLISECONDS);
+        assertFalse(frames.requestFrame());
+        time.advance(1, TimeUnit.MILLISECONDS);
+        assertTrue(frames.requestFrame());
+    }
+
+    @Test
+    @DisplayName("Debería liberar el frame pendiente aunque el pintado falle")
+    void shouldReleasePendingFrameWhenPaintFails() {
+        var edt = new ManualExecutor();
+        var frames = new FrameScheduler(() -> { throw new IllegalStateException("boom"); }, edt, 60);
+
+        frames.requestFrame();
+        assertThrows(IllegalStateException.class, edt::runAll);
+
+        assertFalse(frames.isFramePending());
+        assertTrue(frames.requestFrame());
+    }
+
+    @Test
+    @DisplayName("Debería aceptar el primer frame aunque el reloj tenga un origen negativo")
+    void shouldAcceptFirstFrameWithNegativeClockOrigin() {
+        TimeSource negative = new TimeSource() {
+            @Override
+            public long nanoTime() { return Long.MIN_VALUE / 2; }
+
+            @Override
+            public void sleepNanos(long nanos) {}
+        };
+        var edt = new ManualExecutor();
+        var frames = new FrameScheduler(() -> {}, edt, 60, negative);
+
+        assertTrue(frames.requestFrame());
+        assertEquals(0, frames.framesSkipped());
+    }
+}
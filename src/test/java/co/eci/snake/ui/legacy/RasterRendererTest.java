@@ -0,0 +1,113 @@
+package co.eci.snake.ui.legacy;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RasterRendererTest {
+
+    private static final int CELL = 20;
+
+    private static int centre(BufferedImage img, int x, int y) {
+        return img.getRGB(x * CELL + CELL / 2, y * CELL + CELL / 2);
+    }
+
+    private static Board emptyBoard(int w, int h) {
+        return new Board(w, h, new Board.Items(0, 0, 0, 0), new SplittableRandom(1));
+    }
+
+    @Test
+    @DisplayName("Debería pintar cada segmento con el color y sombra de la paleta")
+    void shouldPaintSegmentsWithPaletteColors() {
+        var board = emptyBoard(10, 10);
+        var player = Snake.of(1, 1, Direction.RIGHT);
+        player.advance(new Position(2, 1), true);
+        var other = Snake.of(5, 5, Direction.UP);
+        var dead = Snake.of(8, 8, Direction.UP);
+        dead.markDead(1);
+
+        var img = new RasterRenderer(10, 10, CELL).render(board, List.of(player, other, dead));
+
+        assertEquals(Glyphs.segment(Glyphs.PLAYER, 0).getRGB(), centre(img, 2, 1));
+        assertEquals(Glyphs.segment(Glyphs.PLAYER, 1).getRGB(), centre(img, 1, 1));
+        assertEquals(Glyphs.segment(Glyphs.OTHER, 0).getRGB(), centre(img, 5, 5));
+        assertEquals(Glyphs.segment(Glyphs.DEAD, 0).getRGB(), centre(img, 8, 8));
+        assertEquals(Color.WHITE.getRGB(), centre(img, 0, 9));
+        assertEquals(Glyphs.GRID.getRGB(), img.getRGB(3 * CELL, 3 * CELL + 5));
+    }
+
+    @Test
+    @DisplayName("Debería pintar los obstáculos y borrar lo que ya no está")
+    void shouldPaintItemsAndClearOldFrames() {
+        var board = new Board(10, 10, new Board.Items(0, 3, 0, 0), new SplittableRandom(2));
+        var snake = Snake.of(0, 0, Direction.RIGHT);
+        var renderer = new RasterRenderer(10, 10, CELL);
+
+        renderer.render(board, List.of(snake));
+        var img = renderer.render(board, List.of());
+
+        for (Position p : board.obstacles()) {
+            assertEquals(Glyphs.OBSTACLE.getRGB(), img.getRGB(p.x() * CELL + 3, p.y() * CELL + 3));
+        }
+        assertEquals(Color.WHITE.getRGB(), centre(img, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Debería producir la misma imagen con una o varias bandas")
+    void shouldPaintSameImageWithParallelBands() {
+        var board = new Board(64, 64, Board.Items.DEFAULT, new SplittableRandom(3));
+        var snakes = new ArrayList<Snake>();
+        for (int i = 0; i < 60; i++) {
+            var s = Snake.of(i, i, Direction.RIGHT);
+            for (int k = 1; k < 5; k++) s.advance(new Position(i, (i + k) % 64), true);
+            snakes.add(s);
+        }
+
+        var single = new RasterRenderer(64, 64, 6, 1).render(board, snakes);
+        var banded = new RasterRenderer(64, 64, 6, 7);
+        int[] expected = ((DataBufferInt) single.getRaster().getDataBuffer()).getData();
+        int[] actual = ((DataBufferInt) banded.render(board, snakes).getRaster().getDataBuffer()).getData();
+
+        assertEquals(7, banded.bands());
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Debería seguir los cambios del tablero igual que un renderizado desde cero")
+    void shouldTrackBoardChangesLikeFreshRender() {
+        var board = new Board(16, 16, new Board.Items(30, 2, 4, 1), new SplittableRandom(4));
+        var renderer = new RasterRenderer(16, 16, 4);
+        var snakes = new ArrayList<Snake>();
+        for (int row = 0; row < 16; row += 4) snakes.add(Snake.of(0, row, Direction.RIGHT));
+
+        renderer.render(board, List.of());
+        long before = board.journalPosition();
+        for (int step = 0; step < 12; step++) {
+            for (Snake s : snakes) board.step(s);
+            renderer.render(board, List.of());
+        }
+        assertTrue(board.journalPosition() > before, "the walk should eat something");
+
+        int[] expected = ((DataBufferInt) new RasterRenderer(16, 16, 4).render(board, List.of())
+            .getRaster().getDataBuffer()).getData();
+        int[] actual = ((DataBufferInt) renderer.render(board, List.of()).getRaster().getDataBuffer()).getData();
+        assertArrayEquals(expected, actual);
+
+        var other = new Board(16, 16, Board.Items.DEFAULT, new SplittableRandom(5));
+        int[] otherExpected = ((DataBufferInt) new RasterRenderer(16, 16, 4).render(other, List.of())
+            .getRaster().getDataBuffer()).getData();
+        assertArrayEquals(otherExpected, ((DataBufferInt) renderer.render(other, List.of()).getRaster().getDataBuffer()).getData());
+    }
+}
@@ -0,0 +1,95 @@
+package co.eci.snake.ui.terminal;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TerminalRendererTest {
+
+    private ByteArrayOutputStream out;
+    private int writes;
+    private Snake snake;
+    private TerminalRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        out = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                writes++;
+                super.write(b, off, len);
+            }
+        };
+        var board = new Board(200, 100, new Board.Items(0, 0, 0, 0), new SplittableRandom(1));
+        snake = Snake.of(10, 5, Direction.RIGHT);
+        renderer = new TerminalRenderer(board, List.of(snake), out);
+    }
+
+    private String frame() {
+        out.reset();
+        renderer.render();
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    @DisplayName("Debería dibujar el primer frame completo en una sola escritura")
+    void shouldDrawFullFirstFrameInOneWrite() {
+        String first = frame();
+
+        assertEquals(1, writes);
+        assertTrue(first.startsWith("\033[?25l\033[2J"));
+        assertTrue(first.contains("\033[6;1H"), "rows start with a cursor move");
+        assertTrue(first.contains("@"), "head cell is drawn");
+        assertTrue(first.contains("alive 1/1"));
+        assertEquals(first.length(), renderer.bytesWritten());
+    }
+
+    @Test
+    @DisplayName("Debería no escribir nada si nada cambió")
+    void shouldWriteNothingWhenUnchanged() {
+        frame();
+        int before = writes;
+
+        assertEquals("", frame());
+        assertEquals(before, writes);
+    }
+
+    @Test
+    @DisplayName("Debería escribir solo las celdas que cambiaron")
+    void shouldWriteOnlyChangedCells() {
+        frame();
+        snake.advance(new Position(11, 5), true);
+
+        String delta = frame();
+
+        // New head at (11,5) is written right after the old head turns into body at (10,5).
+        assertTrue(delta.startsWith("\033[6;11H"), delta);
+        assertTrue(delta.contains("o"));
+        assertTrue(delta.contains("@"));
+        assertFalse(delta.contains("\033[2J"));
+        assertTrue(delta.length() < 40, "delta was " + delta.length() + " bytes");
+    }
+
+    @Test
+    @DisplayName("Debería restaurar el cursor al cerrar")
+    void shouldRestoreCursorOnClose() {
+        frame();
+        out.reset();
+        renderer.close();
+
+        String tail = out.toString(StandardCharsets.US_ASCII);
+        assertTrue(tail.endsWith("\033[?25h"));
+        assertTrue(tail.contains("\033[102;1H"));
+    }
+}